@@ -17,20 +17,34 @@
 
 package com.winterhavenmc.deathchest.chests;
 
+import com.winterhavenmc.deathchest.util.LongObjectHashMap;
+
 import org.bukkit.Location;
+import org.bukkit.block.Block;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 
+/**
+ * An index of the chest blocks of loaded death chests. Blocks are indexed by location as a
+ * block coordinate packed into a long, in a primitive map for each world, so that lookups
+ * from block events need no Location and allocate nothing. A secondary index groups blocks
+ * by chunk, for chunk, bounding box and radius queries that touch only the chunks in range.
+ * The location and chunk maps are accessed only on the server thread.
+ */
 final class BlockIndex {
 
-	// map of ChestBlocks indexed by location
-	private final Map<Location, ChestBlock> locationMap;
+	// maps of ChestBlocks indexed by packed block coordinates, keyed by world uid
+	private final Map<UUID, LongObjectHashMap<ChestBlock>> locationMap;
 
 	// nested map of ChestBlocks indexed by ChestUUID, ChestBlockType
 	private final Map<UUID, EnumMap<ChestBlockType, ChestBlock>> uuidMap;
 
+	// lists of ChestBlocks indexed by chunk key, keyed by world uid
+	private final Map<UUID, LongObjectHashMap<List<ChestBlock>>> chunkMap;
+
 
 	/**
 	 * Class constructor
@@ -38,15 +52,19 @@ final class BlockIndex {
 	BlockIndex() {
 
 		// initialize location map
-		locationMap = new ConcurrentHashMap<>();
+		locationMap = new HashMap<>();
 
 		// initialize uuid map
 		uuidMap = new ConcurrentHashMap<>();
+
+		// initialize chunk map
+		chunkMap = new HashMap<>();
 	}
 
 
 	/**
-	 * Put ChestBlock object in map
+	 * Put ChestBlock object in map. A block already indexed at the same location, or in the same chest
+	 * as the same type, is replaced, and is removed from all maps.
 	 *
 	 * @param chestBlockType the ChestBlockType of ChestBlock to put in map
 	 * @param chestBlock the ChestBlock to put in map
@@ -58,8 +76,30 @@ final class BlockIndex {
 			return;
 		}
 
+		// if chestBlock has no world, do nothing and return
+		if (chestBlock.getWorldUid() == null) {
+			return;
+		}
+
+		final LongObjectHashMap<ChestBlock> worldMap =
+				this.locationMap.computeIfAbsent(chestBlock.getWorldUid(), k -> new LongObjectHashMap<>());
+
+		final long blockKey = LocationUtilities.blockKey(chestBlock.getX(), chestBlock.getY(), chestBlock.getZ());
+
+		// remove block previously indexed at this location from all maps
+		final ChestBlock previousAtLocation = worldMap.get(blockKey);
+		if (previousAtLocation != null) {
+			removeIndexed(previousAtLocation);
+		}
+
+		// remove block previously indexed as this type in this chest from all maps
+		final Map<ChestBlockType, ChestBlock> previousBlockMap = uuidMap.get(chestBlock.getChestUid());
+		if (previousBlockMap != null && previousBlockMap.get(chestBlockType) != null) {
+			removeIndexed(previousBlockMap.get(chestBlockType));
+		}
+
 		// add chestBlock to locationMap
-		this.locationMap.put(chestBlock.getLocation(), chestBlock);
+		worldMap.put(blockKey, chestBlock);
 
 		// if chestUUID key does not exist in map, add entry with chestUUID key and empty map as value
 		if (!uuidMap.containsKey(chestBlock.getChestUid())) {
@@ -68,6 +108,16 @@ final class BlockIndex {
 
 		// add new entry to map with chestUUID as key
 		uuidMap.get(chestBlock.getChestUid()).put(chestBlockType, chestBlock);
+
+		// add chestBlock to chunk map
+		final LongObjectHashMap<List<ChestBlock>> worldChunks =
+				chunkMap.computeIfAbsent(chestBlock.getWorldUid(), k -> new LongObjectHashMap<>());
+		List<ChestBlock> chunkBlocks = worldChunks.get(chunkKey(chestBlock));
+		if (chunkBlocks == null) {
+			chunkBlocks = new ArrayList<>(4);
+			worldChunks.put(chunkKey(chestBlock), chunkBlocks);
+		}
+		chunkBlocks.add(chestBlock);
 	}
 
 
@@ -78,7 +128,45 @@ final class BlockIndex {
 	 * @return ChestBlock object, or null if no ChestBlock exists in map with passed location
 	 */
 	ChestBlock get(final Location location) {
-		return this.locationMap.get(location);
+
+		// check for null location or world
+		if (location == null || location.getWorld() == null) {
+			return null;
+		}
+
+		return get(location.getWorld().getUID(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+	}
+
+
+	/**
+	 * Get ChestBlock object by in game block
+	 *
+	 * @param block the block to retrieve ChestBlock object
+	 * @return ChestBlock object, or null if no ChestBlock exists in map at passed block
+	 */
+	ChestBlock get(final Block block) {
+		return get(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+	}
+
+
+	/**
+	 * Get ChestBlock object by block coordinates
+	 *
+	 * @param worldUid the uid of the world
+	 * @param x the block x coordinate
+	 * @param y the block y coordinate
+	 * @param z the block z coordinate
+	 * @return ChestBlock object, or null if no ChestBlock exists in map at passed coordinates
+	 */
+	ChestBlock get(final UUID worldUid, final int x, final int y, final int z) {
+
+		final LongObjectHashMap<ChestBlock> worldMap = this.locationMap.get(worldUid);
+
+		if (worldMap == null) {
+			return null;
+		}
+
+		return worldMap.get(LocationUtilities.blockKey(x, y, z));
 	}
 
 
@@ -120,6 +208,45 @@ final class BlockIndex {
 	}
 
 
+	/**
+	 * Get a ChestBlock of a chest by type, without copying the chest's block map
+	 *
+	 * @param chestUid the UUID of the chest
+	 * @param chestBlockType the type of the chest block
+	 * @return the ChestBlock, or null if no block of the type exists for chest UUID
+	 */
+	ChestBlock get(final UUID chestUid, final ChestBlockType chestBlockType) {
+
+		if (chestUid == null) {
+			return null;
+		}
+
+		final Map<ChestBlockType, ChestBlock> blockMap = this.uuidMap.get(chestUid);
+
+		if (blockMap == null) {
+			return null;
+		}
+
+		return blockMap.get(chestBlockType);
+	}
+
+
+	/**
+	 * Perform an action for each ChestBlock in a world
+	 *
+	 * @param worldUid the uid of the world
+	 * @param action the action to perform on each ChestBlock
+	 */
+	void forEachInWorld(final UUID worldUid, final Consumer<ChestBlock> action) {
+
+		final LongObjectHashMap<ChestBlock> worldMap = this.locationMap.get(worldUid);
+
+		if (worldMap != null) {
+			worldMap.forEachValue(action);
+		}
+	}
+
+
 	/**
 	 * Remove ChestBlock object from map
 	 *
@@ -132,44 +259,269 @@ final class BlockIndex {
 			return;
 		}
 
-		// get chest location
-		Location location = chestBlock.getLocation();
+		// get world location map
+		final LongObjectHashMap<ChestBlock> worldMap = this.locationMap.get(chestBlock.getWorldUid());
 
-		if (location == null) {
+		if (worldMap == null) {
 			return;
 		}
 
-		// remove chest block from location map
-		this.locationMap.remove(location);
+		// remove chest block from location map; use the indexed instance for the remaining maps
+		final ChestBlock indexedBlock = worldMap.remove(LocationUtilities.blockKey(chestBlock.getX(), chestBlock.getY(), chestBlock.getZ()));
+
+		if (indexedBlock != null) {
+			removeFromMaps(indexedBlock);
+		}
+	}
+
+
+	/**
+	 * Remove all ChestBlock objects in a chunk from map
+	 *
+	 * @param worldUid the uid of the world
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 * @return the number of chest blocks removed
+	 */
+	int removeChunk(final UUID worldUid, final int chunkX, final int chunkZ) {
+
+		final LongObjectHashMap<List<ChestBlock>> worldChunks = chunkMap.get(worldUid);
+
+		if (worldChunks == null) {
+			return 0;
+		}
+
+		final List<ChestBlock> chunkBlocks = worldChunks.remove(StoredChunkIndex.chunkKey(chunkX, chunkZ));
+
+		if (chunkBlocks == null) {
+			return 0;
+		}
+
+		final LongObjectHashMap<ChestBlock> worldMap = this.locationMap.get(worldUid);
+
+		for (ChestBlock chestBlock : chunkBlocks) {
+
+			// remove chest block from location map if it is still the indexed block at its location
+			if (worldMap != null) {
+				worldMap.remove(LocationUtilities.blockKey(chestBlock.getX(), chestBlock.getY(), chestBlock.getZ()), chestBlock);
+			}
+
+			removeFromMaps(chestBlock);
+		}
+
+		return chunkBlocks.size();
+	}
+
+
+	/**
+	 * Remove an indexed ChestBlock from all maps. The location map entry is removed only if it is this instance.
+	 *
+	 * @param chestBlock the indexed ChestBlock instance
+	 */
+	private void removeIndexed(final ChestBlock chestBlock) {
+
+		final LongObjectHashMap<ChestBlock> worldMap = this.locationMap.get(chestBlock.getWorldUid());
+
+		if (worldMap != null) {
+			worldMap.remove(LocationUtilities.blockKey(chestBlock.getX(), chestBlock.getY(), chestBlock.getZ()), chestBlock);
+		}
+
+		removeFromMaps(chestBlock);
+	}
+
+
+	/**
+	 * Remove an indexed ChestBlock from the uuid and chunk maps
+	 *
+	 * @param chestBlock the indexed ChestBlock instance
+	 */
+	private void removeFromMaps(final ChestBlock chestBlock) {
 
 		// get chest UUID
 		UUID chestUid = chestBlock.getChestUid();
 
-		// if passed chest block UUID is not null, remove chest block from uuid map
+		// if chest block UUID is not null, remove chest block from uuid map
 		if (chestUid != null) {
 
-			// iterate over inner map
-			for (ChestBlockType chestBlockType : this.uuidMap.get(chestUid).keySet()) {
+			Map<ChestBlockType, ChestBlock> blockMap = this.uuidMap.get(chestUid);
+
+			if (blockMap != null) {
+
+				// remove block from inner map
+				blockMap.values().remove(chestBlock);
+
+				// if inner map is now empty, remove from outer map
+				if (blockMap.isEmpty()) {
+					this.uuidMap.remove(chestUid);
+				}
+			}
+		}
+
+		// remove chest block from chunk map
+		final LongObjectHashMap<List<ChestBlock>> worldChunks = this.chunkMap.get(chestBlock.getWorldUid());
+
+		if (worldChunks != null) {
+
+			final List<ChestBlock> chunkBlocks = worldChunks.get(chunkKey(chestBlock));
+
+			if (chunkBlocks != null) {
+
+				// remove the indexed instance by identity
+				for (int i = 0; i < chunkBlocks.size(); i++) {
+					if (chunkBlocks.get(i) == chestBlock) {
+						chunkBlocks.remove(i);
+						break;
+					}
+				}
+
+				// if chunk list is now empty, remove from world map
+				if (chunkBlocks.isEmpty()) {
+					worldChunks.remove(chunkKey(chestBlock));
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Get the ChestBlocks in a chunk
+	 *
+	 * @param worldUid the uid of the world
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 * @return Collection of ChestBlock in the chunk, or empty collection if there are none
+	 */
+	Collection<ChestBlock> getBlocksInChunk(final UUID worldUid, final int chunkX, final int chunkZ) {
+
+		final LongObjectHashMap<List<ChestBlock>> worldChunks = chunkMap.get(worldUid);
+
+		if (worldChunks == null) {
+			return Collections.emptyList();
+		}
+
+		final List<ChestBlock> chunkBlocks = worldChunks.get(StoredChunkIndex.chunkKey(chunkX, chunkZ));
+
+		if (chunkBlocks == null) {
+			return Collections.emptyList();
+		}
+
+		return new ArrayList<>(chunkBlocks);
+	}
+
+
+	/**
+	 * Get the ChestBlocks within a box of block coordinates, bounds inclusive. Only the chunks that
+	 * intersect the box are examined, or only the indexed chunks of the world if there are fewer.
+	 *
+	 * @param worldUid the uid of the world
+	 * @param minX the minimum block x coordinate
+	 * @param minY the minimum block y coordinate
+	 * @param minZ the minimum block z coordinate
+	 * @param maxX the maximum block x coordinate
+	 * @param maxY the maximum block y coordinate
+	 * @param maxZ the maximum block z coordinate
+	 * @return Collection of ChestBlock within the box, or empty collection if there are none
+	 */
+	Collection<ChestBlock> getBlocksInBox(final UUID worldUid,
+	                                      final int minX, final int minY, final int minZ,
+	                                      final int maxX, final int maxY, final int maxZ) {
 
-				// get chest block location
-				Location chestBlockLocation = this.uuidMap.get(chestUid).get(chestBlockType).getLocation();
+		final LongObjectHashMap<List<ChestBlock>> worldChunks = chunkMap.get(worldUid);
 
-				// check for null location
-				if (chestBlockLocation == null) {
-					return;
+		if (worldChunks == null || minX > maxX || minY > maxY || minZ > maxZ) {
+			return Collections.emptyList();
+		}
+
+		final List<ChestBlock> result = new ArrayList<>();
+
+		final Consumer<List<ChestBlock>> collector = chunkBlocks -> {
+			for (ChestBlock chestBlock : chunkBlocks) {
+				if (chestBlock.getX() >= minX && chestBlock.getX() <= maxX
+						&& chestBlock.getY() >= minY && chestBlock.getY() <= maxY
+						&& chestBlock.getZ() >= minZ && chestBlock.getZ() <= maxZ) {
+					result.add(chestBlock);
 				}
+			}
+		};
 
-				// if passed chest block location equals mapped chest block location, remove block from inner map
-				if (chestBlockLocation.equals(location)) {
-					this.uuidMap.get(chestUid).remove(chestBlockType);
+		// number of chunks intersecting the box
+		final long spanX = (long) (maxX >> 4) - (minX >> 4) + 1;
+		final long spanZ = (long) (maxZ >> 4) - (minZ >> 4) + 1;
 
-					// if inner map is now empty, remove from outer map
-					if (this.uuidMap.get(chestUid).isEmpty()) {
-						this.uuidMap.remove(chestUid);
+		// if box covers more chunks than are indexed, examine indexed chunks instead
+		if (spanX * spanZ > worldChunks.size()) {
+			worldChunks.forEachValue(collector);
+		}
+		else {
+			for (int chunkX = minX >> 4; chunkX <= maxX >> 4; chunkX++) {
+				for (int chunkZ = minZ >> 4; chunkZ <= maxZ >> 4; chunkZ++) {
+					final List<ChestBlock> chunkBlocks = worldChunks.get(StoredChunkIndex.chunkKey(chunkX, chunkZ));
+					if (chunkBlocks != null) {
+						collector.accept(chunkBlocks);
 					}
 				}
 			}
 		}
+
+		return result;
+	}
+
+
+	/**
+	 * Get the ChestBlocks whose block centers are within a radius of a point
+	 *
+	 * @param worldUid the uid of the world
+	 * @param x the x coordinate of the center
+	 * @param y the y coordinate of the center
+	 * @param z the z coordinate of the center
+	 * @param radius the radius in blocks
+	 * @return Collection of ChestBlock within the radius, or empty collection if there are none
+	 */
+	Collection<ChestBlock> getBlocksInRadius(final UUID worldUid,
+	                                         final double x, final double y, final double z,
+	                                         final double radius) {
+
+		if (radius < 0) {
+			return Collections.emptyList();
+		}
+
+		// get blocks in bounding box of sphere
+		final Collection<ChestBlock> boxBlocks = getBlocksInBox(worldUid,
+				(int) Math.floor(x - radius), (int) Math.floor(y - radius), (int) Math.floor(z - radius),
+				(int) Math.floor(x + radius), (int) Math.floor(y + radius), (int) Math.floor(z + radius));
+
+		final double radiusSquared = radius * radius;
+
+		// remove blocks outside sphere
+		boxBlocks.removeIf(chestBlock -> {
+			final double dx = chestBlock.getX() + 0.5 - x;
+			final double dy = chestBlock.getY() + 0.5 - y;
+			final double dz = chestBlock.getZ() + 0.5 - z;
+			return dx * dx + dy * dy + dz * dz > radiusSquared;
+		});
+
+		return boxBlocks;
+	}
+
+
+	/**
+	 * Get the chunk key of a chest block's location
+	 *
+	 * @param chestBlock the chest block
+	 * @return the chunk key
+	 */
+	private static long chunkKey(final ChestBlock chestBlock) {
+		return StoredChunkIndex.chunkKey(chestBlock.getX() >> 4, chestBlock.getZ() >> 4);
+	}
+
+
+	/**
+	 * Check if no chest blocks are indexed
+	 *
+	 * @return {@code true} if the index is empty, {@code false} if it is not
+	 */
+	boolean isEmpty() {
+		return uuidMap.isEmpty();
 	}
 
 
@@ -180,13 +532,24 @@ final class BlockIndex {
 	 * @return {@code true} if location key exists in map, {@code false} if it does not
 	 */
 	boolean containsKey(final Location location) {
+		return get(location) != null;
+	}
+
+
+	/**
+	 * Check for in game block in map
+	 *
+	 * @param block the block to check
+	 * @return {@code true} if a chest block exists in map at block, {@code false} if it does not
+	 */
+	boolean containsKey(final Block block) {
 
-		// check for null location
-		if (location == null) {
+		// check for null block
+		if (block == null) {
 			return false;
 		}
 
-		return locationMap.containsKey(location);
+		return get(block) != null;
 	}
 
 }
@@ -59,6 +59,9 @@ public final class ChestBlock {
 	private final float yaw;
 	private final float pitch;
 
+	// world handle, resolved on first use and cleared when the world is unloaded; accessed only on the server thread
+	private World world;
+
 
 	/**
 	 * Class constructor
@@ -114,16 +117,8 @@ public final class ChestBlock {
 		// set ChestUUID for this ChestBlock
 		this.chestUUID = chestUUID;
 
-		World world = plugin.getServer().getWorld(worldUid);
-
-		// if world is invalid, set name unknown
-		if (world == null) {
-			this.worldName = worldName;
-		}
-		else {
-			this.worldName = world.getName();
-		}
-
+		// world is not looked up here, so that records can be created off the server thread
+		this.worldName = worldName;
 		this.worldUid = worldUid;
 		this.x = x;
 		this.y = y;
@@ -140,13 +135,13 @@ public final class ChestBlock {
 	 */
 	public Location getLocation() {
 
-		World world = plugin.getServer().getWorld(this.worldUid);
+		World world = this.getWorld();
 
 		if (world == null) {
 			return null;
 		}
 
-		// return new location object
+		// return new location object; locations are mutable, so each caller gets its own
 		return new Location(world,
 				this.x,
 				this.y,
@@ -156,6 +151,48 @@ public final class ChestBlock {
 	}
 
 
+	/**
+	 * Get the world of this chest block. The world is looked up once and cached until it is unloaded.
+	 *
+	 * @return World - the world of this chest block, or null if the world is not loaded
+	 */
+	World getWorld() {
+
+		// if world is not cached, look up world by uid
+		if (this.world == null && this.worldUid != null) {
+			this.world = plugin.getServer().getWorld(this.worldUid);
+		}
+
+		return this.world;
+	}
+
+
+	/**
+	 * Clear the cached world handle, so that an unloaded world is not retained.
+	 * The world is looked up again on next use.
+	 */
+	void invalidateWorld() {
+		this.world = null;
+	}
+
+
+	/**
+	 * Get the in game block represented by this chest block
+	 *
+	 * @return Block - the in game block, or null if the world is not loaded
+	 */
+	Block getBlock() {
+
+		World world = this.getWorld();
+
+		if (world == null) {
+			return null;
+		}
+
+		return world.getBlockAt(this.x, this.y, this.z);
+	}
+
+
 	/**
 	 * Getter method for chest block world name
 	 *
@@ -199,14 +236,14 @@ public final class ChestBlock {
 	 */
 	private Block getAttachedBlock() {
 
-		// if DeathChestBlock location is null, return null
-		if (this.getLocation() == null) {
+		// get block represented by this DeathChestBlock
+		final Block block = this.getBlock();
+
+		// if DeathChestBlock world is not loaded, return null
+		if (block == null) {
 			return null;
 		}
 
-		// get block represented by this DeathChestBlock
-		final Block block = this.getLocation().getBlock();
-
 		// if block is not a DeathSign, return null
 		if (!plugin.chestManager.isChestBlockSign(block)) {
 			return null;
@@ -243,13 +280,16 @@ public final class ChestBlock {
 	 */
 	Inventory getInventory() {
 
-		// if this ChestBlock location is null, return null
-		if (this.getLocation() == null) {
+		// get block represented by this ChestBlock
+		final Block chestBlock = this.getBlock();
+
+		// if this ChestBlock world is not loaded, return null
+		if (chestBlock == null) {
 			return null;
 		}
 
 		// get the block state of block represented by this ChestBlock
-		BlockState blockState = this.getLocation().getBlock().getState();
+		BlockState blockState = chestBlock.getState();
 
 		// if block is a sign or wall sign, get attached block
 		if (blockState.getType().equals(Material.OAK_SIGN) || blockState.getType().equals((Material.OAK_WALL_SIGN))) {
@@ -259,7 +299,7 @@ public final class ChestBlock {
 
 			// if attached block returned null, do nothing and return
 			if (block != null) {
-				blockState = this.getAttachedBlock().getState();
+				blockState = block.getState();
 			}
 			else {
 				return null;
@@ -276,58 +316,54 @@ public final class ChestBlock {
 
 
 	/**
-	 * Transfer the contents of this chest block to player inventory
+	 * Transfer the contents of this chest block to player inventory. The transfer is planned over copies of
+	 * both inventories' contents, then written to each inventory at once, with a single sound.
+	 * Items that do not fit in player inventory remain in the chest.
 	 *
 	 * @param player the player whose inventory chest items will be placed
+	 * @return {@code true} if all items were transferred, {@code false} if items remain in the chest
 	 */
-	Collection<ItemStack> transferContents(final Player player) {
-
-		// create empty list to contain items that did not fit in chest
-		Collection<ItemStack> remainingItems = new LinkedList<>();
+	boolean transferContents(final Player player) {
 
-		// if player is null, return empty list
+		// if player is null, return
 		if (player == null) {
-			return remainingItems;
-		}
-
-		// if DeathBlock location is null, return empty list
-		if (this.getLocation() == null) {
-			return remainingItems;
+			return true;
 		}
 
 		// get in game block at deathBlock location
-		Block block = this.getLocation().getBlock();
-
-		// confirm block is still death chest block
-		if (plugin.chestManager.isChestBlockChest(block)) {
+		Block block = this.getBlock();
 
-			// get player inventory object
-			final PlayerInventory playerInventory = player.getInventory();
-
-			// get chest object
-			final Chest chest = (Chest) block.getState();
+		// if DeathBlock world is not loaded, return
+		if (block == null) {
+			return true;
+		}
 
-			// get Collection of ItemStack for chest inventory
-			final Collection<ItemStack> chestInventory = new LinkedList<>(Arrays.asList(chest.getInventory().getContents()));
+		// confirm block is still death chest block
+		if (!plugin.chestManager.isChestBlockChest(block)) {
+			return true;
+		}
 
-			// iterate through all inventory slots in chest inventory
-			for (ItemStack itemStack : chestInventory) {
+		// get player inventory object
+		final PlayerInventory playerInventory = player.getInventory();
 
-				// if inventory slot item is not null...
-				if (itemStack != null) {
+		// get chest inventory
+		final Inventory chestInventory = ((Chest) block.getState()).getInventory();
 
-					// remove item from chest inventory
-					chest.getInventory().removeItem(itemStack);
+		// get contents of chest inventory and player inventory storage slots
+		final ItemStack[] chestContents = chestInventory.getContents();
+		final ItemStack[] playerContents = playerInventory.getStorageContents();
 
-					// add item to player inventory
-					remainingItems.addAll(playerInventory.addItem(itemStack).values());
+		// move items that fit from chest contents to player contents
+		final int movedCount = LootTransfer.transfer(chestContents, playerContents, playerInventory.getMaxStackSize());
 
-					// play inventory add sound
-					plugin.soundConfig.playSound(player, SoundId.INVENTORY_ADD_ITEM);
-				}
-			}
+		// if any items were moved, write contents to both inventories and play inventory add sound
+		if (movedCount > 0) {
+			playerInventory.setStorageContents(playerContents);
+			chestInventory.setContents(chestContents);
+			plugin.soundConfig.playSound(player, SoundId.INVENTORY_ADD_ITEM);
 		}
-		return remainingItems;
+
+		return LootTransfer.isEmpty(chestContents);
 	}
 
 
@@ -343,14 +379,14 @@ public final class ChestBlock {
 			return;
 		}
 
-		// if DeathBlock location is null, do nothing and return
-		if (this.getLocation() == null) {
+		// get in game block at chest block location
+		Block block = this.getBlock();
+
+		// if DeathBlock world is not loaded, do nothing and return
+		if (block == null) {
 			return;
 		}
 
-		// get in game block at chest block location
-		Block block = this.getLocation().getBlock();
-
 		// if block is not death chest material, do nothing and return
 		if (!ChestManager.deathChestMaterials.contains(block.getType())) {
 			return;
@@ -373,16 +409,10 @@ public final class ChestBlock {
 
 	/**
 	 * Remove metadata from this chest block
+	 *
+	 * @param block the in game block at this chest block location
 	 */
-	private void removeMetadata() {
-
-		// if ChestBlock location is null, do nothing and return
-		if (this.getLocation() == null) {
-			return;
-		}
-
-		// get in game block at this chestBlock location
-		Block block = this.getLocation().getBlock();
+	private void removeMetadata(final Block block) {
 
 		block.removeMetadata("deathchest-uuid", plugin);
 		block.removeMetadata("deathchest-owner", plugin);
@@ -396,21 +426,21 @@ public final class ChestBlock {
 	 */
 	void destroy() {
 
-		// if ChestBlock location is null, do nothing and return
-		if (this.getLocation() == null) {
+		// get in game block at this chestBlock location
+		Block block = this.getBlock();
+
+		// if ChestBlock world is not loaded, do nothing and return
+		if (block == null) {
 			return;
 		}
 
-		// get in game block at this chestBlock location
-		Block block = this.getLocation().getBlock();
-
 		// load chunk if necessary
 		if (!block.getChunk().isLoaded()) {
 			block.getChunk().load();
 		}
 
 		// remove metadata from block
-		this.removeMetadata();
+		this.removeMetadata(block);
 
 		// remove ChestBlock record from datastore
 		plugin.chestManager.deleteBlockRecord(this);
@@ -17,23 +17,38 @@
 
 package com.winterhavenmc.deathchest.chests;
 
-import java.util.Collection;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 
 
+/**
+ * An index of death chests by chest uid, with secondary indexes of all chests and of each owner's chests
+ * kept sorted by expiration time, so that chests can be listed and paged without a scan or sort
+ */
 final class ChestIndex {
 
+	// order of chests by expiration time; chest uid breaks ties
+	private final static Comparator<DeathChest> EXPIRATION_ORDER =
+			Comparator.comparingLong(DeathChest::getExpirationTime).thenComparing(DeathChest::getChestUid);
+
 	// map of DeathChests
 	private final Map<UUID, DeathChest> deathChestMap;
 
+	// all DeathChests, sorted by expiration time
+	private final NavigableSet<DeathChest> expirationSet;
+
+	// sets of DeathChests sorted by expiration time, keyed by owner uid
+	private final Map<UUID, NavigableSet<DeathChest>> ownerMap;
+
 
 	/**
 	 * Constructor
 	 */
 	ChestIndex() {
 		deathChestMap = new ConcurrentHashMap<>();
+		expirationSet = new ConcurrentSkipListSet<>(EXPIRATION_ORDER);
+		ownerMap = new ConcurrentHashMap<>();
 	}
 
 
@@ -66,7 +81,15 @@ final class ChestIndex {
 			return;
 		}
 
-		this.deathChestMap.put(deathChest.getChestUid(), deathChest);
+		// put chest in map, removing any chest it replaces from the sorted sets
+		removeFromSets(this.deathChestMap.put(deathChest.getChestUid(), deathChest));
+
+		// add chest to sorted sets
+		this.expirationSet.add(deathChest);
+		if (deathChest.getOwnerUid() != null) {
+			this.ownerMap.computeIfAbsent(deathChest.getOwnerUid(), k -> new ConcurrentSkipListSet<>(EXPIRATION_ORDER))
+					.add(deathChest);
+		}
 	}
 
 
@@ -82,7 +105,30 @@ final class ChestIndex {
 			return;
 		}
 
-		this.deathChestMap.remove(deathChest.getChestUid());
+		// remove chest from map, and the indexed instance from the sorted sets
+		removeFromSets(this.deathChestMap.remove(deathChest.getChestUid()));
+	}
+
+
+	/**
+	 * Remove an indexed DeathChest from the sorted sets
+	 *
+	 * @param deathChest the indexed DeathChest instance, or null
+	 */
+	private void removeFromSets(final DeathChest deathChest) {
+
+		if (deathChest == null) {
+			return;
+		}
+
+		this.expirationSet.remove(deathChest);
+
+		if (deathChest.getOwnerUid() != null) {
+			this.ownerMap.computeIfPresent(deathChest.getOwnerUid(), (k, chests) -> {
+				chests.remove(deathChest);
+				return chests.isEmpty() ? null : chests;
+			});
+		}
 	}
 
 
@@ -112,5 +158,48 @@ final class ChestIndex {
 		return deathChestMap.values();
 	}
 
+
+	/**
+	 * Get all chests in map, sorted by expiration time
+	 *
+	 * @return List of DeathChests in map, earliest expiration first
+	 */
+	List<DeathChest> valuesByExpiration() {
+		return new ArrayList<>(expirationSet);
+	}
+
+
+	/**
+	 * Get the chests of an owner, sorted by expiration time
+	 *
+	 * @param ownerUid the owner uid
+	 * @return List of the owner's DeathChests, earliest expiration first, or empty list if the owner has none
+	 */
+	List<DeathChest> getByOwner(final UUID ownerUid) {
+
+		// check for null owner uid
+		if (ownerUid == null) {
+			return new ArrayList<>();
+		}
+
+		final NavigableSet<DeathChest> chests = ownerMap.get(ownerUid);
+
+		if (chests == null) {
+			return new ArrayList<>();
+		}
+
+		return new ArrayList<>(chests);
+	}
+
+
+	/**
+	 * Get the uids of all chest owners
+	 *
+	 * @return Set of owner uids that have at least one chest in map
+	 */
+	Set<UUID> getOwners() {
+		return Collections.unmodifiableSet(ownerMap.keySet());
+	}
+
 }
 
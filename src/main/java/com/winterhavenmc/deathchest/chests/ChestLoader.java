@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.storage.DataStore;
+
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitRunnable;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * A class that loads death chests from the datastore at startup without blocking the server thread.
+ * Chest records are read and decoded by an asynchronous task and handed to the server thread through
+ * a bounded queue, where they are indexed in batches limited by a per-tick time budget.
+ * Block records are not kept; the reader only records which chunks contain them. Block records are read
+ * first, so that the chunks that may contain death chests are known early in the load, and their chest and
+ * sign blocks can be protected until they are indexed; see {@link ChestManager#isLoadPending(org.bukkit.block.Block)}.
+ * Once all chests are indexed, chests in worlds that no longer exist are purged, the blocks of chunks that are
+ * already loaded are loaded, and any chunk loaded later has its blocks loaded by the chunk load listener.
+ */
+final class ChestLoader extends BukkitRunnable {
+
+	// maximum number of decoded records waiting for the server thread
+	private final static int QUEUE_CAPACITY = 1024;
+
+	// marker placed in queue after the last record
+	private final static Object END_OF_RECORDS = new Object();
+
+	// reference to main class
+	private final PluginMain plugin;
+
+	// reference to chest manager
+	private final ChestManager chestManager;
+
+	// datastore to read records from
+	private final DataStore dataStore;
+
+	// decoded records waiting for the server thread
+	private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+	// time allowed for processing records each tick
+	private final long tickBudgetNanos;
+
+	// iterator over loaded chunks; null until all records are received
+	private Iterator<Chunk> chunkIterator;
+
+	private volatile boolean cancelled;
+	private volatile boolean chunksIndexed;
+	private volatile boolean chestsIndexed;
+	private volatile boolean chestRecordsRead;
+	private volatile boolean complete;
+
+	// statistics
+	private final long startTime = System.nanoTime();
+	private int chestCount;
+	private volatile int blockCount;
+	private int tickCount;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to main class
+	 * @param chestManager the chest manager whose indexes will be populated
+	 * @param dataStore the datastore to read records from
+	 */
+	ChestLoader(final PluginMain plugin, final ChestManager chestManager, final DataStore dataStore) {
+		this.plugin = plugin;
+		this.chestManager = chestManager;
+		this.dataStore = dataStore;
+		this.tickBudgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, plugin.getConfig().getLong("chest-load-tick-budget")));
+	}
+
+
+	/**
+	 * Start the asynchronous read task and the server thread processing task
+	 */
+	void start() {
+
+		if (plugin.getConfig().getBoolean("debug")) {
+			plugin.getLogger().info("Loading Death Chests...");
+		}
+
+		plugin.getServer().getScheduler().runTaskAsynchronously(plugin, this::readRecords);
+		this.runTaskTimer(plugin, 0L, 1L);
+	}
+
+
+	/**
+	 * Stop loading. Records not yet processed are left in the datastore untouched.
+	 */
+	void cancelLoad() {
+		cancelled = true;
+		if (!isCancelled()) {
+			this.cancel();
+		}
+	}
+
+
+	/**
+	 * Check if loading has finished
+	 *
+	 * @return {@code true} if all records have been processed, {@code false} if not
+	 */
+	boolean isComplete() {
+		return complete;
+	}
+
+
+	/**
+	 * Check if the chunks of all block records have been added to the stored chunk index
+	 *
+	 * @return {@code true} if all block records have been read, {@code false} if not
+	 */
+	boolean isChunksIndexed() {
+		return chunksIndexed;
+	}
+
+
+	/**
+	 * Check if all chest records have been added to the chest index,
+	 * after which chunks can have their chest blocks loaded
+	 *
+	 * @return {@code true} if all chest records are indexed, {@code false} if not
+	 */
+	boolean isChestsIndexed() {
+		return chestsIndexed;
+	}
+
+
+	/**
+	 * Check if every chest record was read from the datastore. If not, a block record whose chest
+	 * is not in the chest index may belong to a chest that could not be read.
+	 *
+	 * @return {@code true} if all chest records were read, {@code false} if reading failed or is not finished
+	 */
+	boolean isChestRecordsRead() {
+		return chestRecordsRead;
+	}
+
+
+	/**
+	 * Read all records from the datastore into the queue. Runs on an asynchronous task.
+	 */
+	private void readRecords() {
+		try {
+			final boolean blockRecordsRead = dataStore.streamBlockRecords(chestBlock -> {
+				if (cancelled) {
+					throw new LoadCancelledException();
+				}
+				chestManager.addStoredChunk(chestBlock);
+				blockCount++;
+			});
+
+			// if block records could not all be read, any chunk may contain stored chest blocks
+			if (!blockRecordsRead) {
+				chestManager.setStoredChunksIncomplete();
+			}
+			chunksIndexed = true;
+
+			chestRecordsRead = dataStore.streamChestRecords(this::handOff);
+			handOff(END_OF_RECORDS);
+		}
+		catch (LoadCancelledException e) {
+			// loading was cancelled; remaining records are not read
+		}
+	}
+
+
+	/**
+	 * Put a record in the queue, waiting for the server thread to make room if necessary
+	 *
+	 * @param record the record to hand off
+	 * @throws LoadCancelledException if loading was cancelled while waiting
+	 */
+	private void handOff(final Object record) {
+		try {
+			while (!queue.offer(record, 50, TimeUnit.MILLISECONDS)) {
+				if (cancelled) {
+					throw new LoadCancelledException();
+				}
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new LoadCancelledException();
+		}
+	}
+
+
+	/**
+	 * Process queued records on the server thread until the tick budget is used
+	 */
+	@Override
+	public void run() {
+
+		tickCount++;
+
+		final long deadline = System.nanoTime() + tickBudgetNanos;
+
+		do {
+			// all records received; load chest blocks in loaded chunks
+			if (chunkIterator != null) {
+				if (chunkIterator.hasNext()) {
+					final Chunk chunk = chunkIterator.next();
+					if (chunk.isLoaded()) {
+						chestManager.loadChunk(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+					}
+				}
+				else {
+					finish();
+					return;
+				}
+				continue;
+			}
+
+			final Object record = queue.poll();
+
+			// if reader has not decoded more records yet, wait for next tick
+			if (record == null) {
+				return;
+			}
+
+			if (record == END_OF_RECORDS) {
+				chestManager.deleteOrphanedChests();
+				chestsIndexed = true;
+				chunkIterator = getLoadedChunks().iterator();
+			}
+			else {
+				chestManager.putChest((DeathChest) record);
+				chestCount++;
+			}
+		}
+		while (System.nanoTime() < deadline);
+	}
+
+
+	/**
+	 * Get the chunks that are currently loaded in all worlds
+	 *
+	 * @return List of Chunk
+	 */
+	private List<Chunk> getLoadedChunks() {
+
+		final List<Chunk> chunks = new ArrayList<>();
+
+		for (World world : plugin.getServer().getWorlds()) {
+			chunks.addAll(Arrays.asList(world.getLoadedChunks()));
+		}
+
+		return chunks;
+	}
+
+
+	/**
+	 * Mark loading complete and stop this task. Chests that expired while the server was stopped
+	 * are expired by the expiration task once loading is complete.
+	 */
+	private void finish() {
+
+		complete = true;
+		this.cancel();
+
+		if (plugin.getConfig().getBoolean("debug")) {
+			plugin.getLogger().info(chestCount + " chest records loaded and " + blockCount + " block records indexed in "
+					+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms over "
+					+ tickCount + " ticks.");
+		}
+	}
+
+
+	/**
+	 * Thrown from the reader's consumer to stop streaming when loading is cancelled
+	 */
+	private static final class LoadCancelledException extends RuntimeException {
+		LoadCancelledException() {
+			super(null, null, false, false);
+		}
+	}
+
+}
@@ -19,21 +19,30 @@ package com.winterhavenmc.deathchest.chests;
 
 import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.deployment.DeploymentFactory;
+import com.winterhavenmc.deathchest.chests.deployment.DeploymentQueue;
 import com.winterhavenmc.deathchest.storage.DataStore;
 import com.winterhavenmc.deathchest.storage.DataStoreType;
+import com.winterhavenmc.deathchest.tasks.DeployChestTask;
+import com.winterhavenmc.deathchest.tasks.ExpireChestTask;
+import com.winterhavenmc.deathchest.util.LongObjectHashMap;
 
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
-import org.bukkit.block.Chest;
-import org.bukkit.block.DoubleChest;
 import org.bukkit.block.data.type.Sign;
 import org.bukkit.block.data.type.WallSign;
 import org.bukkit.event.inventory.InventoryType;
+import org.bukkit.inventory.DoubleChestInventory;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.scheduler.BukkitTask;
+import org.bukkit.util.BoundingBox;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 
 /**
@@ -50,6 +59,30 @@ public final class ChestManager {
 	// map of chest blocks
 	private final BlockIndex blockIndex;
 
+	// open death chest inventories
+	private final InventorySessions inventorySessions;
+
+	// set of chunks that have chest blocks in the datastore
+	private final StoredChunkIndex storedChunkIndex;
+
+	// a stored block of each chest, for locating chests whose blocks are not in the block index
+	private final Map<UUID, ChestBlock> storedBlockMap = new ConcurrentHashMap<>();
+
+	// number of stored blocks of each chest, for knowing without a query whether all its blocks are indexed
+	private final Map<UUID, Integer> storedBlockCounts = new ConcurrentHashMap<>();
+
+	// chests whose block records are being queried before the chest is destroyed
+	private final Set<UUID> blockLoads = new HashSet<>();
+
+	// chunks whose block records are being queried, keyed by world uid
+	private final Map<UUID, Set<Long>> chunkQueries = new HashMap<>();
+
+	// unloaded chunks whose blocks are kept in the block index until pending datastore writes are committed
+	private final Map<UUID, Set<Long>> deferredUnloads = new HashMap<>();
+
+	// task that releases deferred chunks once pending writes are committed
+	private BukkitTask deferredUnloadTask;
+
 	// instantiate datastore
 	private DataStore dataStore;
 
@@ -64,6 +97,21 @@ public final class ChestManager {
 
 	private final DeploymentFactory deploymentFactory;
 
+	// death chests waiting to be deployed
+	private final DeploymentQueue deploymentQueue;
+
+	// repeating task that deploys queued chests
+	private BukkitTask deployTask;
+
+	// loader for chests in datastore at startup
+	private ChestLoader chestLoader;
+
+	// chests ordered by expiration time
+	private final ExpirationQueue expirationQueue = new ExpirationQueue();
+
+	// repeating task that expires due chests
+	private BukkitTask expireTask;
+
 
 	/**
 	 * Class constructor
@@ -87,86 +135,550 @@ public final class ChestManager {
 		// initialize blockIndex
 		blockIndex = new BlockIndex();
 
+		// initialize storedChunkIndex
+		storedChunkIndex = new StoredChunkIndex();
+
+		// initialize inventorySessions
+		inventorySessions = new InventorySessions();
+
 		deploymentFactory = new DeploymentFactory();
+
+		// initialize deploymentQueue
+		deploymentQueue = new DeploymentQueue(plugin);
 	}
 
 	public DeploymentFactory getDeploymentFactory() {
 		return this.deploymentFactory;
 	}
 
+	public DeploymentQueue getDeploymentQueue() {
+		return this.deploymentQueue;
+	}
+
+	public InventorySessions getInventorySessions() {
+		return this.inventorySessions;
+	}
+
 	/**
-	 * Load death chest blocks from datastore.
-	 * Expire death chest blocks whose time has passed.
+	 * Load death chest records from datastore.
+	 * Expire death chests whose time has passed.
 	 * schedule tasks to expire remaining loaded chests.
+	 * Records are read on an asynchronous task and checked against the world over the following ticks;
+	 * use {@link #isLoading()} to check for completion. Chest blocks are only loaded for chunks
+	 * that are loaded; see {@link #loadChunk(UUID, int, int)}.
 	 */
 	public void loadChests() {
+		chestLoader = new ChestLoader(plugin, this, dataStore);
+		chestLoader.start();
+
+		// start expiration task
+		expireTask = new ExpireChestTask(plugin).runTaskTimer(plugin, 1L, 1L);
+
+		// start deployment task
+		deployTask = new DeployChestTask(plugin).runTaskTimer(plugin, 1L, 1L);
+	}
+
+
+	/**
+	 * Check if chests are still being loaded from the datastore
+	 *
+	 * @return {@code true} if loading is in progress, {@code false} if not
+	 */
+	public boolean isLoading() {
+		return chestLoader != null && !chestLoader.isComplete();
+	}
+
+
+	/**
+	 * Check if a block may be a death chest block that has not been indexed yet because chests are still
+	 * being loaded, or the block records of its chunk are still being queried. Until then, chest and sign blocks
+	 * in chunks that have stored chest blocks are not in the block index, so event handlers must treat them
+	 * as protected. Until all block records have been read, every chest and sign block is treated as protected.
+	 *
+	 * @param block the block to test
+	 * @return {@code true} if the block must be protected until loading is complete, {@code false} if not
+	 */
+	public boolean isLoadPending(final Block block) {
+
+		// if loading is complete, block index is authoritative
+		if (block == null || !hasPendingLoads()) {
+			return false;
+		}
+
+		// if block is not death chest material, it is not protected
+		if (!deathChestMaterials.contains(block.getType())) {
+			return false;
+		}
+
+		return isLoadPending(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+	}
+
+
+	/**
+	 * Check if a chest inventory may belong to a death chest that has not been indexed yet because chests are
+	 * still being loaded, or the block records of its chunk are still being queried
+	 *
+	 * @param inventory the inventory to test
+	 * @return {@code true} if the inventory must be protected until loading is complete, {@code false} if not
+	 */
+	public boolean isLoadPending(final Inventory inventory) {
+
+		// if loading is complete, or inventory is not a chest inventory, it is not protected
+		if (inventory == null || !hasPendingLoads() || !inventory.getType().equals(InventoryType.CHEST)) {
+			return false;
+		}
+
+		// a double chest inventory is located between its halves, so test the location of each half
+		if (inventory instanceof DoubleChestInventory) {
+			final DoubleChestInventory doubleChestInventory = (DoubleChestInventory) inventory;
+			return isLoadPending(doubleChestInventory.getRightSide().getLocation())
+					|| isLoadPending(doubleChestInventory.getLeftSide().getLocation());
+		}
+
+		return isLoadPending(inventory.getLocation());
+	}
+
+
+	private boolean isLoadPending(final Location location) {
+		return location != null && location.getWorld() != null
+				&& isLoadPending(location.getWorld().getUID(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+	}
+
 
-		if (plugin.getConfig().getBoolean("debug")) {
-			plugin.getLogger().info("Loading Death Chests...");
+	private boolean isLoadPending(final UUID worldUid, final int x, final int y, final int z) {
+
+		final boolean loading = isLoading();
+
+		// if chunks of stored blocks are not all known yet, any chest block may be a death chest
+		if (loading && !chestLoader.isChunksIndexed()) {
+			return true;
 		}
 
-		// populate chestIndex with all death chest records retrieved from datastore
-		for (DeathChest deathChest : dataStore.selectAllChestRecords()) {
-			this.putChest(deathChest);
+		// if chests are loaded and block records of chunk are not being queried, block index is authoritative
+		if (!loading && !isChunkQueryPending(worldUid, x >> 4, z >> 4)) {
+			return false;
 		}
 
-		// populate chest block map with all valid chest blocks retrieved from datastore
-		for (ChestBlock chestBlock : dataStore.selectAllBlockRecords()) {
+		// if chunk has stored chest blocks and block is not indexed yet, it may be a death chest block
+		return storedChunkIndex.contains(worldUid, x >> 4, z >> 4) && blockIndex.get(worldUid, x, y, z) == null;
+	}
+
+
+	/**
+	 * Check if chests are still being loaded, or block records of any chunk are still being queried
+	 *
+	 * @return {@code true} if blocks may be missing from the block index, {@code false} if not
+	 */
+	private boolean hasPendingLoads() {
+		return isLoading() || !chunkQueries.isEmpty();
+	}
+
+
+	private boolean isChunkQueryPending(final UUID worldUid, final int chunkX, final int chunkZ) {
+		final Set<Long> chunkKeys = chunkQueries.get(worldUid);
+		return chunkKeys != null && chunkKeys.contains(StoredChunkIndex.chunkKey(chunkX, chunkZ));
+	}
+
+
+	/**
+	 * Expire chests whose expiration time has passed, earliest first
+	 *
+	 * @param limit the maximum number of chests to expire
+	 */
+	public void expireDueChests(final int limit) {
+		for (DeathChest deathChest : expirationQueue.pollDue(System.currentTimeMillis(), limit)) {
+			deathChest.expire();
+		}
+	}
+
+
+	/**
+	 * Load the chest blocks stored in a chunk into the block index. The block records of the chunk are queried
+	 * on an asynchronous task, and checked against the world on the server thread. Block records whose in game block
+	 * is no longer a chest or sign, or whose chest no longer exists, are deleted.
+	 *
+	 * @param worldUid the uid of the world
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 */
+	public void loadChunk(final UUID worldUid, final int chunkX, final int chunkZ) {
+
+		// if chest records are still being loaded, chunk will be processed by the loader
+		if (chestLoader != null && !chestLoader.isChestsIndexed()) {
+			return;
+		}
+
+		// if chunk has no stored chest blocks, do nothing and return
+		if (!storedChunkIndex.contains(worldUid, chunkX, chunkZ)) {
+			return;
+		}
+
+		// if block records of chunk are already being queried, do nothing and return
+		if (!chunkQueries.computeIfAbsent(worldUid, k -> new HashSet<>()).add(StoredChunkIndex.chunkKey(chunkX, chunkZ))) {
+			return;
+		}
+
+		final DataStore dataStore = this.dataStore;
+
+		// query block records off the server thread, then load them on the server thread
+		plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+			final Collection<ChestBlock> blockRecords = dataStore.selectBlockRecordsInChunk(worldUid, chunkX, chunkZ);
+			if (plugin.isEnabled()) {
+				plugin.getServer().getScheduler().runTask(plugin, () -> loadChunkRecords(worldUid, chunkX, chunkZ, blockRecords));
+			}
+		});
+	}
 
-			// if chest block location is null, continue to next chest block
-			if (chestBlock.getLocation() == null) {
-				if (plugin.getConfig().getBoolean("debug")) {
-					plugin.getLogger().info("chest block " + chestBlock.getChestUid() + " has null location.");
+
+	/**
+	 * Load the block records queried for a chunk into the block index. Records are discarded if the chunk
+	 * has been unloaded since the query; they are queried again when the chunk is loaded again.
+	 *
+	 * @param worldUid the uid of the world
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 * @param blockRecords the block records stored in the chunk
+	 */
+	private void loadChunkRecords(final UUID worldUid, final int chunkX, final int chunkZ,
+	                              final Collection<ChestBlock> blockRecords) {
+
+		// remove chunk from pending queries
+		final Set<Long> chunkKeys = chunkQueries.get(worldUid);
+		if (chunkKeys != null) {
+			chunkKeys.remove(StoredChunkIndex.chunkKey(chunkX, chunkZ));
+			if (chunkKeys.isEmpty()) {
+				chunkQueries.remove(worldUid);
+			}
+		}
+
+		final World world = plugin.getServer().getWorld(worldUid);
+
+		// if world or chunk has been unloaded, do nothing and return
+		if (world == null || !world.isChunkLoaded(chunkX, chunkZ)) {
+			return;
+		}
+
+		// if chunk has no block records, remove it from stored chunk index,
+		// unless a queued write or a chest deployed since the query may add one
+		if (blockRecords.isEmpty()) {
+			if (!dataStore.hasPendingWrites() && blockIndex.getBlocksInChunk(worldUid, chunkX, chunkZ).isEmpty()) {
+				storedChunkIndex.remove(worldUid, chunkX, chunkZ);
+			}
+			return;
+		}
+
+		for (ChestBlock chestBlock : blockRecords) {
+			loadBlockRecord(world, chestBlock);
+		}
+	}
+
+
+	/**
+	 * Load a stored block record into the block index, if its in game block is still a chest or sign
+	 * and its chest still exists; otherwise delete the record
+	 *
+	 * @param world the loaded world of the block record
+	 * @param chestBlock the stored block record
+	 */
+	private void loadBlockRecord(final World world, ChestBlock chestBlock) {
+
+		// get in game block at chest block location
+		final Block block = world.getBlockAt(chestBlock.getX(), chestBlock.getY(), chestBlock.getZ());
+
+		// if chest block is already in block index, do nothing and return
+		if (blockIndex.containsKey(block)) {
+			return;
+		}
+
+		// refresh stored world name, in case world has been renamed
+		if (!world.getName().equals(chestBlock.getWorldName())) {
+			chestBlock = new ChestBlock(chestBlock.getChestUid(), world.getName(), world.getUID(),
+					chestBlock.getX(), chestBlock.getY(), chestBlock.getZ(), 0, 0);
+		}
+
+		// get chest block type from in game block
+		final ChestBlockType chestBlockType = ChestBlockType.getType(block);
+
+		// get parent chest
+		final DeathChest deathChest = chestIndex.get(chestBlock.getChestUid());
+
+		// if parent chest is not in chest map because its record could not be read, leave block record untouched
+		if (deathChest == null && chestLoader != null && !chestLoader.isChestRecordsRead()) {
+			return;
+		}
+
+		// if chest block type is null or parent chest not in chest map, delete block record
+		if (chestBlockType == null || deathChest == null) {
+			deleteBlockRecord(chestBlock);
+		}
+		else {
+			// add chestBlock to block index and set its metadata
+			this.blockIndex.put(chestBlockType, chestBlock);
+			chestBlock.setMetadata(deathChest);
+		}
+	}
+
+
+	/**
+	 * Release the chest blocks in an unloaded chunk from the block index.
+	 * If datastore writes are pending, the chunk is released once they are committed,
+	 * because until then its records may not be found when the chunk is loaded again.
+	 *
+	 * @param worldUid the uid of the world
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 */
+	public void unloadChunk(final UUID worldUid, final int chunkX, final int chunkZ) {
+
+		// if chunk has no stored chest blocks, do nothing and return
+		if (!storedChunkIndex.contains(worldUid, chunkX, chunkZ)) {
+			return;
+		}
+
+		// if datastore writes are pending, defer release of chunk until they are committed
+		if (dataStore.hasPendingWrites()) {
+			deferredUnloads.computeIfAbsent(worldUid, k -> new HashSet<>()).add(StoredChunkIndex.chunkKey(chunkX, chunkZ));
+			if (deferredUnloadTask == null) {
+				deferredUnloadTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::releaseDeferredUnloads, 20L, 20L);
+			}
+			return;
+		}
+
+		blockIndex.removeChunk(worldUid, chunkX, chunkZ);
+	}
+
+
+	/**
+	 * Release the chest blocks of deferred chunk unloads once pending datastore writes are committed.
+	 * Chunks that have been loaded again since they were unloaded keep their blocks.
+	 */
+	private void releaseDeferredUnloads() {
+
+		// if datastore writes are still pending, try again on next run
+		if (dataStore.hasPendingWrites()) {
+			return;
+		}
+
+		for (Map.Entry<UUID, Set<Long>> entry : deferredUnloads.entrySet()) {
+
+			final World world = plugin.getServer().getWorld(entry.getKey());
+
+			for (long chunkKey : entry.getValue()) {
+
+				// decode chunk coordinates from chunk key
+				final int chunkX = (int) (chunkKey >> 32);
+				final int chunkZ = (int) chunkKey;
+
+				if (world == null || !world.isChunkLoaded(chunkX, chunkZ)) {
+					blockIndex.removeChunk(entry.getKey(), chunkX, chunkZ);
 				}
+			}
+		}
+
+		deferredUnloads.clear();
+		deferredUnloadTask.cancel();
+		deferredUnloadTask = null;
+	}
+
+
+	/**
+	 * Clear the cached world handles of chest blocks in an unloaded world, so that the world can be released.
+	 * Chest blocks look up their world again if it is loaded again.
+	 *
+	 * @param worldUid the uid of the world
+	 */
+	public void unloadWorld(final UUID worldUid) {
+		blockIndex.forEachInWorld(worldUid, ChestBlock::invalidateWorld);
+	}
+
+
+	/**
+	 * Add the chunk of a block record streamed from the datastore to the stored chunk index
+	 *
+	 * @param chestBlock the stored chest block
+	 */
+	void addStoredChunk(final ChestBlock chestBlock) {
+		storedChunkIndex.add(chestBlock);
+		storedBlockMap.putIfAbsent(chestBlock.getChestUid(), chestBlock);
+		storedBlockCounts.merge(chestBlock.getChestUid(), 1, Integer::sum);
+	}
+
+
+	/**
+	 * Mark the stored chunk index incomplete, because not all block records could be read from the datastore.
+	 * Every chunk is then queried for block records when it is loaded.
+	 */
+	void setStoredChunksIncomplete() {
+		storedChunkIndex.setIncomplete();
+	}
+
+
+	/**
+	 * Delete chests whose stored blocks are in a world that no longer exists, once they have been neither placed
+	 * nor due to expire for 30 days. Chests are removed from the chest index on the server thread,
+	 * and their records are deleted with one query for each world on an asynchronous task.
+	 * Called once all chest records are indexed.
+	 */
+	void deleteOrphanedChests() {
+
+		// pastDueTime = current time in milliseconds - 30 days
+		final long pastDueTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30);
+
+		final Set<UUID> orphanedWorldUids = new HashSet<>();
+
+		for (ChestBlock chestBlock : storedBlockMap.values()) {
+
+			// if world of stored block exists, skip to next
+			if (plugin.getServer().getWorld(chestBlock.getWorldUid()) != null) {
 				continue;
 			}
 
-			// get chest block type from in game block
-			ChestBlockType chestBlockType = ChestBlockType.getType(chestBlock.getLocation().getBlock());
+			orphanedWorldUids.add(chestBlock.getWorldUid());
 
-			// if chest block type is null or parent chest not in chest map, delete block record
-			if (chestBlockType == null || !chestIndex.containsKey(chestBlock.getChestUid())) {
-				dataStore.deleteBlockRecord(chestBlock);
+			// remove chest from index if its record will be deleted
+			final DeathChest deathChest = chestIndex.get(chestBlock.getChestUid());
+			if (deathChest != null && Math.max(deathChest.getPlacementTime(), deathChest.getExpirationTime()) < pastDueTime) {
+				removeChest(deathChest);
 			}
-			else {
-				// add chestBlock to block index
-				this.blockIndex.put(chestBlockType, chestBlock);
+		}
+
+		// if no stored blocks are in a nonexistent world, do nothing and return
+		if (orphanedWorldUids.isEmpty()) {
+			return;
+		}
+
+		final DataStore dataStore = this.dataStore;
+
+		plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+			for (UUID worldUid : orphanedWorldUids) {
+				dataStore.deleteOrphanedChestRecords(worldUid, pastDueTime);
 			}
+		});
+	}
+
+
+	/**
+	 * Make sure all blocks of a chest are in the block index, then run an action on the server thread.
+	 * Used before a chest is destroyed, so that no component block is left in the world. If every stored block
+	 * of the chest is already indexed, which is the normal case, the action is run immediately. Otherwise
+	 * the block records of the chest are queried on an asynchronous task, and the chunks of any blocks
+	 * that are not indexed are loaded on the server thread before the action is run.
+	 *
+	 * @param chestUid the uid of the chest
+	 * @param action the action to run once all blocks of the chest are indexed
+	 */
+	void loadBlocks(final UUID chestUid, final Runnable action) {
+
+		// if all stored blocks of chest are indexed, run action now
+		if (isFullyIndexed(chestUid)) {
+			action.run();
+			return;
+		}
+
+		// if block records of chest are already being queried, do nothing and return
+		if (!blockLoads.add(chestUid)) {
+			return;
 		}
 
-		// get current time
-		long currentTime = System.currentTimeMillis();
+		final DataStore dataStore = this.dataStore;
+
+		// query block records off the server thread, then load them and run action on the server thread
+		plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
+			final Collection<ChestBlock> blockRecords = dataStore.selectBlockRecordsForChest(chestUid);
+			if (plugin.isEnabled()) {
+				plugin.getServer().getScheduler().runTask(plugin, () -> {
+					blockLoads.remove(chestUid);
 
-		// expire chests with no blocks or past expiration
-		for (DeathChest deathChest : chestIndex.values()) {
+					// if chest was removed while its block records were queried, do nothing and return
+					if (chestIndex.get(chestUid) == null) {
+						return;
+					}
 
-			// if DeathChest has no children, remove from index and datastore
-			if (this.getBlocks(deathChest.getChestUid()).isEmpty()) {
-				chestIndex.remove(deathChest);
-				dataStore.deleteChestRecord(deathChest);
+					loadBlockRecords(blockRecords);
+					action.run();
+				});
 			}
-			// if DeathChest is past expiration (not infinite, denoted by zero or less expiration time), expire chest
-			else if (deathChest.getExpirationTime() > 0 && deathChest.getExpirationTime() < currentTime) {
-				deathChest.expire();
+		});
+	}
+
+
+	/**
+	 * Check if every stored block of a chest is in the block index
+	 *
+	 * @param chestUid the uid of the chest
+	 * @return {@code true} if all stored blocks of the chest are indexed, {@code false} if some may not be
+	 */
+	private boolean isFullyIndexed(final UUID chestUid) {
+
+		// if block records are still being read, stored block counts are not known yet
+		if (isLoading() && !chestLoader.isChunksIndexed()) {
+			return false;
+		}
+
+		final Integer storedBlockCount = storedBlockCounts.get(chestUid);
+
+		return storedBlockCount != null && blockIndex.getBlockMap(chestUid).size() >= storedBlockCount;
+	}
+
+
+	/**
+	 * Load the block records of a chest that are not in the block index, loading their chunks if necessary
+	 *
+	 * @param blockRecords the block records of the chest
+	 */
+	private void loadBlockRecords(final Collection<ChestBlock> blockRecords) {
+
+		for (ChestBlock chestBlock : blockRecords) {
+
+			final World world = plugin.getServer().getWorld(chestBlock.getWorldUid());
+
+			// if world is not loaded, skip to next
+			if (world == null) {
+				continue;
 			}
-			else {
-				// set chest metadata
-				deathChest.setMetadata();
-				if (plugin.getConfig().getBoolean("debug")) {
-					plugin.getLogger().info("[loadDeathChests] Setting metadata for chest " + deathChest.getChestUid());
-				}
+
+			final int chunkX = chestBlock.getX() >> 4;
+			final int chunkZ = chestBlock.getZ() >> 4;
+
+			// if chunk is not loaded, load it
+			if (!world.isChunkLoaded(chunkX, chunkZ)) {
+				world.getChunkAt(chunkX, chunkZ);
+			}
+
+			// if chest block is not in block index, load its block record
+			if (blockIndex.get(world.getUID(), chestBlock.getX(), chestBlock.getY(), chestBlock.getZ()) == null) {
+				loadBlockRecord(world, chestBlock);
 			}
 		}
 	}
 
 
 	/**
-	 * Put DeathChest object in map
+	 * Get the location of a chest from a stored block, for chests whose blocks are not in the block index.
+	 * A stored block of each chest is kept in memory, so no datastore query is made.
+	 *
+	 * @param chestUid the uid of the chest
+	 * @return the location of a block of the chest, or null if no location could be found
+	 */
+	Location getStoredLocation(final UUID chestUid) {
+
+		final ChestBlock chestBlock = storedBlockMap.get(chestUid);
+
+		return (chestBlock != null) ? chestBlock.getLocation() : null;
+	}
+
+
+	/**
+	 * Put DeathChest object in map, and schedule its expiration
 	 *
 	 * @param deathChest the DeathChest object to put in map
 	 */
 	public void putChest(final DeathChest deathChest) {
 		this.chestIndex.put(deathChest);
+
+		if (deathChest != null && deathChest.getChestUid() != null) {
+			this.expirationQueue.schedule(deathChest);
+		}
 	}
 
 
@@ -195,7 +707,7 @@ public final class ChestManager {
 		}
 
 		// get chest block from index by location
-		ChestBlock chestBlock = this.blockIndex.get(block.getLocation());
+		ChestBlock chestBlock = this.blockIndex.get(block);
 
 		// if returned chest block is null, return null
 		if (chestBlock == null) {
@@ -209,22 +721,22 @@ public final class ChestManager {
 
 	public DeathChest getChest(final Inventory inventory) {
 
-		// if inventory is not a death chest, do nothing and return
-		if (!plugin.chestManager.isDeathChestInventory(inventory)) {
-			return null;
+		// if inventory is open, get death chest from inventory sessions
+		final DeathChest openChest = inventorySessions.get(inventory);
+		if (openChest != null) {
+			return openChest;
 		}
 
-		// get inventory holder block (death chest)
-		Block block = null;
+		// get indexed chest block at inventory location
+		final ChestBlock chestBlock = getInventoryChestBlock(inventory);
 
-		// if inventory is a chest, get chest block
-		if (inventory.getHolder() instanceof Chest) {
-			Chest chest = (Chest) inventory.getHolder();
-			block = chest.getBlock();
+		// if inventory is not a death chest, do nothing and return
+		if (chestBlock == null) {
+			return null;
 		}
 
-		// return death chest for block (returns null if block is not valid chest block)
-		return getChest(block);
+		// return death chest referenced by uid in chest block
+		return getChest(chestBlock.getChestUid());
 	}
 
 
@@ -235,6 +747,13 @@ public final class ChestManager {
 	 */
 	void removeChest(final DeathChest deathChest) {
 		this.chestIndex.remove(deathChest);
+
+		if (deathChest != null && deathChest.getChestUid() != null) {
+			this.expirationQueue.cancel(deathChest.getChestUid());
+			this.inventorySessions.remove(deathChest.getChestUid());
+			this.storedBlockMap.remove(deathChest.getChestUid());
+			this.storedBlockCounts.remove(deathChest.getChestUid());
+		}
 	}
 
 
@@ -245,6 +764,13 @@ public final class ChestManager {
 	 */
 	public void putBlock(final ChestBlockType chestBlockType, final ChestBlock chestBlock) {
 		this.blockIndex.put(chestBlockType, chestBlock);
+
+		// record chunk so the block is reloaded with its chunk, and block so the chest can be located
+		if (chestBlock != null) {
+			this.storedChunkIndex.add(chestBlock);
+			this.storedBlockMap.putIfAbsent(chestBlock.getChestUid(), chestBlock);
+			this.storedBlockCounts.merge(chestBlock.getChestUid(), 1, Integer::sum);
+		}
 	}
 
 
@@ -271,6 +797,18 @@ public final class ChestManager {
 	}
 
 
+	/**
+	 * Get chestBlock from block index by chest uuid and block type
+	 *
+	 * @param chestUid the UUID of the chest
+	 * @param chestBlockType the type of the chest block
+	 * @return the ChestBlock, or null if no block of the type exists for chest UUID
+	 */
+	ChestBlock getBlock(final UUID chestUid, final ChestBlockType chestBlockType) {
+		return this.blockIndex.get(chestUid, chestBlockType);
+	}
+
+
 	/**
 	 * Get chestBlock map from block index by chest uuid
 	 *
@@ -282,6 +820,120 @@ public final class ChestManager {
 	}
 
 
+	/**
+	 * Get the loaded chest blocks in a chunk
+	 *
+	 * @param chunk the chunk
+	 * @return Collection of ChestBlock in the chunk, or empty collection if there are none
+	 */
+	public Collection<ChestBlock> getBlocksInChunk(final Chunk chunk) {
+		return this.blockIndex.getBlocksInChunk(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+	}
+
+
+	/**
+	 * Get the loaded chest blocks that lie within a bounding box
+	 *
+	 * @param world the world
+	 * @param boundingBox the bounding box, in world coordinates
+	 * @return Collection of ChestBlock whose blocks overlap the bounding box, or empty collection if there are none
+	 */
+	public Collection<ChestBlock> getBlocksInBox(final World world, final BoundingBox boundingBox) {
+		return this.blockIndex.getBlocksInBox(world.getUID(),
+				(int) Math.floor(boundingBox.getMinX()),
+				(int) Math.floor(boundingBox.getMinY()),
+				(int) Math.floor(boundingBox.getMinZ()),
+				(int) Math.ceil(boundingBox.getMaxX()) - 1,
+				(int) Math.ceil(boundingBox.getMaxY()) - 1,
+				(int) Math.ceil(boundingBox.getMaxZ()) - 1);
+	}
+
+
+	/**
+	 * Get the loaded chest blocks whose centers are within a radius of a location
+	 *
+	 * @param location the center location
+	 * @param radius the radius in blocks
+	 * @return Collection of ChestBlock within the radius, or empty collection if there are none
+	 */
+	public Collection<ChestBlock> getBlocksInRadius(final Location location, final double radius) {
+
+		// check for null location or world
+		if (location == null || location.getWorld() == null) {
+			return Collections.emptyList();
+		}
+
+		return this.blockIndex.getBlocksInRadius(location.getWorld().getUID(),
+				location.getX(), location.getY(), location.getZ(), radius);
+	}
+
+
+	/**
+	 * Remove the blocks of protected death chests from a list of exploded blocks. The bounds of the
+	 * explosion are intersected with the chunks of the block index first, so an explosion that does not
+	 * reach a death chest costs a single pass over its blocks. Otherwise, protected blocks are removed
+	 * from the list in a single pass.
+	 *
+	 * @param world the world of the explosion
+	 * @param blocks the list of exploded blocks, from the explosion event
+	 */
+	public void removeProtectedBlocks(final World world, final List<Block> blocks) {
+
+		// if no blocks exploded, do nothing and return
+		if (world == null || blocks.isEmpty()) {
+			return;
+		}
+
+		// while chests are loading, remove chest and sign blocks that may not be indexed yet
+		if (hasPendingLoads()) {
+			blocks.removeIf(block -> isLoadPending(block));
+		}
+
+		// if no chest blocks are indexed, do nothing and return
+		if (blockIndex.isEmpty()) {
+			return;
+		}
+
+		// get bounds of exploded blocks
+		int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+		int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+		for (Block block : blocks) {
+			minX = Math.min(minX, block.getX());
+			minY = Math.min(minY, block.getY());
+			minZ = Math.min(minZ, block.getZ());
+			maxX = Math.max(maxX, block.getX());
+			maxY = Math.max(maxY, block.getY());
+			maxZ = Math.max(maxZ, block.getZ());
+		}
+
+		// get chest blocks within bounds; only chunks within bounds are examined
+		final Collection<ChestBlock> chestBlocks = blockIndex.getBlocksInBox(world.getUID(), minX, minY, minZ, maxX, maxY, maxZ);
+
+		// if explosion does not reach any chest blocks, do nothing and return
+		if (chestBlocks.isEmpty()) {
+			return;
+		}
+
+		// collect chest blocks of chests whose protection has not expired, by packed block coordinates
+		final LongObjectHashMap<ChestBlock> protectedBlocks = new LongObjectHashMap<>(chestBlocks.size());
+		for (ChestBlock chestBlock : chestBlocks) {
+			final DeathChest deathChest = getChest(chestBlock.getChestUid());
+			if (deathChest != null && !deathChest.protectionExpired()) {
+				protectedBlocks.put(LocationUtilities.blockKey(chestBlock.getX(), chestBlock.getY(), chestBlock.getZ()), chestBlock);
+			}
+		}
+
+		// if no chest blocks are protected, do nothing and return
+		if (protectedBlocks.isEmpty()) {
+			return;
+		}
+
+		// remove protected death chest blocks from exploded blocks
+		blocks.removeIf(block -> protectedBlocks.containsKey(LocationUtilities.blockKey(block.getX(), block.getY(), block.getZ()))
+				&& deathChestMaterials.contains(block.getType()));
+	}
+
+
 	/**
 	 * Remove ChestBlock object from map
 	 *
@@ -306,13 +958,8 @@ public final class ChestManager {
 			return false;
 		}
 
-		// confirm block is death chest material
-		if (!deathChestMaterials.contains(block.getType())) {
-			return false;
-		}
-
-		// if passed block location is in chest block map return true, else return false
-		return this.blockIndex.containsKey(block.getLocation());
+		// if passed block location is in chest block map and block is death chest material return true, else return false
+		return this.blockIndex.containsKey(block) && deathChestMaterials.contains(block.getType());
 	}
 
 
@@ -329,8 +976,28 @@ public final class ChestManager {
 			return false;
 		}
 
-		// if passed block is chest and is in block map, return true; else return false
-		return (block.getType().equals(Material.CHEST) && blockIndex.containsKey(block.getLocation()));
+		// if passed block is in block map and is chest, return true; else return false
+		return (blockIndex.containsKey(block) && block.getType().equals(Material.CHEST));
+	}
+
+
+	/**
+	 * Test if the block at coordinates is a DeathChest chest block, without getting the block unless it is indexed
+	 *
+	 * @param world the world
+	 * @param x the block x coordinate
+	 * @param y the block y coordinate
+	 * @param z the block z coordinate
+	 * @return {@code true} if block is Material.CHEST and block location exists in block index, {@code false} if not
+	 */
+	public boolean isChestBlockChest(final World world, final int x, final int y, final int z) {
+
+		// if no chest block is indexed at coordinates, return false
+		if (blockIndex.get(world.getUID(), x, y, z) == null) {
+			return false;
+		}
+
+		return world.getBlockAt(x, y, z).getType().equals(Material.CHEST);
 	}
 
 
@@ -343,63 +1010,98 @@ public final class ChestManager {
 	 */
 	public boolean isChestBlockSign(final Block block) {
 
-		// if passed block is null return false
-		if (block == null) {
+		// if passed block is null or not in block index, return false before getting block state
+		if (block == null || !blockIndex.containsKey(block)) {
 			return false;
 		}
 
 		// get block state
 		BlockState blockState = block.getState();
 
-		// if block is sign or wall sign and exists in block index, return true
-		return ((blockState instanceof WallSign
-				|| blockState instanceof Sign)
-				&& blockIndex.containsKey(block.getLocation()));
+		// if block is sign or wall sign, return true
+		return (blockState instanceof WallSign
+				|| blockState instanceof Sign);
 	}
 
 
 	/**
 	 * Test if an inventory is a death chest inventory
 	 *
-	 * @param inventory The inventory whose holder will be tested to see if it is a DeathChest
-	 * @return {@code true} if the inventory's holder is a DeathChest, {@code false} if not
+	 * @param inventory The inventory whose location will be tested to see if it is a DeathChest
+	 * @return {@code true} if the inventory is the inventory of a DeathChest, {@code false} if not
 	 */
 	public boolean isDeathChestInventory(final Inventory inventory) {
+		return getInventoryChestBlock(inventory) != null;
+	}
 
-		// if passed inventory is null, return false
+
+	/**
+	 * Get the indexed chest block of a chest inventory. Inventories are matched to the block index
+	 * by the location of their container, so the inventory holder, which takes a block state snapshot,
+	 * is never needed. This is called for every hopper transfer, so inventories that cannot be
+	 * death chests are rejected by type before their location is taken.
+	 *
+	 * @param inventory the inventory
+	 * @return the indexed chest block of the inventory, or null if the inventory is not a death chest inventory
+	 */
+	private ChestBlock getInventoryChestBlock(final Inventory inventory) {
+
+		// if passed inventory is null, return null
 		if (inventory == null) {
-			return false;
+			return null;
 		}
 
-		// if inventory type is not a chest inventory, return false
+		// if inventory type is not a chest inventory, return null; hopper, furnace and other inventories end here
 		if (!inventory.getType().equals(InventoryType.CHEST)) {
-			return false;
+			return null;
 		}
 
-		// if inventory holder is null, return false
-		if (inventory.getHolder() == null) {
-			return false;
+		// if no chest blocks are indexed, return null before getting inventory location
+		if (blockIndex.isEmpty()) {
+			return null;
 		}
 
-		// try to get inventory holder block
-		Block block;
+		// a double chest inventory is located between its halves, so test the location of each half
+		if (inventory instanceof DoubleChestInventory) {
+			final DoubleChestInventory doubleChestInventory = (DoubleChestInventory) inventory;
+			final ChestBlock chestBlock = getIndexedBlock(doubleChestInventory.getRightSide().getLocation());
+			return (chestBlock != null) ? chestBlock : getIndexedBlock(doubleChestInventory.getLeftSide().getLocation());
+		}
 
-		if (inventory.getHolder() instanceof Chest) {
-			Chest chest;
-			chest = (Chest) inventory.getHolder();
-			block = chest.getBlock();
+		return getIndexedBlock(inventory.getLocation());
+	}
+
+
+	/**
+	 * Get the indexed chest block at a location. The in game block is only fetched when a chest block
+	 * is indexed at the location, and only its material is tested, so no block state snapshot is taken.
+	 *
+	 * @param location the location
+	 * @return the indexed chest block, or null if no chest block is indexed at the location
+	 * or the block at the location is no longer a chest
+	 */
+	private ChestBlock getIndexedBlock(final Location location) {
+
+		// if location or world is null, return null
+		if (location == null || location.getWorld() == null) {
+			return null;
 		}
-		else if (inventory.getHolder() instanceof DoubleChest) {
-			DoubleChest doubleChest;
-			doubleChest = (DoubleChest) inventory.getHolder();
-			block = doubleChest.getLocation().getBlock();
+
+		// get indexed chest block at location
+		final ChestBlock chestBlock = blockIndex.get(location.getWorld().getUID(),
+				location.getBlockX(), location.getBlockY(), location.getBlockZ());
+
+		// if no chest block is indexed at location, return null
+		if (chestBlock == null) {
+			return null;
 		}
-		else {
-			return false;
+
+		// if block at location is no longer a chest, return null
+		if (location.getBlock().getType() != Material.CHEST) {
+			return null;
 		}
 
-		// if inventory holder block is a DeathChest return true, else return false
-		return this.isChestBlockChest(block);
+		return chestBlock;
 	}
 
 
@@ -412,6 +1114,37 @@ public final class ChestManager {
 	}
 
 
+	/**
+	 * Get all chests, sorted by expiration time
+	 *
+	 * @return List of DeathChest, earliest expiration first
+	 */
+	public List<DeathChest> getAllChestsByExpiration() {
+		return this.chestIndex.valuesByExpiration();
+	}
+
+
+	/**
+	 * Get the chests of an owner, sorted by expiration time
+	 *
+	 * @param ownerUid the owner uid
+	 * @return List of the owner's DeathChests, earliest expiration first, or empty list if the owner has none
+	 */
+	public List<DeathChest> getChestsByOwner(final UUID ownerUid) {
+		return this.chestIndex.getByOwner(ownerUid);
+	}
+
+
+	/**
+	 * Get the uids of all chest owners
+	 *
+	 * @return Set of owner uids that have at least one chest
+	 */
+	public Set<UUID> getChestOwners() {
+		return this.chestIndex.getOwners();
+	}
+
+
 	public void insertChestRecords(final Collection<DeathChest> deathChests) {
 		dataStore.insertChestRecords(deathChests);
 	}
@@ -419,6 +1152,9 @@ public final class ChestManager {
 
 	public void deleteBlockRecord(final ChestBlock chestBlock) {
 		dataStore.deleteBlockRecord(chestBlock);
+
+		// count block as no longer stored
+		storedBlockCounts.computeIfPresent(chestBlock.getChestUid(), (chestUid, count) -> (count > 1) ? count - 1 : null);
 	}
 
 
@@ -428,11 +1164,33 @@ public final class ChestManager {
 
 
 	public void closeDataStore() {
+
+		// stop deployment task, and deploy chests still waiting so their items are not lost
+		if (deployTask != null) {
+			deployTask.cancel();
+		}
+		deploymentQueue.deployAll();
+
+		// stop loading before datastore is closed
+		if (isLoading()) {
+			chestLoader.cancelLoad();
+		}
+
+		// stop expiration task
+		if (expireTask != null) {
+			expireTask.cancel();
+		}
+
+		// stop deferred unload task; the block index is discarded with the plugin
+		if (deferredUnloadTask != null) {
+			deferredUnloadTask.cancel();
+			deferredUnloadTask = null;
+		}
+
 		dataStore.close();
 	}
 
 
-	@SuppressWarnings("unused")
 	public String getDataStoreType() {
 		return dataStore.getType().toString();
 	}
@@ -464,6 +1222,10 @@ public final class ChestManager {
 		return replaceableBlocks.contains(block.getType());
 	}
 
+	public MaterialTable getMaterialTable() {
+		return replaceableBlocks.getMaterialTable();
+	}
+
 	public ReplaceableBlocks getReplaceableBlocks() {
 		return replaceableBlocks;
 	}
@@ -472,4 +1234,12 @@ public final class ChestManager {
 		return this.dataStore.getChestCount();
 	}
 
+	public Map<String, String> getDataStoreStatistics() {
+		return this.dataStore.getStatistics();
+	}
+
+	public Map<String, String> getDeploymentStatistics() {
+		return this.deploymentQueue.getStatistics();
+	}
+
 }
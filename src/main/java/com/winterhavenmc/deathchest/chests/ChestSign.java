@@ -24,7 +24,10 @@ import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.type.Chest;
+import org.bukkit.block.data.type.Sign;
+import org.bukkit.block.data.type.WallSign;
 import org.bukkit.entity.Player;
 
 import java.text.SimpleDateFormat;
@@ -36,6 +39,10 @@ public class ChestSign {
 	private final Player player;
 	private final DeathChest deathChest;
 
+	// number of block data and block state writes made placing the sign
+	private int blockUpdateCount;
+	private int stateUpdateCount;
+
 
 	// new chestSign(plugin, player, deathChest).place();
 	public ChestSign(final PluginMain plugin, final Player player, final DeathChest deathChest) {
@@ -44,6 +51,10 @@ public class ChestSign {
 		this.deathChest = deathChest;
 	}
 
+	/**
+	 * Place a sign on the death chest, in front of the chest if possible, otherwise on top.
+	 * Each sign block is written without physics updates, unless it replaces a tall plant or a fluid.
+	 */
 	public void place() {
 
 		// if chest-signs are not enabled in configuration, do nothing and return
@@ -61,16 +72,16 @@ public class ChestSign {
 		// get chest block at location
 		Block chestBlock = chestBlockLocation.getBlock();
 
-		// get chest block state
-		BlockState chestState = chestBlock.getState();
+		// get chest block data
+		BlockData chestBlockData = chestBlock.getBlockData();
 
-		// if block state is not chest, do nothing and return
-		if (!(chestState.getBlockData() instanceof Chest)) {
+		// if block is not chest, do nothing and return
+		if (!(chestBlockData instanceof Chest)) {
 			return;
 		}
 
 		// get chest block face direction from block data
-		BlockFace blockFace = ((Chest) chestState.getBlockData()).getFacing();
+		BlockFace blockFace = ((Chest) chestBlockData).getFacing();
 
 		// if chest face is valid location, create wall sign
 		if (isValidSignLocation(chestBlock.getRelative(blockFace).getLocation())) {
@@ -83,19 +94,38 @@ public class ChestSign {
 	}
 
 
+	/**
+	 * Get the number of block data writes made placing the sign
+	 *
+	 * @return the number of sign blocks written
+	 */
+	public int getBlockUpdateCount() {
+		return blockUpdateCount;
+	}
+
+
+	/**
+	 * Get the number of block state writes made placing the sign
+	 *
+	 * @return the number of sign text updates written
+	 */
+	public int getStateUpdateCount() {
+		return stateUpdateCount;
+	}
+
+
 	private void placeFrontSign(final Block chestBlock, final Player player, final DeathChest deathChest) {
 
 		// get block adjacent to chest facing player direction
 		Block signBlock = chestBlock.getRelative(LocationUtilities.getCardinalBlockFace(player));
 
-		// set block type to wall sign
-		signBlock.setType(Material.OAK_WALL_SIGN);
+		// create wall sign block data facing player direction
+		WallSign signBlockData = (WallSign) Material.OAK_WALL_SIGN.createBlockData();
+		signBlockData.setFacing(LocationUtilities.getCardinalBlockFace(player));
 
-		BlockState blockState = signBlock.getState();
-		org.bukkit.block.data.type.WallSign signBlockDataType = (org.bukkit.block.data.type.WallSign) blockState.getBlockData();
-		signBlockDataType.setFacing(LocationUtilities.getCardinalBlockFace(player));
-		blockState.setBlockData(signBlockDataType);
-		blockState.update();
+		// set block data, without physics unless replacing a tall plant or fluid
+		LocationUtilities.setBlockData(signBlock, signBlockData);
+		blockUpdateCount++;
 
 		finalizeSign(signBlock, player, deathChest);
 	}
@@ -106,14 +136,13 @@ public class ChestSign {
 		// get block on top of chest
 		Block signBlock = chestBlock.getRelative(BlockFace.UP);
 
-		// set block type to sign post
-		signBlock.setType(Material.OAK_SIGN);
+		// create sign post block data rotated to player direction
+		Sign signBlockData = (Sign) Material.OAK_SIGN.createBlockData();
+		signBlockData.setRotation(LocationUtilities.getCardinalBlockFace(player));
 
-		BlockState blockState = signBlock.getState();
-		org.bukkit.block.data.type.Sign signBlockDataType = (org.bukkit.block.data.type.Sign) blockState.getBlockData();
-		signBlockDataType.setRotation(LocationUtilities.getCardinalBlockFace(player));
-		blockState.setBlockData(signBlockDataType);
-		blockState.update();
+		// set block data, without physics unless replacing a tall plant or fluid
+		LocationUtilities.setBlockData(signBlock, signBlockData);
+		blockUpdateCount++;
 
 		finalizeSign(signBlock, player, deathChest);
 	}
@@ -182,8 +211,9 @@ public class ChestSign {
 			lineCount++;
 		}
 
-		// update sign block with text and direction
-		sign.update();
+		// update sign block with text, without physics
+		sign.update(true, false);
+		stateUpdateCount++;
 	}
 
 
@@ -21,14 +21,13 @@ import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.messages.Macro;
 import com.winterhavenmc.deathchest.messages.MessageId;
 import com.winterhavenmc.deathchest.sounds.SoundId;
-import com.winterhavenmc.deathchest.tasks.ExpireChestTask;
 
 import org.bukkit.Location;
+import org.bukkit.entity.HumanEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitTask;
 
 import javax.annotation.concurrent.Immutable;
 import java.util.*;
@@ -65,9 +64,6 @@ public final class DeathChest {
 	// the protectionExpirationTime time of this death chest, in milliseconds since epoch
 	private final long protectionExpirationTime;
 
-	// task id of expire task for this death chest block
-	private final int expireTaskId;
-
 	/**
 	 * Class constructor used to create a DeathChest object from an existing record read from the datastore.
 	 *
@@ -94,7 +90,6 @@ public final class DeathChest {
 		this.placementTime = placementTime;
 		this.expirationTime = expirationTime;
 		this.protectionExpirationTime = protectionExpirationTime;
-		this.expireTaskId = createExpireTask();
 	}
 
 
@@ -141,9 +136,6 @@ public final class DeathChest {
 					+ TimeUnit.MINUTES.toMillis(plugin.getConfig().getLong("expire-time"));
 		}
 
-		// set expireTaskId from new expire task
-		this.expireTaskId = createExpireTask();
-
 		// set protectionExpirationTime timestamp
 		// if configured protection expiration is zero, set protection expiration to negative to signify no expiration
 		if (plugin.getConfig().getLong("chest-protection-time") <= 0) {
@@ -255,34 +247,40 @@ public final class DeathChest {
 	}
 
 
-	/**
-	 * Getter method for DeathChest expireTaskId
-	 *
-	 * @return the value of the expireTaskId field in the DeathChest object
-	 */
-	private int getExpireTaskId() {
-		return this.expireTaskId;
-	}
-
-
 	/**
 	 * Get chest location. Attempt to get chest location from right chest, left chest or sign in that order.
+	 * If no chest blocks are loaded, the location is taken from the stored block records.
 	 * Returns null if location could not be derived from chest blocks.
 	 *
 	 * @return Location - the chest location or null if no location found
 	 */
 	public Location getLocation() {
 
-		Map<ChestBlockType, ChestBlock> chestBlockMap = plugin.chestManager.getBlockMap(this.chestUId);
+		// get first indexed chest block, in order of right chest, left chest, sign
+		ChestBlock chestBlock = this.getFirstBlock(ChestBlockType.RIGHT_CHEST, ChestBlockType.LEFT_CHEST, ChestBlockType.SIGN);
 
-		if (chestBlockMap.containsKey(ChestBlockType.RIGHT_CHEST)) {
-			return chestBlockMap.get(ChestBlockType.RIGHT_CHEST).getLocation();
+		if (chestBlock != null) {
+			return chestBlock.getLocation();
 		}
-		else if (chestBlockMap.containsKey(ChestBlockType.LEFT_CHEST)) {
-			return chestBlockMap.get(ChestBlockType.LEFT_CHEST).getLocation();
-		}
-		else if (chestBlockMap.containsKey(ChestBlockType.SIGN)) {
-			return chestBlockMap.get(ChestBlockType.SIGN).getLocation();
+
+		return plugin.chestManager.getStoredLocation(this.chestUId);
+	}
+
+
+	/**
+	 * Get the first chest block of this chest in the block index, trying types in the order given.
+	 * Blocks are looked up individually, so the chest's block map is not copied.
+	 *
+	 * @param chestBlockTypes the chest block types to try, in order
+	 * @return the first chest block found, or null if none of the types are in the block index
+	 */
+	private ChestBlock getFirstBlock(final ChestBlockType... chestBlockTypes) {
+
+		for (ChestBlockType chestBlockType : chestBlockTypes) {
+			ChestBlock chestBlock = plugin.chestManager.getBlock(this.chestUId, chestBlockType);
+			if (chestBlock != null) {
+				return chestBlock;
+			}
 		}
 
 		return null;
@@ -344,16 +342,16 @@ public final class DeathChest {
 			return;
 		}
 
-		// create collection to hold items that did not fit in player inventory
-		Collection<ItemStack> remainingItems = new LinkedList<>();
-
-		// transfer contents of any chest blocks to player, putting any items that did not fit in remainingItems
+		// transfer contents of any chest blocks to player; items that do not fit remain in chest
+		boolean allTransferred = true;
 		for (ChestBlock chestBlock : plugin.chestManager.getBlocks(this.chestUId)) {
-			remainingItems.addAll(chestBlock.transferContents(player));
+			if (!chestBlock.transferContents(player)) {
+				allTransferred = false;
+			}
 		}
 
-		// if remainingItems is empty, all chest items fit in player inventory so destroy chest and return
-		if (remainingItems.isEmpty()) {
+		// if all chest items fit in player inventory, destroy chest and return
+		if (allTransferred) {
 			this.destroy();
 			return;
 		}
@@ -362,67 +360,103 @@ public final class DeathChest {
 		plugin.messageBuilder.build(player, MessageId.INVENTORY_FULL)
 				.setMacro(Macro.LOCATION, player.getLocation())
 				.send();
-
-		// try to put remaining items back in chest
-		remainingItems = this.fill(remainingItems);
-
-		// if remainingItems is still not empty, items could not be placed back in chest, so drop items at player location
-		// this should never actually occur, but let's play it safe just in case
-		if (!remainingItems.isEmpty()) {
-			for (ItemStack itemStack : remainingItems) {
-				player.getWorld().dropItem(player.getLocation(), itemStack);
-			}
-		}
 	}
 
 
 	/**
 	 * Expire this death chest, destroying in game chest and dropping contents,
-	 * and sending message to chest owner if online.
+	 * and sending message to chest owner if online. If some chest blocks are not in the block index,
+	 * the chest is expired on a later tick, once their records have been queried.
 	 */
 	public void expire() {
 
-		// get player from ownerUUID
-		final Player player = plugin.getServer().getPlayer(this.ownerUid);
+		// make sure all chest blocks are loaded, so none are left in the world, then expire chest
+		plugin.chestManager.loadBlocks(this.chestUId, () -> {
 
-		// destroy DeathChest
-		this.destroy();
+			// get player from ownerUUID
+			final Player player = plugin.getServer().getPlayer(this.ownerUid);
 
-		// if player is not null, send player message
-		if (player != null) {
-			plugin.messageBuilder.build(player, MessageId.CHEST_EXPIRED)
-					.setMacro(Macro.LOCATION, this.getLocation())
-					.send();
-		}
+			// get chest location before chest blocks are destroyed
+			final Location location = this.getLocation();
+
+			// destroy DeathChest
+			this.destroy(location);
+
+			// if player is not null, send player message
+			if (player != null) {
+				plugin.messageBuilder.build(player, MessageId.CHEST_EXPIRED)
+						.setMacro(Macro.LOCATION, location)
+						.send();
+			}
+		});
 	}
 
+	/**
+	 * Drop the contents of this death chest on the ground at the chest location, and clear the chest inventory
+	 */
 	public void dropContents() {
+		this.dropContents(this.getLocation());
+	}
+
+
+	/**
+	 * Drop the contents of this death chest on the ground at a location, and clear the chest inventory
+	 *
+	 * @param location the chest location, at which contents are dropped
+	 */
+	private void dropContents(final Location location) {
+
+		// if location or world is null, do nothing and return
+		if (location == null || location.getWorld() == null) {
+			return;
+		}
+
+		// get chest inventory
+		final Inventory inventory = this.getInventory();
 
-		if (this.getLocation() !=null && this.getLocation().getWorld() != null) {
+		// if inventory is null, do nothing and return
+		if (inventory == null) {
+			return;
+		}
 
-			ItemStack[] contents = this.getInventory().getStorageContents();
+		ItemStack[] contents = inventory.getStorageContents();
 
-			this.getInventory().clear();
+		inventory.clear();
 
-			for (ItemStack stack : contents) {
-				if (stack !=null) {
-					this.getLocation().getWorld().dropItemNaturally(this.getLocation(), stack);
-				}
+		for (ItemStack stack : contents) {
+			if (stack != null) {
+				location.getWorld().dropItemNaturally(location, stack);
 			}
 		}
 	}
 
+
 	/**
-	 * Destroy this death chest, dropping chest contents
+	 * Destroy this death chest, dropping chest contents. If some chest blocks are not in the block index,
+	 * the chest is destroyed on a later tick, once their records have been queried.
 	 */
 	public void destroy() {
 
-		dropContents();
+		// make sure all chest blocks are loaded, so none are left in the world, then destroy chest
+		plugin.chestManager.loadBlocks(this.chestUId, () -> this.destroy(this.getLocation()));
+	}
+
+
+	/**
+	 * Destroy this death chest, dropping chest contents at a location. All chest blocks must be loaded.
+	 *
+	 * @param location the chest location, at which contents are dropped and the break sound is played
+	 */
+	private void destroy(final Location location) {
+
+		dropContents(location);
 
 		// play chest break sound at chest location
-		plugin.soundConfig.playSound(this.getLocation(), SoundId.CHEST_BREAK);
+		if (location != null) {
+			plugin.soundConfig.playSound(location, SoundId.CHEST_BREAK);
+		}
 
-		// get block map for this chest
+		// get block map for this chest; a copy, since destroying blocks removes them from the block index
 		Map<ChestBlockType, ChestBlock> chestBlockMap = plugin.chestManager.getBlockMap(this.chestUId);
 
 		// destroy DeathChest blocks (sign gets destroyed first due to enum order, preventing detach before being destroyed)
@@ -433,12 +467,7 @@ public final class DeathChest {
 		// delete DeathChest record from datastore
 		plugin.chestManager.deleteChestRecord(this);
 
-		// cancel expire block task
-		if (this.getExpireTaskId() > 0) {
-			plugin.getServer().getScheduler().cancelTask(this.getExpireTaskId());
-		}
-
-		// remove DeathChest from ChestManager DeathChest map
+		// remove DeathChest from ChestManager DeathChest map; this also cancels its scheduled expiration
 		plugin.chestManager.removeChest(this);
 	}
 
@@ -451,15 +480,19 @@ public final class DeathChest {
 	 */
 	public Inventory getInventory() {
 
-		// get chest block map
-		Map<ChestBlockType, ChestBlock> chestBlocks = plugin.chestManager.getBlockMap(this.chestUId);
-
 		// get right chest inventory
-		Inventory inventory = chestBlocks.get(ChestBlockType.RIGHT_CHEST).getInventory();
+		Inventory inventory = null;
+		ChestBlock rightChest = plugin.chestManager.getBlock(this.chestUId, ChestBlockType.RIGHT_CHEST);
+		if (rightChest != null) {
+			inventory = rightChest.getInventory();
+		}
 
 		// if right chest inventory is null, try left chest
 		if (inventory == null) {
-			inventory = chestBlocks.get(ChestBlockType.LEFT_CHEST).getInventory();
+			ChestBlock leftChest = plugin.chestManager.getBlock(this.chestUId, ChestBlockType.LEFT_CHEST);
+			if (leftChest != null) {
+				inventory = leftChest.getInventory();
+			}
 		}
 
 		// return the inventory, or null if right and left chest inventories were both invalid
@@ -473,57 +506,20 @@ public final class DeathChest {
 	 * @return The number of inventory viewers
 	 */
 	public int getViewerCount() {
-
-		// get chest inventory
-		Inventory inventory = this.getInventory();
-
-		// if inventory is not null, return viewer count
-		if (inventory != null) {
-			return inventory.getViewers().size();
-		}
-		else {
-			// inventory is null, so return 0 for viewer count
-			return 0;
-		}
+		return plugin.chestManager.getInventorySessions().getViewerCount(this.chestUId);
 	}
 
 
 	/**
-	 * Create expire chest task
+	 * Get the name of the player who has been viewing a DeathChest inventory the longest
+	 *
+	 * @return The name of the first inventory viewer, or null if there are no viewers
 	 */
-	private int createExpireTask() {
-
-		// if DeathChestBlock expirationTime is zero or less, it is set to never expire
-		if (this.getExpirationTime() < 1) {
-			return -1;
-		}
+	public String getViewerName() {
 
-		// get current time
-		long currentTime = System.currentTimeMillis();
+		final List<HumanEntity> viewers = plugin.chestManager.getInventorySessions().getViewers(this.chestUId);
 
-		// compute ticks remaining until expire time (millisecond interval divided by 50 yields ticks)
-		long ticksRemaining = (this.expirationTime - currentTime) / 50;
-		if (ticksRemaining < 1) {
-			ticksRemaining = 1L;
-		}
-
-		// create task to expire death chest after ticksRemaining
-		BukkitTask chestExpireTask = new ExpireChestTask(this).runTaskLater(plugin, ticksRemaining);
-
-		// return taskId
-		return chestExpireTask.getTaskId();
-	}
-
-
-	/**
-	 * Cancel expire task for this death chest
-	 */
-	public void cancelExpireTask() {
-
-		// if task id is positive integer, cancel task
-		if (this.expireTaskId > 0) {
-			plugin.getServer().getScheduler().cancelTask(this.expireTaskId);
-		}
+		return viewers.isEmpty() ? null : viewers.get(0).getName();
 	}
 
 
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import java.util.*;
+
+
+/**
+ * A min-heap of death chests ordered by expiration time, polled by a single repeating task.
+ * Cancellation is O(1): the entry is marked cancelled and discarded when it reaches the top of the heap.
+ * The heap is rebuilt without cancelled entries when they outnumber live entries.
+ * All methods must be called on the server thread.
+ */
+final class ExpirationQueue {
+
+	/**
+	 * A heap entry for a single scheduled chest
+	 */
+	private static final class Entry {
+
+		private final long expirationTime;
+		private final DeathChest deathChest;
+		private boolean cancelled;
+
+		private Entry(final DeathChest deathChest) {
+			this.expirationTime = deathChest.getExpirationTime();
+			this.deathChest = deathChest;
+		}
+	}
+
+
+	// heap of entries ordered by expiration time
+	private PriorityQueue<Entry> heap = new PriorityQueue<>(Comparator.comparingLong(entry -> entry.expirationTime));
+
+	// live entries, keyed by chest uid
+	private final Map<UUID, Entry> entries = new HashMap<>();
+
+	// number of cancelled entries still in heap
+	private int cancelledCount;
+
+
+	/**
+	 * Schedule a chest for expiration. Chests that never expire are not scheduled.
+	 * Scheduling a chest that is already scheduled replaces its entry.
+	 *
+	 * @param deathChest the chest to schedule
+	 */
+	void schedule(final DeathChest deathChest) {
+
+		// if DeathChest expirationTime is zero or less, it is set to never expire
+		if (deathChest.getExpirationTime() < 1) {
+			return;
+		}
+
+		// cancel any existing entry for this chest
+		cancel(deathChest.getChestUid());
+
+		final Entry entry = new Entry(deathChest);
+		entries.put(deathChest.getChestUid(), entry);
+		heap.add(entry);
+	}
+
+
+	/**
+	 * Cancel the scheduled expiration of a chest
+	 *
+	 * @param chestUid the uid of the chest
+	 */
+	void cancel(final UUID chestUid) {
+
+		final Entry entry = entries.remove(chestUid);
+
+		if (entry != null) {
+			entry.cancelled = true;
+			cancelledCount++;
+
+			// rebuild heap when cancelled entries outnumber live entries
+			if (cancelledCount > entries.size() && cancelledCount > 64) {
+				compact();
+			}
+		}
+	}
+
+
+	/**
+	 * Remove and return the chests whose expiration time has passed, earliest first
+	 *
+	 * @param currentTime the current time in milliseconds since epoch
+	 * @param limit the maximum number of chests to return
+	 * @return List of DeathChest - the due chests, which are no longer scheduled
+	 */
+	List<DeathChest> pollDue(final long currentTime, final int limit) {
+
+		List<DeathChest> dueChests = Collections.emptyList();
+
+		while (dueChests.size() < limit && !heap.isEmpty()) {
+
+			final Entry entry = heap.peek();
+
+			// discard cancelled entries
+			if (entry.cancelled) {
+				heap.poll();
+				cancelledCount--;
+				continue;
+			}
+
+			// heap is ordered, so no later entry is due
+			if (entry.expirationTime > currentTime) {
+				break;
+			}
+
+			heap.poll();
+			entries.remove(entry.deathChest.getChestUid());
+
+			if (dueChests.isEmpty()) {
+				dueChests = new ArrayList<>();
+			}
+			dueChests.add(entry.deathChest);
+		}
+
+		return dueChests;
+	}
+
+
+	/**
+	 * Get the number of chests scheduled for expiration
+	 *
+	 * @return the number of live entries
+	 */
+	int size() {
+		return entries.size();
+	}
+
+
+	/**
+	 * Get the number of entries in the heap, including cancelled entries not yet discarded
+	 *
+	 * @return the number of heap entries
+	 */
+	int getHeapSize() {
+		return heap.size();
+	}
+
+
+	/**
+	 * Rebuild heap from live entries
+	 */
+	private void compact() {
+		final PriorityQueue<Entry> newHeap = new PriorityQueue<>(Math.max(1, entries.size()), heap.comparator());
+		newHeap.addAll(entries.values());
+		heap = newHeap;
+		cancelledCount = 0;
+	}
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import org.bukkit.entity.HumanEntity;
+import org.bukkit.inventory.Inventory;
+
+import java.util.*;
+
+
+/**
+ * A registry of open death chest inventories. Inventories are registered when a player opens them
+ * and released when the last viewer closes them, so that inventory events can find their death chest
+ * with a single identity map lookup, without getting the inventory holder. The viewers of each
+ * death chest are tracked across all of its open inventories, since a double chest inventory
+ * may be a different instance for each viewer. This class is used only on the server thread.
+ */
+public final class InventorySessions {
+
+	// open death chest inventories and their viewers, by inventory identity
+	private final Map<Inventory, Session> sessionMap = new IdentityHashMap<>();
+
+	// viewers of each death chest, in order of opening, keyed by chest uid
+	private final Map<UUID, List<HumanEntity>> viewerMap = new HashMap<>();
+
+
+	/**
+	 * An open death chest inventory
+	 */
+	private static final class Session {
+
+		final DeathChest deathChest;
+		final List<HumanEntity> viewers = new ArrayList<>(1);
+
+		Session(final DeathChest deathChest) {
+			this.deathChest = deathChest;
+		}
+	}
+
+
+	/**
+	 * Package-private constructor
+	 */
+	InventorySessions() { }
+
+
+	/**
+	 * Register a death chest inventory opened by a player
+	 *
+	 * @param inventory the opened inventory
+	 * @param deathChest the death chest of the inventory
+	 * @param viewer the player who opened the inventory
+	 */
+	public void open(final Inventory inventory, final DeathChest deathChest, final HumanEntity viewer) {
+
+		// check for null parameters
+		if (inventory == null || deathChest == null || deathChest.getChestUid() == null || viewer == null) {
+			return;
+		}
+
+		final Session session = sessionMap.computeIfAbsent(inventory, k -> new Session(deathChest));
+
+		// if inventory is registered to a different chest, do nothing and return
+		if (!session.deathChest.getChestUid().equals(deathChest.getChestUid())) {
+			return;
+		}
+
+		if (!session.viewers.contains(viewer)) {
+			session.viewers.add(viewer);
+			viewerMap.computeIfAbsent(deathChest.getChestUid(), k -> new ArrayList<>(1)).add(viewer);
+		}
+	}
+
+
+	/**
+	 * Release a death chest inventory closed by a player. The inventory is unregistered when it has no viewers.
+	 *
+	 * @param inventory the closed inventory
+	 * @param viewer the player who closed the inventory
+	 * @return the death chest of the inventory, or null if the inventory is not a registered death chest inventory
+	 */
+	public DeathChest close(final Inventory inventory, final HumanEntity viewer) {
+
+		final Session session = sessionMap.get(inventory);
+
+		// if inventory is not registered, return null
+		if (session == null) {
+			return null;
+		}
+
+		session.viewers.remove(viewer);
+		removeViewer(session.deathChest.getChestUid(), viewer);
+
+		// if inventory has no viewers, unregister inventory
+		if (session.viewers.isEmpty()) {
+			sessionMap.remove(inventory);
+		}
+
+		return session.deathChest;
+	}
+
+
+	/**
+	 * Get the death chest of an open inventory
+	 *
+	 * @param inventory the inventory
+	 * @return the death chest of the inventory, or null if the inventory is not a registered death chest inventory
+	 */
+	public DeathChest get(final Inventory inventory) {
+
+		// check for null key
+		if (inventory == null) {
+			return null;
+		}
+
+		final Session session = sessionMap.get(inventory);
+
+		return (session != null) ? session.deathChest : null;
+	}
+
+
+	/**
+	 * Check if an inventory is a registered death chest inventory
+	 *
+	 * @param inventory the inventory
+	 * @return {@code true} if the inventory is an open death chest inventory, {@code false} if not
+	 */
+	public boolean contains(final Inventory inventory) {
+		return inventory != null && sessionMap.containsKey(inventory);
+	}
+
+
+	/**
+	 * Get the number of players viewing a death chest
+	 *
+	 * @param chestUid the uid of the death chest
+	 * @return the number of players viewing any inventory of the death chest
+	 */
+	int getViewerCount(final UUID chestUid) {
+
+		final List<HumanEntity> viewers = viewerMap.get(chestUid);
+
+		return (viewers != null) ? viewers.size() : 0;
+	}
+
+
+	/**
+	 * Get the players viewing a death chest
+	 *
+	 * @param chestUid the uid of the death chest
+	 * @return List of players viewing the death chest, in order of opening, or empty list if there are none
+	 */
+	List<HumanEntity> getViewers(final UUID chestUid) {
+
+		final List<HumanEntity> viewers = viewerMap.get(chestUid);
+
+		return (viewers != null) ? Collections.unmodifiableList(viewers) : Collections.emptyList();
+	}
+
+
+	/**
+	 * Unregister all inventories of a death chest, when the chest is removed
+	 *
+	 * @param chestUid the uid of the death chest
+	 */
+	void remove(final UUID chestUid) {
+
+		// if chest has no viewers, it has no registered inventories
+		if (chestUid == null || viewerMap.remove(chestUid) == null) {
+			return;
+		}
+
+		sessionMap.values().removeIf(session -> chestUid.equals(session.deathChest.getChestUid()));
+	}
+
+
+	private void removeViewer(final UUID chestUid, final HumanEntity viewer) {
+
+		final List<HumanEntity> viewers = viewerMap.get(chestUid);
+
+		if (viewers != null) {
+			viewers.remove(viewer);
+			if (viewers.isEmpty()) {
+				viewerMap.remove(chestUid);
+			}
+		}
+	}
+
+}
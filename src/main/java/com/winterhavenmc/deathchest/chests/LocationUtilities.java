@@ -18,26 +18,20 @@
 package com.winterhavenmc.deathchest.chests;
 
 import org.bukkit.Location;
+import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.block.data.Bisected;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.block.data.Waterlogged;
 import org.bukkit.entity.Player;
 
-import java.util.Collection;
-import java.util.Set;
-
 
 /**
  * A utility class that implements static methods for various location manipulations
  */
 public final class LocationUtilities {
 
-	// set of path block material names as strings
-	private static final Collection<String> PATH_MATERIAL_NAMES = Set.of(
-			"GRASS_PATH",
-			"LEGACY_GRASS_PATH",
-			"DIRT_PATH"	);
-
-
 	/**
 	 * Private constructor to prevent instantiation this class
 	 */
@@ -53,7 +47,7 @@ public final class LocationUtilities {
 	 * @param yaw Direction in degrees
 	 * @return BlockFace of cardinal direction
 	 */
-	private static BlockFace getCardinalBlockFace(final float yaw) {
+	public static BlockFace getCardinalBlockFace(final float yaw) {
 
 		// ensure yaw is between 0 and 360 (in case of negative yaw)
 		double rotation = (yaw + 360) % 360;
@@ -137,13 +131,70 @@ public final class LocationUtilities {
 	}
 
 
-	public static boolean isAbovePath(final Block block) {
+	/**
+	 * Pack block coordinates into a long key: x and z in 26 bits each, which covers the world border,
+	 * and y in 12 bits
+	 *
+	 * @param x the block x coordinate
+	 * @param y the block y coordinate
+	 * @param z the block z coordinate
+	 * @return the packed key
+	 */
+	public static long blockKey(final int x, final int y, final int z) {
+		return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+	}
+
+
+	/**
+	 * Write block data to a block. The block is written without physics, unless the block being replaced is
+	 * half of a two block tall plant or holds a fluid; then physics is applied, so that the other half of the
+	 * plant is removed and neighboring fluids flow into or out of the new block.
+	 *
+	 * @param block the block to write
+	 * @param blockData the new block data
+	 */
+	public static void setBlockData(final Block block, final BlockData blockData) {
+		block.setBlockData(blockData, requiresPhysics(block));
+	}
+
 
-		// get string for block material type at location below block
-		String materialType = block.getRelative(0, -1, 0).getType().toString();
+	/**
+	 * Check if replacing a block requires physics updates
+	 *
+	 * @param block the block to be replaced
+	 * @return {@code true} if the block is half of a bisected plant or holds a fluid, {@code false} if not
+	 */
+	static boolean requiresPhysics(final Block block) {
+
+		// if block is liquid, physics is required
+		if (block.isLiquid()) {
+			return true;
+		}
+
+		final BlockData blockData = block.getBlockData();
+
+		// if block is waterlogged, physics is required
+		if (blockData instanceof Waterlogged && ((Waterlogged) blockData).isWaterlogged()) {
+			return true;
+		}
+
+		// if block is half of a plant whose other half is the same material, physics is required
+		if (blockData instanceof Bisected && !block.getType().isSolid()) {
+			final BlockFace otherHalf = (((Bisected) blockData).getHalf() == Bisected.Half.TOP) ? BlockFace.DOWN : BlockFace.UP;
+			return block.getRelative(otherHalf).getType() == block.getType();
+		}
+
+		// if block is a water plant, physics is required
+		final Material material = block.getType();
+		return material == Material.SEAGRASS || material == Material.KELP || material == Material.KELP_PLANT
+				|| material == Material.BUBBLE_COLUMN;
+	}
+
+
+	public static boolean isAbovePath(final Block block) {
 
 		// if block at location is above grass path, return negative result
-		return PATH_MATERIAL_NAMES.contains(materialType);
+		return MaterialTable.isPath(block.getRelative(0, -1, 0).getType());
 	}
 
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import org.bukkit.inventory.ItemStack;
+
+
+/**
+ * A utility class that plans the transfer of items between inventory contents arrays, so that the result
+ * can be written to each inventory with a single contents update. Items are placed as Inventory.addItem places
+ * them: into partial stacks of similar items first, in slot order, then into empty slots. Items that do not fit
+ * remain in their source slots. Item stacks in the arrays are replaced, never modified, since inventories may
+ * return stacks that mirror their contents.
+ */
+final class LootTransfer {
+
+	/**
+	 * Private constructor to prevent instantiation this class
+	 */
+	private LootTransfer() {
+		throw new AssertionError();
+	}
+
+
+	/**
+	 * Move items from source slots into target slots
+	 *
+	 * @param source the source contents; slots are set to the items that did not fit, or null
+	 * @param target the target contents; slots are set to the combined items
+	 * @param maxStackSize the maximum stack size of the target inventory
+	 * @return the number of items moved
+	 */
+	static int transfer(final ItemStack[] source, final ItemStack[] target, final int maxStackSize) {
+
+		int movedCount = 0;
+
+		for (int sourceSlot = 0; sourceSlot < source.length; sourceSlot++) {
+
+			final ItemStack itemStack = source[sourceSlot];
+
+			if (isEmptySlot(itemStack)) {
+				continue;
+			}
+
+			final int stackLimit = Math.min(itemStack.getMaxStackSize(), maxStackSize);
+			int amount = itemStack.getAmount();
+
+			// fill partial stacks of similar items
+			for (int targetSlot = 0; targetSlot < target.length && amount > 0; targetSlot++) {
+				final ItemStack targetStack = target[targetSlot];
+				if (!isEmptySlot(targetStack) && targetStack.getAmount() < stackLimit && targetStack.isSimilar(itemStack)) {
+					final int transferAmount = Math.min(amount, stackLimit - targetStack.getAmount());
+					target[targetSlot] = withAmount(targetStack, targetStack.getAmount() + transferAmount);
+					amount -= transferAmount;
+				}
+			}
+
+			// fill empty slots
+			for (int targetSlot = 0; targetSlot < target.length && amount > 0; targetSlot++) {
+				if (isEmptySlot(target[targetSlot])) {
+					final int transferAmount = Math.min(amount, stackLimit);
+					target[targetSlot] = withAmount(itemStack, transferAmount);
+					amount -= transferAmount;
+				}
+			}
+
+			movedCount += itemStack.getAmount() - amount;
+
+			// leave items that did not fit in source slot
+			if (amount != itemStack.getAmount()) {
+				source[sourceSlot] = (amount > 0) ? withAmount(itemStack, amount) : null;
+			}
+		}
+
+		return movedCount;
+	}
+
+
+	/**
+	 * Check if contents contain no items
+	 *
+	 * @param contents the contents to check
+	 * @return {@code true} if all slots are empty, {@code false} if not
+	 */
+	static boolean isEmpty(final ItemStack[] contents) {
+		for (ItemStack itemStack : contents) {
+			if (!isEmptySlot(itemStack)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+
+	private static boolean isEmptySlot(final ItemStack itemStack) {
+		return itemStack == null || itemStack.getType().isAir() || itemStack.getAmount() <= 0;
+	}
+
+
+	private static ItemStack withAmount(final ItemStack itemStack, final int amount) {
+		final ItemStack result = itemStack.clone();
+		result.setAmount(amount);
+		return result;
+	}
+
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import org.bukkit.Material;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * An immutable classification of materials, compiled into bitsets indexed by material ordinal.
+ * Lookups take no lock and do not allocate, so a table may be read from any thread.
+ * A new table is compiled when the configuration is reloaded, and published by replacing the reference to it.
+ */
+public final class MaterialTable {
+
+	// number of material ordinals
+	private final static int MATERIAL_COUNT = Material.values().length;
+
+	// path block material names; some are not present in all server versions
+	private final static Set<String> PATH_MATERIAL_NAMES = Set.of(
+			"GRASS_PATH",
+			"LEGACY_GRASS_PATH",
+			"DIRT_PATH"	);
+
+	// path materials do not depend on configuration, so are compiled once
+	private final static long[] PATH_MATERIALS = compilePathMaterials();
+
+	// material types that can be replaced by death chests, as a bitset and in configured order
+	private final long[] replaceableMaterials;
+	private final List<Material> replaceableMaterialList;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param materials the material types that can be replaced by death chests
+	 */
+	private MaterialTable(final Collection<Material> materials) {
+
+		this.replaceableMaterials = new long[wordCount()];
+		this.replaceableMaterialList = List.copyOf(materials);
+
+		for (Material material : materials) {
+			set(replaceableMaterials, material.ordinal());
+		}
+	}
+
+
+	/**
+	 * Compile a material table from a list of material names. Names that do not match a material are ignored.
+	 *
+	 * @param materialNames the names of material types that can be replaced by death chests
+	 * @return a new material table
+	 */
+	static MaterialTable compile(final Collection<String> materialNames) {
+
+		Set<Material> materials = new LinkedHashSet<>();
+
+		for (String materialName : materialNames) {
+
+			// if material string matches a valid material type, add to replaceable materials
+			Material material = Material.matchMaterial(materialName);
+			if (material != null) {
+				materials.add(material);
+			}
+		}
+
+		return new MaterialTable(materials);
+	}
+
+
+	/**
+	 * Check if a material can be replaced by a death chest or chest sign
+	 *
+	 * @param material the material to check
+	 * @return {@code true} if the material is replaceable, {@code false} if not
+	 */
+	public boolean isReplaceable(final Material material) {
+		return material != null && isSet(replaceableMaterials, material.ordinal());
+	}
+
+
+	/**
+	 * Check if a material is a path material, above which chests and signs are not placed
+	 *
+	 * @param material the material to check
+	 * @return {@code true} if the material is a grass or dirt path, {@code false} if not
+	 */
+	public static boolean isPath(final Material material) {
+		return material != null && isSet(PATH_MATERIALS, material.ordinal());
+	}
+
+
+	/**
+	 * Get string representation of replaceable materials, in configured order
+	 *
+	 * @return Formatted string list of replaceable materials
+	 */
+	@Override
+	public String toString() {
+		return replaceableMaterialList.toString();
+	}
+
+
+	private static long[] compilePathMaterials() {
+
+		final long[] bits = new long[wordCount()];
+
+		for (Material material : Material.values()) {
+			if (PATH_MATERIAL_NAMES.contains(material.name())) {
+				set(bits, material.ordinal());
+			}
+		}
+
+		return bits;
+	}
+
+
+	private static int wordCount() {
+		return (MATERIAL_COUNT + 63) >>> 6;
+	}
+
+
+	private static void set(final long[] bits, final int ordinal) {
+		bits[ordinal >>> 6] |= 1L << ordinal;
+	}
+
+
+	private static boolean isSet(final long[] bits, final int ordinal) {
+		return (bits[ordinal >>> 6] & (1L << ordinal)) != 0;
+	}
+
+}
@@ -20,14 +20,11 @@ package com.winterhavenmc.deathchest.chests;
 import com.winterhavenmc.deathchest.PluginMain;
 import org.bukkit.Material;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedHashSet;
-import java.util.Set;
-
 
 /**
- * A class to manage the configured list of material types that can be replaced by a death chest
+ * A class to manage the configured list of material types that can be replaced by a death chest.
+ * The list is compiled into a material table, which is replaced as a whole when the configuration is reloaded,
+ * so readers see either the previous or the new list, never a partly loaded one.
  */
 final class ReplaceableBlocks {
 
@@ -35,7 +32,7 @@ final class ReplaceableBlocks {
 	private final PluginMain plugin;
 
 	// material types that can be replaced by death chests
-	private final Set<Material> materialSet;
+	private volatile MaterialTable materialTable;
 
 
 	/**
@@ -46,8 +43,6 @@ final class ReplaceableBlocks {
 
 		this.plugin = plugin;
 
-		this.materialSet = Collections.synchronizedSet(new LinkedHashSet<>());
-
 		this.reload();
 	}
 
@@ -57,20 +52,8 @@ final class ReplaceableBlocks {
 	 */
 	void reload() {
 
-		// clear replaceable blocks
-		materialSet.clear();
-
-		// get string list of materials from config file
-		Collection<String> materialStringList = plugin.getConfig().getStringList("replaceable-blocks");
-
-		// iterate over string list
-		for (String materialString : materialStringList) {
-
-			// if material string matches a valid material type, add to replaceableBlocks set
-			if (Material.matchMaterial(materialString) != null) {
-				materialSet.add(Material.matchMaterial(materialString));
-			}
-		}
+		// compile string list of materials from config file, and publish
+		materialTable = MaterialTable.compile(plugin.getConfig().getStringList("replaceable-blocks"));
 	}
 
 
@@ -81,13 +64,17 @@ final class ReplaceableBlocks {
 	 * @return true if replaceBlocks set contains material, false if it does not
 	 */
 	boolean contains(final Material material) {
+		return materialTable.isReplaceable(material);
+	}
 
-		// check for null parameter
-		if (material == null) {
-			return false;
-		}
 
-		return this.materialSet.contains(material);
+	/**
+	 * Get the current material table. The table is immutable, so it may be used off the server thread.
+	 *
+	 * @return the material table of material types that can be replaced by death chests
+	 */
+	MaterialTable getMaterialTable() {
+		return materialTable;
 	}
 
 
@@ -98,6 +85,6 @@ final class ReplaceableBlocks {
 	 */
 	@Override
 	public String toString() {
-		return this.materialSet.toString();
+		return materialTable.toString();
 	}
 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * A set of the chunks, by world, that may contain chest blocks stored in the datastore.
+ * A chunk that is not in this set is known to have no block records, so its load needs no datastore query.
+ * The set may contain chunks whose records have since been deleted; these are removed when a query finds them empty.
+ * If the block records could not all be read, the set is marked incomplete, and every chunk may contain stored chest blocks.
+ */
+final class StoredChunkIndex {
+
+	// sets of chunk keys, keyed by world uid
+	private final Map<UUID, Set<Long>> chunkMap = new ConcurrentHashMap<>();
+
+	// true if chunks of some block records may be missing from the set
+	private volatile boolean incomplete;
+
+
+	/**
+	 * Get the key of a chunk from its chunk coordinates
+	 *
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 * @return long key with chunk x in the high 32 bits and chunk z in the low 32 bits
+	 */
+	static long chunkKey(final int chunkX, final int chunkZ) {
+		return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+	}
+
+
+	/**
+	 * Add the chunk containing a chest block
+	 *
+	 * @param chestBlock the chest block whose chunk will be added
+	 */
+	void add(final ChestBlock chestBlock) {
+
+		// check for null world uid
+		if (chestBlock.getWorldUid() == null) {
+			return;
+		}
+
+		chunkMap.computeIfAbsent(chestBlock.getWorldUid(), k -> ConcurrentHashMap.newKeySet())
+				.add(chunkKey(chestBlock.getX() >> 4, chestBlock.getZ() >> 4));
+	}
+
+
+	/**
+	 * Mark the set incomplete, because the chunks of some block records may be missing from it
+	 */
+	void setIncomplete() {
+		incomplete = true;
+	}
+
+
+	/**
+	 * Check if a chunk may contain stored chest blocks
+	 *
+	 * @param worldUid the world uid
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 * @return {@code true} if the chunk may contain stored chest blocks, {@code false} if it does not
+	 */
+	boolean contains(final UUID worldUid, final int chunkX, final int chunkZ) {
+		if (incomplete) {
+			return true;
+		}
+		Set<Long> chunkKeys = chunkMap.get(worldUid);
+		return chunkKeys != null && chunkKeys.contains(chunkKey(chunkX, chunkZ));
+	}
+
+
+	/**
+	 * Remove a chunk that has no stored chest blocks
+	 *
+	 * @param worldUid the world uid
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 */
+	void remove(final UUID worldUid, final int chunkX, final int chunkZ) {
+		Set<Long> chunkKeys = chunkMap.get(worldUid);
+		if (chunkKeys != null) {
+			chunkKeys.remove(chunkKey(chunkX, chunkZ));
+		}
+	}
+
+}
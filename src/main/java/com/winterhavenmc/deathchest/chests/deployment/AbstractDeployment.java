@@ -20,18 +20,24 @@ package com.winterhavenmc.deathchest.chests.deployment;
 import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.ChestBlock;
 import com.winterhavenmc.deathchest.chests.ChestBlockType;
+import com.winterhavenmc.deathchest.chests.ChestSign;
+import com.winterhavenmc.deathchest.chests.ChestSize;
 import com.winterhavenmc.deathchest.chests.DeathChest;
 import com.winterhavenmc.deathchest.chests.LocationUtilities;
+import com.winterhavenmc.deathchest.chests.search.NearestSearch;
+import com.winterhavenmc.deathchest.chests.search.QuadrantSearch;
+import com.winterhavenmc.deathchest.chests.search.Search;
 import com.winterhavenmc.deathchest.chests.search.SearchResult;
 import com.winterhavenmc.deathchest.chests.search.SearchResultCode;
+import com.winterhavenmc.deathchest.chests.search.SearchSnapshot;
+import com.winterhavenmc.deathchest.chests.search.SearchStrategy;
+import com.winterhavenmc.deathchest.chests.search.SnapshotSearch;
 import com.winterhavenmc.deathchest.messages.Macro;
 import com.winterhavenmc.deathchest.messages.MessageId;
 
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockState;
-import org.bukkit.block.data.Directional;
 import org.bukkit.block.data.type.Chest;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -49,6 +55,11 @@ public abstract class AbstractDeployment implements Deployment {
 	protected final PluginMain plugin;
 	protected final Player player;
 	protected final Collection<ItemStack> droppedItems;
+	protected final SearchSnapshot searchSnapshot;
+
+	// number of block data writes and block state writes made by this deployment
+	int blockUpdateCount;
+	int stateUpdateCount;
 
 
 	/**
@@ -57,11 +68,16 @@ public abstract class AbstractDeployment implements Deployment {
 	 * @param plugin reference to plugin main class
 	 * @param player the player for whom chest is being deployed
 	 * @param droppedItems the player's death drops
+	 * @param searchSnapshot the search snapshot captured at the player's death, or null to search the world directly
 	 */
-	public AbstractDeployment(final PluginMain plugin, final Player player, final Collection<ItemStack> droppedItems) {
+	public AbstractDeployment(final PluginMain plugin,
+	                          final Player player,
+	                          final Collection<ItemStack> droppedItems,
+	                          final SearchSnapshot searchSnapshot) {
 		this.plugin = plugin;
 		this.player = player;
 		this.droppedItems = droppedItems;
+		this.searchSnapshot = searchSnapshot;
 	}
 
 
@@ -73,6 +89,27 @@ public abstract class AbstractDeployment implements Deployment {
 	public abstract SearchResult deploy();
 
 
+	/**
+	 * Create a search for a valid chest location
+	 *
+	 * @param chestSize the size of chest to be placed
+	 * @return a search of the search snapshot if one was captured, otherwise a search of the world
+	 * in the configured search strategy
+	 */
+	Search createSearch(final ChestSize chestSize) {
+
+		if (searchSnapshot != null) {
+			return new SnapshotSearch(plugin, player, chestSize, searchSnapshot);
+		}
+
+		if (SearchStrategy.match(plugin.getConfig().getString("search-strategy")).equals(SearchStrategy.NEAREST)) {
+			return new NearestSearch(plugin, player, chestSize);
+		}
+
+		return new QuadrantSearch(plugin, player, chestSize);
+	}
+
+
 	/**
 	 * Check if Collection of ItemStack contains at least one chest
 	 *
@@ -130,25 +167,34 @@ public abstract class AbstractDeployment implements Deployment {
 
 
 	/**
-	 * Place a chest block and fill with items
+	 * Place a chest block. The chest block data, with its facing direction and chest type, is written
+	 * in a single block update without physics, so that neighboring blocks are not updated.
 	 *
 	 * @param location       the location to place the chest block
 	 * @param chestBlockType the type of chest block (left or right)
+	 * @param chestType      the chest block data type ( SINGLE, LEFT, RIGHT )
 	 */
-	void placeChest(final Player player, final DeathChest deathChest, final Location location, final ChestBlockType chestBlockType) {
+	void placeChest(final Player player,
+					final DeathChest deathChest,
+					final Location location,
+					final ChestBlockType chestBlockType,
+					final Chest.Type chestType) {
 
 		// get current block at location
 		Block block = location.getBlock();
 
-		// set block material to chest
-		block.setType(Material.CHEST);
+		// create chest block data with direction from player death location and chest type
+		Chest chestBlockData = (Chest) Material.CHEST.createBlockData();
+		chestBlockData.setFacing(LocationUtilities.getCardinalBlockFace(location));
+		chestBlockData.setType(chestType);
+
+		// set block data, without physics unless replacing a tall plant or fluid
+		LocationUtilities.setBlockData(block, chestBlockData);
+		blockUpdateCount++;
 
 		// set custom inventory name
 		setCustomInventoryName(player, block);
 
-		// set chest direction
-		setChestDirection(block, location);
-
 		// create new ChestBlock object
 		ChestBlock chestBlock = new ChestBlock(deathChest.getChestUid(), block.getLocation());
 
@@ -160,6 +206,31 @@ public abstract class AbstractDeployment implements Deployment {
 	}
 
 
+	/**
+	 * Place a sign on a death chest
+	 *
+	 * @param deathChest the death chest
+	 */
+	void placeSign(final DeathChest deathChest) {
+		ChestSign chestSign = new ChestSign(plugin, player, deathChest);
+		chestSign.place();
+		blockUpdateCount += chestSign.getBlockUpdateCount();
+		stateUpdateCount += chestSign.getStateUpdateCount();
+	}
+
+
+	@Override
+	public int getBlockUpdateCount() {
+		return blockUpdateCount;
+	}
+
+
+	@Override
+	public int getStateUpdateCount() {
+		return stateUpdateCount;
+	}
+
+
 	/**
 	 * Conditional check for death chest required config and permission
 	 *
@@ -198,53 +269,11 @@ public abstract class AbstractDeployment implements Deployment {
 			customInventoryName = "Death Chest";
 		}
 
-		// set custom inventory name in chest metadata
+		// set custom inventory name in chest metadata, without physics
 		org.bukkit.block.Chest chestState = (org.bukkit.block.Chest) block.getState();
 		chestState.setCustomName(customInventoryName);
-		chestState.update();
-	}
-
-
-	/**
-	 * Set the block state for a death chest block
-	 *
-	 * @param block the chest block
-	 * @param chestType the chest block type ( SINGLE, LEFT, RIGHT )
-	 */
-	void setChestBlockState(Block block, Chest.Type chestType) {
-
-		// get chest block state
-		BlockState chestBlockState = block.getState();
-
-		// get chest block data
-		Chest chestBlockData = (Chest) chestBlockState.getBlockData();
-
-		// set chest block data type to single chest
-		chestBlockData.setType(chestType);
-
-		// set chest block data
-		chestBlockState.setBlockData(chestBlockData);
-
-		// update chest block state
-		chestBlockState.update();
-	}
-
-
-	/**
-	 * Set chest facing direction from player death location
-	 *
-	 * @param block the chest block
-	 * @param location the player death location
-	 */
-	private void setChestDirection(final Block block, final Location location) {
-		// get block direction data
-		Directional blockData = (Directional) block.getBlockData();
-
-		// set new direction from player death location
-		blockData.setFacing(LocationUtilities.getCardinalBlockFace(location));
-
-		// set block data
-		block.setBlockData(blockData);
+		chestState.update(true, false);
+		stateUpdateCount++;
 	}
 
 
@@ -269,12 +298,9 @@ public abstract class AbstractDeployment implements Deployment {
 			player.getWorld().dropItemNaturally(player.getLocation(), item);
 		}
 
-		// if result is negative cancel expire task and return
+		// if result is negative, return; chest was never scheduled for expiration
 		if (!searchResult.getResultCode().equals(SearchResultCode.SUCCESS)
 				&& !searchResult.getResultCode().equals(SearchResultCode.PARTIAL_SUCCESS)) {
-
-			// cancel DeathChest expire task
-			deathChest.cancelExpireTask();
 			return;
 		}
 
@@ -296,7 +322,7 @@ public abstract class AbstractDeployment implements Deployment {
 					.send();
 		}
 
-		// put DeathChest in DeathChest map
+		// put DeathChest in DeathChest map and schedule its expiration
 		plugin.chestManager.putChest(deathChest);
 
 		// put DeathChest in datastore
@@ -23,4 +23,18 @@ public interface Deployment {
 
 	SearchResult deploy();
 
+	/**
+	 * Get the number of block data writes made by this deployment
+	 *
+	 * @return the number of blocks written when placing chests and signs
+	 */
+	int getBlockUpdateCount();
+
+	/**
+	 * Get the number of block state writes made by this deployment
+	 *
+	 * @return the number of chest inventory name and sign text updates written
+	 */
+	int getStateUpdateCount();
+
 }
@@ -19,16 +19,25 @@ package com.winterhavenmc.deathchest.chests.deployment;
 
 import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.ChestSize;
+import com.winterhavenmc.deathchest.chests.search.SearchSnapshot;
+import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.LinkedList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
 
 public class DeploymentFactory {
 
-	public Deployment createDeployment(final PluginMain plugin, final Player player, final Collection<ItemStack> droppedItems) {
+	public Deployment createDeployment(final PluginMain plugin,
+	                                   final Player player,
+	                                   final Collection<ItemStack> droppedItems,
+	                                   final SearchSnapshot searchSnapshot) {
 
 		// combine stacks of same items where possible
 		Collection<ItemStack> consolidatedItems = consolidateItemStacks(droppedItems);
@@ -38,41 +47,62 @@ public class DeploymentFactory {
 
 		// deploy appropriately sized chest
 		if (chestSize.equals(ChestSize.SINGLE) || !player.hasPermission("deathchest.doublechest")) {
-			return new SingleChestDeployment(plugin, player, consolidatedItems);
+			return new SingleChestDeployment(plugin, player, consolidatedItems, searchSnapshot);
 		}
 		else {
-			return new DoubleChestDeployment(plugin, player, consolidatedItems);
+			return new DoubleChestDeployment(plugin, player, consolidatedItems, searchSnapshot);
 		}
 	}
 
 
 	/**
-	 * Combine ItemStacks of same material up to max stack size
+	 * Combine ItemStacks of same material up to max stack size. Each stack is combined, in order, into earlier
+	 * similar stacks that have room for more items. Stacks are grouped by material, so each stack is compared
+	 * only with stacks of its material that have room; item meta is not read to group stacks, since getting it
+	 * copies it. Items that do not stack, including all items with durability, are not compared at all.
 	 *
 	 * @param itemStacks Collection of ItemStacks to combine
 	 * @return Collection of ItemStack with same materials combined
 	 */
-	private Collection<ItemStack> consolidateItemStacks(final Collection<ItemStack> itemStacks) {
+	static Collection<ItemStack> consolidateItemStacks(final Collection<ItemStack> itemStacks) {
 
-		final Collection<ItemStack> returnList = new LinkedList<>();
+		final Collection<ItemStack> returnList = new ArrayList<>(itemStacks.size());
+
+		// stacks in return list that have room for more items, by material
+		final Map<Material, List<ItemStack>> openStacks = new EnumMap<>(Material.class);
 
 		for (ItemStack itemStack : itemStacks) {
 			if (itemStack == null) {
 				continue;
 			}
 
-			for (ItemStack checkStack : returnList) {
-				if (checkStack == null) {
-					continue;
-				}
+			// items that do not stack can not be combined
+			if (itemStack.getMaxStackSize() <= 1) {
+				returnList.add(itemStack);
+				continue;
+			}
+
+			final List<ItemStack> similarStacks = openStacks.computeIfAbsent(itemStack.getType(), k -> new ArrayList<>());
+
+			final Iterator<ItemStack> iterator = similarStacks.iterator();
+			while (iterator.hasNext() && itemStack.getAmount() > 0) {
+				ItemStack checkStack = iterator.next();
 				if (checkStack.isSimilar(itemStack)) {
 					int transferAmount = Math.min(itemStack.getAmount(), checkStack.getMaxStackSize() - checkStack.getAmount());
 					itemStack.setAmount(itemStack.getAmount() - transferAmount);
 					checkStack.setAmount(checkStack.getAmount() + transferAmount);
+
+					// if stack is full, no more items can be combined into it
+					if (checkStack.getAmount() >= checkStack.getMaxStackSize()) {
+						iterator.remove();
+					}
 				}
 			}
 			if (itemStack.getAmount() > 0) {
 				returnList.add(itemStack);
+				if (itemStack.getAmount() < itemStack.getMaxStackSize()) {
+					similarStacks.add(itemStack);
+				}
 			}
 		}
 		return returnList;
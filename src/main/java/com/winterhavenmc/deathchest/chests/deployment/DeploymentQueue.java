@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.deployment;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.search.SearchSnapshot;
+
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+
+/**
+ * A queue of pending death chest deployments, in order of player death. The queue is processed once per tick
+ * by a single repeating task, which deploys ready chests in queue order until the per-tick time budget is used;
+ * deployments that do not fit in a tick remain at the head of the queue for the next tick.
+ * A deployment is ready when the configured deployment delay has passed and its background search,
+ * if any, is complete. This class is used only on the server thread.
+ */
+public final class DeploymentQueue {
+
+	/**
+	 * A death chest deployment waiting in the queue
+	 */
+	private static final class PendingDeployment {
+
+		final Player player;
+		final Collection<ItemStack> droppedItems;
+		final SearchSnapshot searchSnapshot;
+		final long readyTick;
+
+		PendingDeployment(final Player player,
+						  final Collection<ItemStack> droppedItems,
+						  final SearchSnapshot searchSnapshot,
+						  final long readyTick) {
+			this.player = player;
+			this.droppedItems = droppedItems;
+			this.searchSnapshot = searchSnapshot;
+			this.readyTick = readyTick;
+		}
+
+		boolean isReady(final long tick) {
+			return tick >= readyTick && (searchSnapshot == null || searchSnapshot.isScanComplete());
+		}
+	}
+
+	// reference to main class
+	private final PluginMain plugin;
+
+	// pending deployments in order of player death
+	private final ArrayDeque<PendingDeployment> queue = new ArrayDeque<>();
+
+	// number of times the queue has been processed
+	private long tickCount;
+
+	// statistics
+	private int maxQueueLength;
+	private long deployedCount;
+	private long blockUpdateCount;
+	private long stateUpdateCount;
+	private long totalWaitTicks;
+	private long maxWaitTicks;
+	private long overBudgetTicks;
+	private long lastTickNanos;
+	private long maxTickNanos;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to main class
+	 */
+	public DeploymentQueue(final PluginMain plugin) {
+		this.plugin = plugin;
+	}
+
+
+	/**
+	 * Add a deployment to the queue, to be deployed after the configured deployment delay
+	 *
+	 * @param player the player for whom a death chest is being deployed
+	 * @param droppedItems the player's death drops
+	 * @param searchSnapshot the search snapshot captured at the player's death, or null to search the world directly
+	 */
+	public void add(final Player player, final Collection<ItemStack> droppedItems, final SearchSnapshot searchSnapshot) {
+
+		final long delay = Math.max(0, plugin.getConfig().getInt("chest-deployment-delay"));
+
+		queue.add(new PendingDeployment(player, droppedItems, searchSnapshot, tickCount + delay));
+
+		maxQueueLength = Math.max(maxQueueLength, queue.size());
+	}
+
+
+	/**
+	 * Deploy ready chests in queue order until the time budget is used. At least one ready chest is deployed
+	 * each tick, so the queue always makes progress. Deployments that are not ready do not hold back
+	 * ready deployments behind them.
+	 *
+	 * @param budgetNanos the time in nanoseconds this tick may spend on deployments
+	 */
+	public void process(final long budgetNanos) {
+
+		tickCount++;
+
+		if (queue.isEmpty()) {
+			return;
+		}
+
+		final long startNanos = System.nanoTime();
+		final long deadline = startNanos + budgetNanos;
+		boolean deployed = false;
+
+		final Iterator<PendingDeployment> iterator = queue.iterator();
+		while (iterator.hasNext()) {
+
+			final PendingDeployment pending = iterator.next();
+
+			if (!pending.isReady(tickCount)) {
+				continue;
+			}
+
+			// if budget is used, leave remaining ready deployments for next tick
+			if (deployed && System.nanoTime() >= deadline) {
+				overBudgetTicks++;
+				break;
+			}
+
+			iterator.remove();
+			deploy(pending);
+			deployed = true;
+
+			// record wait beyond deployment delay
+			final long waitTicks = tickCount - pending.readyTick;
+			totalWaitTicks += waitTicks;
+			maxWaitTicks = Math.max(maxWaitTicks, waitTicks);
+		}
+
+		lastTickNanos = System.nanoTime() - startNanos;
+		maxTickNanos = Math.max(maxTickNanos, lastTickNanos);
+	}
+
+
+	/**
+	 * Deploy all queued chests immediately, without waiting for deployment delays or background searches.
+	 * Called on plugin disable, so that no player's death drops are lost.
+	 */
+	public void deployAll() {
+
+		PendingDeployment pending;
+		while ((pending = queue.poll()) != null) {
+
+			// if background search has not finished, search the world directly
+			if (pending.searchSnapshot != null && !pending.searchSnapshot.isScanComplete()) {
+				pending = new PendingDeployment(pending.player, pending.droppedItems, null, pending.readyTick);
+			}
+
+			deploy(pending);
+		}
+	}
+
+
+	/**
+	 * Deploy a pending death chest
+	 *
+	 * @param pending the pending deployment
+	 */
+	private void deploy(final PendingDeployment pending) {
+
+		try {
+			final Deployment deployment = plugin.chestManager.getDeploymentFactory()
+					.createDeployment(plugin, pending.player, pending.droppedItems, pending.searchSnapshot);
+			deployment.deploy();
+			blockUpdateCount += deployment.getBlockUpdateCount();
+			stateUpdateCount += deployment.getStateUpdateCount();
+		}
+		catch (Exception e) {
+			plugin.getLogger().warning("An error occurred while deploying a death chest for "
+					+ pending.player.getName() + ".");
+			plugin.getLogger().warning(e.getLocalizedMessage());
+			if (plugin.getConfig().getBoolean("debug")) {
+				e.printStackTrace();
+			}
+		}
+
+		deployedCount++;
+	}
+
+
+	/**
+	 * Get the number of deployments in the queue
+	 *
+	 * @return the number of pending deployments
+	 */
+	public int size() {
+		return queue.size();
+	}
+
+
+	/**
+	 * Get queue statistics for display
+	 *
+	 * @return Map of statistic names to formatted values
+	 */
+	public Map<String, String> getStatistics() {
+
+		final Map<String, String> statistics = new LinkedHashMap<>();
+
+		final double averageWaitTicks = (deployedCount > 0) ? (double) totalWaitTicks / deployedCount : 0;
+
+		statistics.put("Deployment Queue", queue.size() + " (max " + maxQueueLength + ")");
+		statistics.put("Deployments", deployedCount + " deployed, "
+				+ overBudgetTicks + " ticks over budget");
+		statistics.put("Deployment Block Writes", String.format("%d block data, %d block state, avg %.1f per deployment",
+				blockUpdateCount, stateUpdateCount,
+				(deployedCount > 0) ? (double) (blockUpdateCount + stateUpdateCount) / deployedCount : 0));
+		statistics.put("Deployment Wait", String.format("avg %.1f ticks, max %d ticks", averageWaitTicks, maxWaitTicks));
+		statistics.put("Deployment Tick Time", String.format("last %.2fms, max %.2fms",
+				lastTickNanos / 1_000_000.0d, maxTickNanos / 1_000_000.0d));
+
+		return statistics;
+	}
+
+}
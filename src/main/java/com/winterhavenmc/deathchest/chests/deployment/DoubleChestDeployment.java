@@ -19,9 +19,9 @@ package com.winterhavenmc.deathchest.chests.deployment;
 
 import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.*;
-import com.winterhavenmc.deathchest.chests.search.QuadrantSearch;
 import com.winterhavenmc.deathchest.chests.search.SearchResult;
 import com.winterhavenmc.deathchest.chests.search.SearchResultCode;
+import com.winterhavenmc.deathchest.chests.search.SearchSnapshot;
 
 import org.bukkit.block.data.type.Chest;
 import org.bukkit.entity.Player;
@@ -39,9 +39,10 @@ public class DoubleChestDeployment extends AbstractDeployment implements Deploym
 	 * @param plugin reference to plugin main class
 	 * @param player the player for whom a death chest is being deployed
 	 * @param droppedItems the player's death drops
+	 * @param searchSnapshot the search snapshot captured at the player's death, or null to search the world directly
 	 */
-	public DoubleChestDeployment(final PluginMain plugin, final Player player, final Collection<ItemStack> droppedItems) {
-		super(plugin, player, droppedItems);
+	public DoubleChestDeployment(final PluginMain plugin, final Player player, final Collection<ItemStack> droppedItems, final SearchSnapshot searchSnapshot) {
+		super(plugin, player, droppedItems, searchSnapshot);
 	}
 
 
@@ -57,11 +58,15 @@ public class DoubleChestDeployment extends AbstractDeployment implements Deploym
 		Collection<ItemStack> remainingItems = new LinkedList<>(droppedItems);
 
 		// search for valid chest location
-		SearchResult searchResult = new QuadrantSearch(plugin, player, ChestSize.DOUBLE).execute();
+		SearchResult searchResult = createSearch(ChestSize.DOUBLE).execute();
 
-		// if only single chest location found, deploy single chest
+		// if only single chest location found, deploy single chest at location found by search
 		if (searchResult.getResultCode().equals(SearchResultCode.PARTIAL_SUCCESS)) {
-			searchResult = new SingleChestDeployment(plugin, player, remainingItems).deploy();
+			searchResult.setResultCode(SearchResultCode.SUCCESS);
+			SingleChestDeployment singleChestDeployment = new SingleChestDeployment(plugin, player, remainingItems, searchSnapshot);
+			searchResult = singleChestDeployment.deploy(searchResult);
+			blockUpdateCount += singleChestDeployment.getBlockUpdateCount();
+			stateUpdateCount += singleChestDeployment.getStateUpdateCount();
 
 			// if single chest deployment was successful, set PARTIAL_SUCCESS result
 			if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS)) {
@@ -99,21 +104,12 @@ public class DoubleChestDeployment extends AbstractDeployment implements Deploym
 			}
 		}
 
-		// create new deathChest object for player
-		DeathChest deathChest = new DeathChest(player);
-
-		// place chest at result location
-		placeChest(player, deathChest, searchResult.getLocation(), ChestBlockType.RIGHT_CHEST);
-
-		// place sign on chest
-		new ChestSign(plugin, player, deathChest).place();
-
-		// attempt to place second chest
+		// check for second chest before placing chests, so that each chest block is placed with its final chest type
+		boolean placeLeftChest = true;
 
 		// if require-chest option is enabled
 		// and player does not have permission override
-		if (plugin.getConfig().getBoolean("require-chest")
-				&& !player.hasPermission("deathchest.freechest")) {
+		if (chestRequired()) {
 
 			// check that player has chest in inventory
 			if (containsChest(remainingItems)) {
@@ -123,23 +119,32 @@ public class DoubleChestDeployment extends AbstractDeployment implements Deploym
 					remainingItems = removeOneChest(remainingItems);
 				}
 			}
-			// else return new PARTIAL_SUCCESS result with location and remaining items after filling chest
+			// else place right chest as single chest
 			else {
-				searchResult.setResultCode(SearchResultCode.PARTIAL_SUCCESS);
-				searchResult.setRemainingItems(deathChest.fill(remainingItems));
-				this.finish(searchResult, deathChest);
-				return searchResult;
+				placeLeftChest = false;
 			}
 		}
 
+		// create new deathChest object for player
+		DeathChest deathChest = new DeathChest(player);
+
 		// place chest at result location
-		placeChest(player, deathChest, LocationUtilities.getLocationToRight(searchResult.getLocation()), ChestBlockType.LEFT_CHEST);
+		placeChest(player, deathChest, searchResult.getLocation(), ChestBlockType.RIGHT_CHEST,
+				placeLeftChest ? Chest.Type.RIGHT : Chest.Type.SINGLE);
 
-		// set chest type to left/right for double chest
+		// place second chest at location to right of result location
+		if (placeLeftChest) {
+			placeChest(player, deathChest, LocationUtilities.getLocationToRight(searchResult.getLocation()), ChestBlockType.LEFT_CHEST,
+					Chest.Type.LEFT);
+		}
+
+		// place sign on chest
+		placeSign(deathChest);
 
-		// set chest block state
-		setChestBlockState(searchResult.getLocation().getBlock(), Chest.Type.RIGHT);
-		setChestBlockState(LocationUtilities.getLocationToRight(searchResult.getLocation()).getBlock(), Chest.Type.LEFT);
+		// if second chest was not placed, set PARTIAL_SUCCESS result
+		if (!placeLeftChest) {
+			searchResult.setResultCode(SearchResultCode.PARTIAL_SUCCESS);
+		}
 
 		// put remaining items in result after filling chest
 		searchResult.setRemainingItems(deathChest.fill(remainingItems));
@@ -19,12 +19,11 @@ package com.winterhavenmc.deathchest.chests.deployment;
 
 import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.ChestBlockType;
-import com.winterhavenmc.deathchest.chests.ChestSign;
 import com.winterhavenmc.deathchest.chests.ChestSize;
 import com.winterhavenmc.deathchest.chests.DeathChest;
-import com.winterhavenmc.deathchest.chests.search.QuadrantSearch;
 import com.winterhavenmc.deathchest.chests.search.SearchResult;
 import com.winterhavenmc.deathchest.chests.search.SearchResultCode;
+import com.winterhavenmc.deathchest.chests.search.SearchSnapshot;
 
 import org.bukkit.block.data.type.Chest;
 import org.bukkit.entity.Player;
@@ -42,9 +41,10 @@ public class SingleChestDeployment extends AbstractDeployment implements Deploym
 	 * @param plugin reference to plugin main class
 	 * @param player the player for whom a death chest is being deployed
 	 * @param droppedItems the player's death drops
+	 * @param searchSnapshot the search snapshot captured at the player's death, or null to search the world directly
 	 */
-	public SingleChestDeployment(PluginMain plugin, Player player, Collection<ItemStack> droppedItems) {
-		super(plugin, player, droppedItems);
+	public SingleChestDeployment(PluginMain plugin, Player player, Collection<ItemStack> droppedItems, SearchSnapshot searchSnapshot) {
+		super(plugin, player, droppedItems, searchSnapshot);
 	}
 
 
@@ -55,6 +55,17 @@ public class SingleChestDeployment extends AbstractDeployment implements Deploym
 	 */
 	@Override
 	public SearchResult deploy() {
+		return deploy(null);
+	}
+
+
+	/**
+	 * Execute the deployment of death chest at a location already found, or search for a location if none is given
+	 *
+	 * @param completedSearchResult the successful result of a search for a single chest location, or null to search
+	 * @return the result of the attempted death chest deployment
+	 */
+	SearchResult deploy(final SearchResult completedSearchResult) {
 
 		// make copy of dropped items
 		Collection<ItemStack> remainingItems = new LinkedList<>(droppedItems);
@@ -80,8 +91,10 @@ public class SingleChestDeployment extends AbstractDeployment implements Deploym
 			}
 		}
 
-		// search for valid chest location
-		searchResult = new QuadrantSearch(plugin, player, ChestSize.SINGLE).execute();
+		// use location already found, or search for valid chest location
+		searchResult = (completedSearchResult != null)
+				? completedSearchResult
+				: createSearch(ChestSize.SINGLE).execute();
 
 		// create new deathChest object for player
 		DeathChest deathChest = new DeathChest(player);
@@ -90,16 +103,13 @@ public class SingleChestDeployment extends AbstractDeployment implements Deploym
 		if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS)) {
 
 			// place chest at result location
-			placeChest(player, deathChest, searchResult.getLocation(), ChestBlockType.RIGHT_CHEST);
-
-			// set chest block state
-			setChestBlockState(searchResult.getLocation().getBlock(), Chest.Type.SINGLE);
+			placeChest(player, deathChest, searchResult.getLocation(), ChestBlockType.RIGHT_CHEST, Chest.Type.SINGLE);
 
 			// fill chest
 			remainingItems = deathChest.fill(remainingItems);
 
 			// place sign on chest
-			new ChestSign(plugin, player, deathChest).place();
+			placeSign(deathChest);
 		}
 
 		// set remaining items in result
@@ -22,17 +22,41 @@ import com.winterhavenmc.deathchest.chests.ChestSize;
 import com.winterhavenmc.deathchest.chests.LocationUtilities;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionCheckResult;
 import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionCheckResultCode;
+import com.winterhavenmc.deathchest.permissions.protectionplugins.ProtectionPlugin;
+import com.winterhavenmc.deathchest.util.LongObjectHashMap;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 
 
 /**
- * An abstract class that provides default implementations of methods required of the Search interface
+ * An abstract class that provides default implementations of methods required of the Search interface.
+ * The result of checking each block is kept for the duration of the search, because the same block is
+ * tested at both yaw orientations and again as the left chest of a double chest.
  */
 abstract class AbstractSearch implements Search {
 
+	/**
+	 * The result of checking a single block as a chest location
+	 */
+	private static final class BlockCheck {
+
+		private final static BlockCheck SUCCESS = new BlockCheck(SearchResultCode.SUCCESS, null);
+		private final static BlockCheck NON_REPLACEABLE_BLOCK = new BlockCheck(SearchResultCode.NON_REPLACEABLE_BLOCK, null);
+		private final static BlockCheck ABOVE_GRASS_PATH = new BlockCheck(SearchResultCode.ABOVE_GRASS_PATH, null);
+		private final static BlockCheck SPAWN_RADIUS = new BlockCheck(SearchResultCode.SPAWN_RADIUS, null);
+
+		private final SearchResultCode resultCode;
+		private final ProtectionPlugin protectionPlugin;
+
+		private BlockCheck(final SearchResultCode resultCode, final ProtectionPlugin protectionPlugin) {
+			this.resultCode = resultCode;
+			this.protectionPlugin = protectionPlugin;
+		}
+	}
+
 	protected final PluginMain plugin;
 	protected final Player player;
 	protected final ChestSize chestSize;
@@ -40,6 +64,19 @@ abstract class AbstractSearch implements Search {
 	protected final boolean placeAboveVoid;
 	protected SearchResult searchResult;
 
+	// results of block checks in this search, keyed by packed block coordinates
+	private final LongObjectHashMap<BlockCheck> blockChecks = new LongObjectHashMap<>();
+	private int blockCheckHits;
+
+	// first location found valid for a single chest, when searching for a double chest
+	private Location singleChestLocation;
+
+	// spawn protection settings, read once per search
+	private boolean spawnProtectionRead;
+	private boolean spawnProtectionEnabled;
+	private Location worldSpawn;
+	private double spawnRadiusSquared;
+
 
 	/**
 	 * Class constructor
@@ -63,12 +100,118 @@ abstract class AbstractSearch implements Search {
 	}
 
 
+	/**
+	 * Execute search algorithm
+	 */
 	@Override
-	public abstract SearchResult execute();
+	public final SearchResult execute() {
+
+		SearchResult result = search();
+
+		// if no double chest location was found, return partial success with first single chest location found
+		if (chestSize.equals(ChestSize.DOUBLE)
+				&& singleChestLocation != null
+				&& !result.getResultCode().equals(SearchResultCode.SUCCESS)) {
+			result.setResultCode(SearchResultCode.PARTIAL_SUCCESS);
+			result.setLocation(singleChestLocation);
+		}
+
+		// if debugging, log block check statistics
+		if (plugin.getConfig().getBoolean("debug")) {
+			int lookups = blockChecks.size() + blockCheckHits;
+			plugin.getLogger().info("Search checked " + blockChecks.size() + " blocks in " + lookups + " lookups; "
+					+ blockCheckHits + " answered from search cache ("
+					+ (lookups == 0 ? 0 : (100 * blockCheckHits / lookups)) + "%).");
+		}
+
+		return result;
+	}
+
+
+	/**
+	 * Search for a valid chest location
+	 *
+	 * @return SearchResult - the result of the search
+	 */
+	abstract SearchResult search();
+
+
+	/**
+	 * Get the origin of a search from a player death location. The y coordinate is rounded to account for
+	 * fractional height blocks, and kept within the world's build height.
+	 *
+	 * @param plugin reference to main class instance
+	 * @param deathLocation the player death location
+	 * @param placeAboveVoid if a death below world min height should be searched from world min height
+	 * @return the search origin, or null if the player died below world min height and placeAboveVoid is false
+	 */
+	static Location getSearchOrigin(final PluginMain plugin, final Location deathLocation, final boolean placeAboveVoid) {
+
+		// get copy of player death location
+		Location origin = deathLocation.clone();
+
+		// round y to account for fractional height blocks
+		origin.setY(Math.round(origin.getY()));
+
+		// get min y for origin
+		int minY = getMinHeight(plugin, origin.getWorld());
+
+		// if player died below world min height and place-above-void configured true, start search at world min height
+		if (origin.getY() < minY) {
+			if (placeAboveVoid) {
+				origin.setY(minY);
+			}
+			else {
+				return null;
+			}
+		}
+
+		// if player died above world max build height, start search 1 block below max build height
+		if (origin.getWorld() != null) {
+			origin.setY(Math.min(origin.getY(), origin.getWorld().getMaxHeight() - 1));
+		}
+
+		return origin;
+	}
+
+
+	/**
+	 * Get the min height of a world
+	 *
+	 * @param plugin reference to main class instance
+	 * @param world the world
+	 * @return the world min height, or zero if it could not be determined
+	 */
+	static int getMinHeight(final PluginMain plugin, final World world) {
+
+		int minY = 0;
+		if (world != null) {
+			//TODO: remove try/catch when minimum support is declared to be 1.16.5
+			try {
+				minY = world.getMinHeight();
+			}
+			catch (NoSuchMethodError error) {
+				plugin.getLogger().warning("An error occurred while trying to determine world min height. Defaulting to 0.");
+			}
+		}
+		return minY;
+	}
 
 
 	/**
-	 * Validate chest location for chest size
+	 * Check if a location valid for a single chest has been found while searching for a double chest
+	 *
+	 * @return {@code true} if a single chest location has been found, {@code false} if not
+	 */
+	boolean hasSingleChestLocation() {
+		return singleChestLocation != null;
+	}
+
+
+	/**
+	 * Validate chest location for chest size. When validating a double chest location whose right chest
+	 * location is valid but left is not, the first such location is kept as a single chest location,
+	 * so that a double chest search need not be followed by a single chest search.
 	 *
 	 * @param player    the player for whom the chest is being placed
 	 * @param location  the location to test
@@ -93,6 +236,11 @@ abstract class AbstractSearch implements Search {
 			// test left chest block location (to player's right)
 			result = validateChestLocation(player, LocationUtilities.getLocationToRight(location));
 			result.setLocation(location);
+
+			// if left chest is not successful, keep first single chest location
+			if (!result.getResultCode().equals(SearchResultCode.SUCCESS) && singleChestLocation == null) {
+				singleChestLocation = location.clone();
+			}
 		}
 
 		return result;
@@ -108,38 +256,69 @@ abstract class AbstractSearch implements Search {
 	 */
 	private SearchResult validateChestLocation(final Player player, final Location location) {
 
+		// get result of block check from this search, or check block if it has not been checked
+		final long blockKey = LocationUtilities.blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+		BlockCheck blockCheck = blockChecks.get(blockKey);
+
+		if (blockCheck == null) {
+			blockCheck = checkBlock(player, location);
+			blockChecks.put(blockKey, blockCheck);
+		}
+		else {
+			blockCheckHits++;
+		}
+
+		// set result code
+		searchResult.setResultCode(blockCheck.resultCode);
+
+		// if block at location is protected by plugin, set protection plugin
+		if (blockCheck.resultCode.equals(SearchResultCode.PROTECTION_PLUGIN)) {
+			searchResult.setProtectionPlugin(blockCheck.protectionPlugin);
+		}
+
+		// if successful, set result location
+		if (blockCheck.resultCode.equals(SearchResultCode.SUCCESS)) {
+			searchResult.setLocation(location);
+		}
+
+		return searchResult;
+	}
+
+
+	/**
+	 * Check a block as a chest location
+	 *
+	 * @param player    the player for whom the chest is being placed
+	 * @param location  the location to test
+	 * @return BlockCheck - the result of checking the block at the location
+	 */
+	private BlockCheck checkBlock(final Player player, final Location location) {
+
 		Block block = location.getBlock();
 
 		// if block at location is not replaceable block, return negative result
 		if (!plugin.chestManager.isReplaceableBlock(block)) {
-			searchResult.setResultCode(SearchResultCode.NON_REPLACEABLE_BLOCK);
-			return searchResult;
+			return BlockCheck.NON_REPLACEABLE_BLOCK;
 		}
 
 		// if block at location is above grass path, return negative result
 		if (LocationUtilities.isAbovePath(block)) {
-			searchResult.setResultCode(SearchResultCode.ABOVE_GRASS_PATH);
-			return searchResult;
+			return BlockCheck.ABOVE_GRASS_PATH;
 		}
 
 		// if block at location is protected by plugin, return negative result
 		ProtectionCheckResult protectionCheckResult = plugin.protectionPluginRegistry.placementAllowed(player, location);
 		if (protectionCheckResult.getResultCode().equals(ProtectionCheckResultCode.BLOCKED)) {
-			searchResult.setResultCode(SearchResultCode.PROTECTION_PLUGIN);
-			searchResult.setProtectionPlugin(protectionCheckResult.getProtectionPlugin());
-			return searchResult;
+			return new BlockCheck(SearchResultCode.PROTECTION_PLUGIN, protectionCheckResult.getProtectionPlugin());
 		}
 
 		// if block at location is within spawn protection radius, return negative result
 		if (isSpawnProtected(location)) {
-			searchResult.setResultCode(SearchResultCode.SPAWN_RADIUS);
-			return searchResult;
+			return BlockCheck.SPAWN_RADIUS;
 		}
 
-		// return successful result with location
-		searchResult.setResultCode(SearchResultCode.SUCCESS);
-		searchResult.setLocation(location);
-		return searchResult;
+		// return successful result
+		return BlockCheck.SUCCESS;
 	}
 
 
@@ -161,19 +340,30 @@ abstract class AbstractSearch implements Search {
 			return false;
 		}
 
-		// if no server ops, spawn protection is disabled
-		if (plugin.getServer().getOperators().isEmpty()) {
-			return false;
-		}
+		// read spawn protection settings on first check; a search does not leave its world
+		if (!spawnProtectionRead) {
+			spawnProtectionRead = true;
+
+			// if no server ops, spawn protection is disabled
+			spawnProtectionEnabled = !plugin.getServer().getOperators().isEmpty();
 
-		// get world spawn location for location
-		Location worldSpawn = plugin.worldManager.getSpawnLocation(location.getWorld());
+			if (spawnProtectionEnabled) {
 
-		// get spawn protection radius
-		double spawnRadius = plugin.getServer().getSpawnRadius();
+				// get world spawn location for location
+				worldSpawn = plugin.worldManager.getSpawnLocation(location.getWorld());
+
+				// get spawn protection radius
+				spawnRadiusSquared = Math.pow(plugin.getServer().getSpawnRadius(), 2.0d);
+			}
+		}
+
+		// if spawn protection is disabled, return false
+		if (!spawnProtectionEnabled) {
+			return false;
+		}
 
 		// if location is within spawn radius of world spawn location, return true; else return false
-		return location.distanceSquared(worldSpawn) < (Math.pow(spawnRadius, 2.0d));
+		return location.distanceSquared(worldSpawn) < spawnRadiusSquared;
 	}
 
 
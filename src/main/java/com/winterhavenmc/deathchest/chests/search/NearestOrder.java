@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * The order of locations tested by the nearest search. Locations are searched in order of distance from the
+ * origin, nearest first; locations at the same distance are searched level first, then upward before downward.
+ * Each location is tested at the origin yaw and then rotated 90 degrees. All offsets within search distance
+ * on each axis are searched, including those on the negative x and z axes, which the quadrant search skips.
+ * <p>
+ * Offsets are taken from a table of the non-negative offsets within search distance, sorted by distance,
+ * which is computed once for each search distance and shared. Each table entry is expanded to its sign variants
+ * as the order is advanced. Tables grow with the cube of the search distance, so they are only built up to
+ * {@link #MAX_SEARCH_DISTANCE}; greater search distances use the quadrant order instead.
+ */
+final class NearestOrder implements SearchOrder {
+
+	// greatest search distance for which an offset table is built; a table of this distance holds 1 MiB of offsets
+	final static int MAX_SEARCH_DISTANCE = 64;
+
+	// offset components are packed in 10 bits each
+	private final static int COMPONENT_MASK = (1 << 10) - 1;
+
+	// sorted offset tables, keyed by search distance
+	private final static Map<Integer, int[]> OFFSET_TABLES = new ConcurrentHashMap<>();
+
+	private final int[] offsetTable;
+	private final int originY;
+	private final int minY;
+	private final int maxY;
+	private final float originYaw;
+
+	// absolute offsets of the current table entry
+	private int x;
+	private int y;
+	private int z;
+
+	// loop counters, from outermost to innermost
+	private int tableIndex;
+	private int ySign;
+	private int xSign;
+	private int zSign;
+	private int rotation;
+
+	private boolean started;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param searchDistance the configured search distance, no greater than {@link #MAX_SEARCH_DISTANCE}
+	 * @param originY the y coordinate of the search origin
+	 * @param originYaw the yaw of the search origin
+	 * @param minY the world min height
+	 * @param maxY the world max height
+	 */
+	NearestOrder(final int searchDistance, final int originY, final float originYaw, final int minY, final int maxY) {
+		this.offsetTable = getOffsetTable(searchDistance);
+		this.originY = originY;
+		this.originYaw = originYaw;
+		this.minY = minY;
+		this.maxY = maxY;
+	}
+
+
+	@Override
+	public boolean next() {
+
+		while (increment()) {
+
+			final int testY = originY + getOffsetY();
+
+			// skip locations above world max height or below world min height
+			if (testY >= maxY || testY < minY) {
+				continue;
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
+
+	@Override
+	public int getOffsetX() {
+		return xSign == 0 ? x : -x;
+	}
+
+
+	@Override
+	public int getOffsetY() {
+		return ySign == 0 ? y : -y;
+	}
+
+
+	@Override
+	public int getOffsetZ() {
+		return zSign == 0 ? z : -z;
+	}
+
+
+	@Override
+	public float getYaw() {
+		return rotation == 0 ? originYaw : originYaw - 90;
+	}
+
+
+	/**
+	 * Advance loop counters by one, innermost first. Offset components of zero have a single sign variant.
+	 *
+	 * @return {@code true} if the counters were advanced, {@code false} if the offset table is finished
+	 */
+	private boolean increment() {
+
+		if (tableIndex >= offsetTable.length) {
+			return false;
+		}
+
+		if (!started) {
+			started = true;
+			loadEntry();
+			return true;
+		}
+
+		if (++rotation < 2) {
+			return true;
+		}
+		rotation = 0;
+
+		if (z != 0 && ++zSign < 2) {
+			return true;
+		}
+		zSign = 0;
+
+		if (x != 0 && ++xSign < 2) {
+			return true;
+		}
+		xSign = 0;
+
+		if (y != 0 && ++ySign < 2) {
+			return true;
+		}
+		ySign = 0;
+
+		if (++tableIndex < offsetTable.length) {
+			loadEntry();
+			return true;
+		}
+
+		return false;
+	}
+
+
+	/**
+	 * Unpack the absolute offsets of the current table entry
+	 */
+	private void loadEntry() {
+		final int entry = offsetTable[tableIndex];
+		y = entry >>> 20;
+		x = (entry >>> 10) & COMPONENT_MASK;
+		z = entry & COMPONENT_MASK;
+	}
+
+
+	/**
+	 * Get the shared offset table for a search distance, computing it if necessary
+	 *
+	 * @param searchDistance the search distance; distances greater than {@link #MAX_SEARCH_DISTANCE} are capped
+	 * @return the packed non-negative offsets within search distance, sorted by distance
+	 */
+	static int[] getOffsetTable(final int searchDistance) {
+		return OFFSET_TABLES.computeIfAbsent(Math.max(0, Math.min(searchDistance, MAX_SEARCH_DISTANCE)),
+				NearestOrder::createOffsetTable);
+	}
+
+
+	/**
+	 * Compute the offset table for a search distance. Entries of equal distance are ordered by
+	 * y offset, then x offset, then z offset, so that level locations are searched first.
+	 *
+	 * @param searchDistance the search distance
+	 * @return the packed non-negative offsets within search distance, sorted by distance
+	 */
+	private static int[] createOffsetTable(final int searchDistance) {
+
+		// sort keys hold the squared distance above the packed offsets
+		final long[] sortKeys = new long[searchDistance * searchDistance * searchDistance];
+
+		int index = 0;
+		for (int y = 0; y < searchDistance; y++) {
+			for (int x = 0; x < searchDistance; x++) {
+				for (int z = 0; z < searchDistance; z++) {
+					final long distanceSquared = x * x + y * y + z * z;
+					sortKeys[index++] = distanceSquared << 30 | y << 20 | x << 10 | z;
+				}
+			}
+		}
+
+		Arrays.sort(sortKeys);
+
+		final int[] offsetTable = new int[sortKeys.length];
+		for (int i = 0; i < sortKeys.length; i++) {
+			offsetTable[i] = (int) (sortKeys[i] & 0x3FFFFFFF);
+		}
+
+		return offsetTable;
+	}
+
+}
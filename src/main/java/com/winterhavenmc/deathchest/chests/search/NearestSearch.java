@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.ChestSize;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+
+/**
+ * A class that implements a search strategy for a valid chest location, testing locations in order
+ * of distance from the death location, so that the first valid location found is the nearest.
+ * A single test location is reused for all locations tested.
+ */
+public final class NearestSearch extends AbstractSearch {
+
+
+	/**
+	 * Class constructor
+	 * @param plugin reference to plugin main class
+	 * @param player the player whose death triggered a death chest deployment
+	 * @param chestSize the size of chest required to accommodate the players inventory
+	 */
+	public NearestSearch(final PluginMain plugin,
+						 final Player player,
+						 final ChestSize chestSize) {
+
+		// call superclass constructor
+		super(plugin, player, chestSize);
+	}
+
+
+	/**
+	 * Search for a valid chest location
+	 */
+	@Override
+	SearchResult search() {
+
+		// get search origin from player death location
+		Location origin = getSearchOrigin(plugin, player.getLocation(), placeAboveVoid);
+
+		// if player died below world min height and place-above-void is configured false, return void result
+		if (origin == null) {
+			searchResult.setResultCode(SearchResultCode.VOID);
+			searchResult.setLocation(player.getLocation());
+			return searchResult;
+		}
+
+		// get order of locations to search
+		SearchOrder searchOrder = SearchStrategy.NEAREST.createOrder(searchDistance,
+				origin.getBlockY(),
+				origin.getYaw(),
+				getMinHeight(plugin, player.getWorld()),
+				player.getWorld().getMaxHeight());
+
+		// test location, moved to each location in turn
+		Location testLocation = origin.clone();
+
+		// test all locations within search distance until a valid location is found
+		while (searchOrder.next()) {
+
+			// move test location
+			testLocation.setX(origin.getX() + searchOrder.getOffsetX());
+			testLocation.setY(origin.getY() + searchOrder.getOffsetY());
+			testLocation.setZ(origin.getZ() + searchOrder.getOffsetZ());
+			testLocation.setYaw(searchOrder.getYaw());
+
+			// get result for test location
+			searchResult = validateChestLocation(player, testLocation, chestSize);
+
+			// if test location is valid, set copy of test location in search result object and return
+			if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS)) {
+				searchResult.setLocation(testLocation.clone());
+				return searchResult;
+			}
+		}
+		return searchResult;
+	}
+
+}
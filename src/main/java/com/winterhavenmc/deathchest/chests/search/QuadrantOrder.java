@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+
+/**
+ * The order of locations tested by the quadrant search. Locations are searched in the vertical axis upward,
+ * then downward; at each height, all x,z offsets within search distance are tested in each quadrant,
+ * each at the origin yaw and then rotated 90 degrees.
+ */
+final class QuadrantOrder implements SearchOrder {
+
+	/**
+	 * An enum that implements a cartesian quadrant system, where each member defines the sign of the x and z coordinates
+	 */
+	private enum Quadrant {
+		I(1,1),
+		II(-1,1),
+		III(-1,-1),
+		IV(1,-1);
+
+		final int xFactor;
+		final int zFactor;
+
+
+		/**
+		 * Constructor for Quadrant enum
+		 * @param xFactor the x multiplier to achieve negative or positive sign for the quadrant member
+		 * @param zFactor the z multiplier to achieve negative or positive sign for the quadrant member
+		 */
+		Quadrant(final int xFactor, final int zFactor) {
+
+			this.xFactor = xFactor;
+			this.zFactor = zFactor;
+		}
+	}
+
+	private final static AbstractSearch.VerticalAxis[] AXES = AbstractSearch.VerticalAxis.values();
+	private final static Quadrant[] QUADRANTS = Quadrant.values();
+
+	private final int searchDistance;
+	private final int originY;
+	private final int minY;
+	private final int maxY;
+	private final float originYaw;
+
+	// loop counters, from outermost to innermost
+	private int axisIndex;
+	private int y;
+	private int x;
+	private int z;
+	private int quadrantIndex;
+	private int rotation;
+
+	private boolean started;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param searchDistance the configured search distance
+	 * @param originY the y coordinate of the search origin
+	 * @param originYaw the yaw of the search origin
+	 * @param minY the world min height
+	 * @param maxY the world max height
+	 */
+	QuadrantOrder(final int searchDistance, final int originY, final float originYaw, final int minY, final int maxY) {
+		this.searchDistance = searchDistance;
+		this.originY = originY;
+		this.originYaw = originYaw;
+		this.minY = minY;
+		this.maxY = maxY;
+	}
+
+
+	@Override
+	public boolean next() {
+
+		while (increment()) {
+
+			final AbstractSearch.VerticalAxis verticalAxis = AXES[axisIndex];
+			final int testY = originY + y * verticalAxis.yFactor;
+
+			// if world max or min height reached, skip remainder of vertical axis
+			if (testY >= maxY || testY < minY) {
+				skipVerticalAxis();
+				continue;
+			}
+
+			// skip test in lower vertical axis when y == 0
+			if (verticalAxis.equals(AbstractSearch.VerticalAxis.LOWER) && y == 0) {
+				continue;
+			}
+
+			// only test x == 0 or z == 0 in first quadrant
+			if (!QUADRANTS[quadrantIndex].equals(Quadrant.I) && (x == 0 || z == 0)) {
+				continue;
+			}
+
+			return true;
+		}
+
+		return false;
+	}
+
+
+	@Override
+	public int getOffsetX() {
+		return x * QUADRANTS[quadrantIndex].xFactor;
+	}
+
+
+	@Override
+	public int getOffsetY() {
+		return y * AXES[axisIndex].yFactor;
+	}
+
+
+	@Override
+	public int getOffsetZ() {
+		return z * QUADRANTS[quadrantIndex].zFactor;
+	}
+
+
+	@Override
+	public float getYaw() {
+		return rotation == 0 ? originYaw : originYaw - 90;
+	}
+
+
+	/**
+	 * Advance loop counters by one, innermost first
+	 *
+	 * @return {@code true} if the counters were advanced, {@code false} if the outermost loop is finished
+	 */
+	private boolean increment() {
+
+		if (searchDistance < 1 || axisIndex >= AXES.length) {
+			return false;
+		}
+
+		if (!started) {
+			started = true;
+			return true;
+		}
+
+		if (++rotation < 2) {
+			return true;
+		}
+		rotation = 0;
+
+		if (++quadrantIndex < QUADRANTS.length) {
+			return true;
+		}
+		quadrantIndex = 0;
+
+		if (++z < searchDistance) {
+			return true;
+		}
+		z = 0;
+
+		if (++x < searchDistance) {
+			return true;
+		}
+		x = 0;
+
+		if (++y < searchDistance) {
+			return true;
+		}
+		y = 0;
+
+		return ++axisIndex < AXES.length;
+	}
+
+
+	/**
+	 * Set loop counters to the last location of the current vertical axis, so the next increment begins the next axis
+	 */
+	private void skipVerticalAxis() {
+		y = searchDistance - 1;
+		x = searchDistance - 1;
+		z = searchDistance - 1;
+		quadrantIndex = QUADRANTS.length - 1;
+		rotation = 1;
+	}
+
+}
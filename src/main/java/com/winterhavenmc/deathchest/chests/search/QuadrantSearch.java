@@ -29,32 +29,6 @@ import org.bukkit.entity.Player;
 public final class QuadrantSearch extends AbstractSearch {
 
 
-	/**
-	 * An enum that implements a cartesian quadrant system, where each member defines the sign of the x and z coordinates
-	 */
-	private enum Quadrant {
-		I(1,1),
-		II(-1,1),
-		III(-1,-1),
-		IV(1,-1);
-
-		final int xFactor;
-		final int zFactor;
-
-
-		/**
-		 * Constructor for Quadrant enum
-		 * @param xFactor the x multiplier to achieve negative or positive sign for the quadrant member
-		 * @param zFactor the z multiplier to achieve negative or positive sign for the quadrant member
-		 */
-		Quadrant(final int xFactor, final int zFactor) {
-
-			this.xFactor = xFactor;
-			this.zFactor = zFactor;
-		}
-	}
-
-
 	/**
 	 * Class constructor
 	 * @param plugin reference to plugin main class
@@ -71,107 +45,43 @@ public final class QuadrantSearch extends AbstractSearch {
 
 
 	/**
-	 * Execute search algorithm
+	 * Search for a valid chest location
 	 */
 	@Override
-	public SearchResult execute() {
-
-		// get player death location
-		Location origin = player.getLocation();
-
-		// round y to account for fractional height blocks
-		origin.setY(Math.round(origin.getY()));
+	SearchResult search() {
 
-		// get min y for origin
-		int minY = 0;
-		if (origin.getWorld() != null) {
-			//TODO: remove try/catch when minimum support is declared to be 1.16.5
-			try {
-				minY = origin.getWorld().getMinHeight();
-			}
-			catch (NoSuchMethodError error) {
-				plugin.getLogger().warning("An error occurred while trying to determine world min height. Defaulting to 0.");
-			}
-		}
+		// get search origin from player death location
+		Location origin = getSearchOrigin(plugin, player.getLocation(), placeAboveVoid);
 
-		// if player died below world min height and place-above-void configured true, start search at world min height
-		if (origin.getY() < minY) {
-			if (placeAboveVoid) {
-				origin.setY(minY);
-			}
-			else {
-				searchResult.setResultCode(SearchResultCode.VOID);
-				searchResult.setLocation(origin);
-				return searchResult;
-			}
+		// if player died below world min height and place-above-void is configured false, return void result
+		if (origin == null) {
+			searchResult.setResultCode(SearchResultCode.VOID);
+			searchResult.setLocation(player.getLocation());
+			return searchResult;
 		}
 
-		// if player died above world max build height, start search 1 block below max build height
-		origin.setY(Math.min(origin.getY(), player.getWorld().getMaxHeight() - 1));
-
-		// set test location to copy of origin
-		Location testLocation = origin.clone();
-
-		// search all locations in vertical axis upward, then downward
-		for (VerticalAxis verticalAxis : VerticalAxis.values()) {
-			for (int y = 0; y < searchDistance; y++) {
-
-				// if world max height reached, break loop
-				if (y * verticalAxis.yFactor + testLocation.getY() >= player.getWorld().getMaxHeight()) {
-					break;
-				}
-
-				// if world min height reached, break loop
-				if (y * verticalAxis.yFactor + testLocation.getY() < minY) {
-					break;
-				}
-
-				// skip test in upper vertical axis when y == 0
-				if (verticalAxis.equals(VerticalAxis.LOWER) && y == 0) {
-					continue;
-				}
+		// get order of locations to search
+		QuadrantOrder searchOrder = new QuadrantOrder(searchDistance,
+				origin.getBlockY(),
+				origin.getYaw(),
+				getMinHeight(plugin, player.getWorld()),
+				player.getWorld().getMaxHeight());
 
-				// iterate over all locations within search distance until a valid location is found
-				for (int x = 0; x < searchDistance; x++) {
-					for (int z = 0; z < searchDistance; z++) {
+		// test all locations within search distance until a valid location is found
+		while (searchOrder.next()) {
 
-						// search x,z coordinates in each quadrant
-						for (Quadrant quadrant : Quadrant.values()) {
+			// set new test location
+			Location testLocation = origin.clone().add(searchOrder.getOffsetX(),
+					searchOrder.getOffsetY(),
+					searchOrder.getOffsetZ());
+			testLocation.setYaw(searchOrder.getYaw());
 
-							// only test x == 0 or z == 0 in first quadrant
-							if (!quadrant.equals(Quadrant.I) && (x == 0 || z == 0)) {
-								continue;
-							}
+			// get result for test location
+			searchResult = validateChestLocation(player, testLocation, chestSize);
 
-							// set new test location
-							testLocation.add(x * quadrant.xFactor,
-									y * verticalAxis.yFactor,
-									z * quadrant.zFactor);
-
-							// get result for test location
-							searchResult = validateChestLocation(player, testLocation, chestSize);
-
-							// if test location is valid, return search result object
-							if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS)) {
-								return searchResult;
-							}
-
-							// rotate test location 90 degrees
-							testLocation.setYaw(testLocation.getYaw() - 90);
-
-							// get result for test location
-							searchResult = validateChestLocation(player, testLocation, chestSize);
-
-							// if test location is valid, return search result object
-							if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS)) {
-								return searchResult;
-							}
-
-							// reset test location
-							testLocation = origin.clone();
-						}
-					}
-				}
+			// if test location is valid, return search result object
+			if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS)) {
+				return searchResult;
 			}
 		}
 		return searchResult;
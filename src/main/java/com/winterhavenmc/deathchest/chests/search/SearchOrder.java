@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+
+/**
+ * A resumable enumeration of the locations tested by a search, as block offsets from the search origin,
+ * each with the yaw the chest would face. An instance holds no world state, so it may be advanced from
+ * any thread, but not from two at once.
+ */
+interface SearchOrder {
+
+	/**
+	 * Advance to the next location to test
+	 *
+	 * @return {@code true} if there is a next location, {@code false} if all locations have been enumerated
+	 */
+	boolean next();
+
+	/**
+	 * @return the x offset of the current location from the origin
+	 */
+	int getOffsetX();
+
+	/**
+	 * @return the y offset of the current location from the origin
+	 */
+	int getOffsetY();
+
+	/**
+	 * @return the z offset of the current location from the origin
+	 */
+	int getOffsetZ();
+
+	/**
+	 * @return the yaw of the current location; the origin yaw, or the origin yaw rotated 90 degrees
+	 */
+	float getYaw();
+
+}
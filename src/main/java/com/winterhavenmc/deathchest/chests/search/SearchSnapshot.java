@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.LocationUtilities;
+import com.winterhavenmc.deathchest.chests.MaterialTable;
+import com.winterhavenmc.deathchest.util.LongObjectHashMap;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A snapshot of the chunks around a player death location, captured on the server thread when the player dies.
+ * During the chest deployment delay, an asynchronous task scans the snapshot in search order for locations whose
+ * blocks are replaceable and not above a path. When the chest is deployed, only these candidate locations are
+ * checked against the live world, protection plugins and spawn protection, on the server thread.
+ * If the background scan finds no valid candidate among its first batch, the scan continues over the snapshot
+ * on the server thread.
+ */
+public final class SearchSnapshot {
+
+	// number of candidate locations found by the background scan
+	private final static int CANDIDATE_BATCH_SIZE = 256;
+
+	/**
+	 * A location that passed the block checks in the snapshot
+	 */
+	static final class Candidate {
+
+		final int offsetX;
+		final int offsetY;
+		final int offsetZ;
+		final float yaw;
+
+		// true if the block to the right is also replaceable, for the left chest of a double chest
+		final boolean doubleCandidate;
+
+		private Candidate(final SearchOrder searchOrder, final boolean doubleCandidate) {
+			this.offsetX = searchOrder.getOffsetX();
+			this.offsetY = searchOrder.getOffsetY();
+			this.offsetZ = searchOrder.getOffsetZ();
+			this.yaw = searchOrder.getYaw();
+			this.doubleCandidate = doubleCandidate;
+		}
+	}
+
+	private final Location deathLocation;
+	private final Location origin;
+	private final int minY;
+	private final LongObjectHashMap<ChunkSnapshot> chunkSnapshots;
+	private final MaterialTable materialTable;
+	private final SearchOrder searchOrder;
+
+	// candidates in search order; written by the background scan until it completes, then by the server thread
+	private final List<Candidate> candidates = new ArrayList<>();
+	private boolean exhausted;
+	private volatile boolean scanComplete;
+
+
+	/**
+	 * Class constructor
+	 */
+	private SearchSnapshot(final PluginMain plugin, final Location deathLocation, final Location origin) {
+
+		this.deathLocation = deathLocation;
+		this.origin = origin;
+
+		if (origin == null) {
+			this.minY = 0;
+			this.chunkSnapshots = null;
+			this.materialTable = null;
+			this.searchOrder = null;
+			this.exhausted = true;
+			this.scanComplete = true;
+			return;
+		}
+
+		final World world = origin.getWorld();
+		final int searchDistance = plugin.getConfig().getInt("search-distance");
+
+		this.minY = AbstractSearch.getMinHeight(plugin, world);
+		this.materialTable = plugin.chestManager.getMaterialTable();
+		this.searchOrder = SearchStrategy.match(plugin.getConfig().getString("search-strategy"))
+				.createOrder(searchDistance, origin.getBlockY(), origin.getYaw(), minY, world.getMaxHeight());
+
+		// capture loaded chunks within search distance, plus one block for the left chest of a double chest
+		this.chunkSnapshots = new LongObjectHashMap<>();
+		for (int chunkX = (origin.getBlockX() - searchDistance) >> 4; chunkX <= (origin.getBlockX() + searchDistance) >> 4; chunkX++) {
+			for (int chunkZ = (origin.getBlockZ() - searchDistance) >> 4; chunkZ <= (origin.getBlockZ() + searchDistance) >> 4; chunkZ++) {
+				if (world.isChunkLoaded(chunkX, chunkZ)) {
+					chunkSnapshots.put(chunkKey(chunkX, chunkZ), world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Capture the chunks around a player's location and start the background scan. Must be called on the server thread.
+	 *
+	 * @param plugin reference to main class instance
+	 * @param player the player whose death triggered a death chest deployment
+	 * @return the search snapshot
+	 */
+	public static SearchSnapshot capture(final PluginMain plugin, final Player player) {
+
+		final Location deathLocation = player.getLocation();
+		final Location origin = AbstractSearch.getSearchOrigin(plugin, deathLocation,
+				plugin.getConfig().getBoolean("place-above-void"));
+
+		final SearchSnapshot searchSnapshot = new SearchSnapshot(plugin, deathLocation, origin);
+
+		// start background scan
+		if (!searchSnapshot.scanComplete) {
+			plugin.getServer().getScheduler().runTaskAsynchronously(plugin, searchSnapshot::scan);
+		}
+
+		return searchSnapshot;
+	}
+
+
+	/**
+	 * Check if the background scan has finished, after which the snapshot may be searched on the server thread
+	 *
+	 * @return {@code true} if the background scan has finished, {@code false} if not
+	 */
+	public boolean isScanComplete() {
+		return scanComplete;
+	}
+
+
+	/**
+	 * Find the first batch of candidates. Runs on an asynchronous task.
+	 */
+	private void scan() {
+		try {
+			while (candidates.size() < CANDIDATE_BATCH_SIZE && findNextCandidate()) {
+				// candidate added
+			}
+		}
+		finally {
+			scanComplete = true;
+		}
+	}
+
+
+	/**
+	 * Get a candidate location by index, continuing the scan on the server thread if the index is past
+	 * the candidates found so far. Must only be called after the background scan is complete.
+	 *
+	 * @param index the index of the candidate
+	 * @return the candidate, or null if there are no more candidates
+	 */
+	Candidate getCandidate(final int index) {
+
+		while (index >= candidates.size()) {
+			if (!findNextCandidate()) {
+				return null;
+			}
+		}
+
+		return candidates.get(index);
+	}
+
+
+	/**
+	 * Advance the search order to the next location whose chest block passes the block checks, and add it to the candidates
+	 *
+	 * @return {@code true} if a candidate was added, {@code false} if the search order is exhausted
+	 */
+	private boolean findNextCandidate() {
+
+		while (!exhausted && searchOrder.next()) {
+
+			final int x = origin.getBlockX() + searchOrder.getOffsetX();
+			final int y = origin.getBlockY() + searchOrder.getOffsetY();
+			final int z = origin.getBlockZ() + searchOrder.getOffsetZ();
+
+			if (isValidBlock(x, y, z)) {
+
+				// check block to right, as LocationUtilities.getLocationToRight does for the left chest
+				final BlockFace rightFace = LocationUtilities.getCardinalBlockFace(searchOrder.getYaw() - 90);
+				final boolean doubleCandidate = isValidBlock(x + rightFace.getModX(), y, z + rightFace.getModZ());
+
+				candidates.add(new Candidate(searchOrder, doubleCandidate));
+				return true;
+			}
+		}
+
+		exhausted = true;
+		return false;
+	}
+
+
+	/**
+	 * Check if a block in the snapshot is replaceable and not above a path. Blocks in chunks that were not loaded
+	 * are not known, so they are passed, to be checked in the world.
+	 *
+	 * @param x the block x coordinate
+	 * @param y the block y coordinate
+	 * @param z the block z coordinate
+	 * @return {@code true} if the block may be a valid chest location, {@code false} if it is not
+	 */
+	private boolean isValidBlock(final int x, final int y, final int z) {
+
+		final ChunkSnapshot chunkSnapshot = chunkSnapshots.get(chunkKey(x >> 4, z >> 4));
+
+		if (chunkSnapshot == null) {
+			return true;
+		}
+
+		// if block is not replaceable, return false
+		if (!materialTable.isReplaceable(chunkSnapshot.getBlockType(x & 15, y, z & 15))) {
+			return false;
+		}
+
+		// if block is above path, return false
+		return y - 1 < minY || !MaterialTable.isPath(chunkSnapshot.getBlockType(x & 15, y - 1, z & 15));
+	}
+
+
+	/**
+	 * @return the player death location
+	 */
+	Location getDeathLocation() {
+		return deathLocation;
+	}
+
+
+	/**
+	 * @return the search origin, or null if the player died below world min height and place-above-void is configured false
+	 */
+	Location getOrigin() {
+		return origin;
+	}
+
+
+	private static long chunkKey(final int chunkX, final int chunkZ) {
+		return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+	}
+
+}
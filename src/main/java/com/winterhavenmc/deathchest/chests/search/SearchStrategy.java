@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+
+/**
+ * An enum whose values represent the order in which locations are tested when searching for a chest location
+ */
+public enum SearchStrategy {
+
+	/**
+	 * Search upward, then downward; at each height, search outward in each quadrant along the x, then z axis
+	 */
+	QUADRANT {
+		@Override
+		SearchOrder createOrder(final int searchDistance, final int originY, final float originYaw, final int minY, final int maxY) {
+			return new QuadrantOrder(searchDistance, originY, originYaw, minY, maxY);
+		}
+	},
+
+	/**
+	 * Search locations in order of distance from the death location, nearest first.
+	 * Search distances too great for a nearest order table are searched in quadrant order.
+	 */
+	NEAREST {
+		@Override
+		SearchOrder createOrder(final int searchDistance, final int originY, final float originYaw, final int minY, final int maxY) {
+			if (searchDistance > NearestOrder.MAX_SEARCH_DISTANCE) {
+				return QUADRANT.createOrder(searchDistance, originY, originYaw, minY, maxY);
+			}
+			return new NearestOrder(searchDistance, originY, originYaw, minY, maxY);
+		}
+	},
+	;
+
+	// default strategy if configured strategy does not match
+	private final static SearchStrategy defaultStrategy = SearchStrategy.QUADRANT;
+
+
+	/**
+	 * Create the search order for this strategy
+	 *
+	 * @param searchDistance the configured search distance
+	 * @param originY the y coordinate of the search origin
+	 * @param originYaw the yaw of the search origin
+	 * @param minY the world min height
+	 * @param maxY the world max height
+	 * @return a new search order positioned before the first location
+	 */
+	abstract SearchOrder createOrder(int searchDistance, int originY, float originYaw, int minY, int maxY);
+
+
+	/**
+	 * Attempt to match a SearchStrategy by name
+	 *
+	 * @param name the name to attempt to match to a SearchStrategy
+	 * @return A SearchStrategy whose name matched the passed string,
+	 * or the default SearchStrategy if no match
+	 */
+	public static SearchStrategy match(final String name) {
+		for (SearchStrategy strategy : SearchStrategy.values()) {
+			if (strategy.toString().equalsIgnoreCase(name)) {
+				return strategy;
+			}
+		}
+		// no match; return default strategy
+		return defaultStrategy;
+	}
+
+}
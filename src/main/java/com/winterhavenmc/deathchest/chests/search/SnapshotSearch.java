@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.chests.search;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.ChestSize;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+
+/**
+ * A class that implements the configured search strategy over the candidate locations of a search snapshot.
+ * Only candidates whose blocks passed the checks in the snapshot are tested in the world.
+ */
+public final class SnapshotSearch extends AbstractSearch {
+
+	private final SearchSnapshot searchSnapshot;
+
+
+	/**
+	 * Class constructor
+	 * @param plugin reference to plugin main class
+	 * @param player the player whose death triggered a death chest deployment
+	 * @param chestSize the size of chest required to accommodate the players inventory
+	 * @param searchSnapshot the search snapshot captured at the player's death, whose background scan is complete
+	 */
+	public SnapshotSearch(final PluginMain plugin,
+						  final Player player,
+						  final ChestSize chestSize,
+						  final SearchSnapshot searchSnapshot) {
+
+		// call superclass constructor
+		super(plugin, player, chestSize);
+
+		this.searchSnapshot = searchSnapshot;
+	}
+
+
+	/**
+	 * Search for a valid chest location
+	 */
+	@Override
+	SearchResult search() {
+
+		// get search origin
+		Location origin = searchSnapshot.getOrigin();
+
+		// if player died below world min height and place-above-void is configured false, return void result
+		if (origin == null) {
+			searchResult.setResultCode(SearchResultCode.VOID);
+			searchResult.setLocation(searchSnapshot.getDeathLocation());
+			return searchResult;
+		}
+
+		// test candidate locations until a valid location is found
+		SearchSnapshot.Candidate candidate;
+		for (int index = 0; (candidate = searchSnapshot.getCandidate(index)) != null; index++) {
+
+			// if double chest is required, skip candidates with no room for left chest once a single chest location is found
+			if (chestSize.equals(ChestSize.DOUBLE) && !candidate.doubleCandidate && hasSingleChestLocation()) {
+				continue;
+			}
+
+			// set new test location
+			Location testLocation = origin.clone().add(candidate.offsetX, candidate.offsetY, candidate.offsetZ);
+			testLocation.setYaw(candidate.yaw);
+
+			// get result for test location
+			searchResult = validateChestLocation(player, testLocation, chestSize);
+
+			// if test location is valid, return search result object
+			if (searchResult.getResultCode().equals(SearchResultCode.SUCCESS)) {
+				return searchResult;
+			}
+		}
+		return searchResult;
+	}
+
+}
@@ -76,13 +76,10 @@ final class ListCommand extends SubcommandAbstract {
 
 		if (args.length == 2) {
 			if (sender.hasPermission("deathchest.list.other")) {
-				// get map of chest ownerUUID,name from all current chests
-				Map<UUID, String> chestOwners = new HashMap<>();
-				for (DeathChest deathChest : plugin.chestManager.getAllChests()) {
-					chestOwners.put(deathChest.getOwnerUid(),
-							plugin.getServer().getOfflinePlayer(deathChest.getOwnerUid()).getName());
+				// add names of all current chest owners
+				for (UUID ownerUid : plugin.chestManager.getChestOwners()) {
+					returnList.add(plugin.getServer().getOfflinePlayer(ownerUid).getName());
 				}
-				returnList.addAll(chestOwners.values());
 			}
 		}
 
@@ -117,7 +114,7 @@ final class ListCommand extends SubcommandAbstract {
 		}
 
 		// create empty list of records
-		List<DeathChest> displayRecords = new LinkedList<>();
+		List<DeathChest> displayRecords = new ArrayList<>();
 
 		// should listing include player name
 		boolean displayNames = true;
@@ -131,7 +128,7 @@ final class ListCommand extends SubcommandAbstract {
 			}
 			// else add all chests to display list
 			else {
-				displayRecords = new LinkedList<>(plugin.chestManager.getAllChests());
+				displayRecords = plugin.chestManager.getAllChestsByExpiration();
 			}
 		}
 
@@ -141,16 +138,12 @@ final class ListCommand extends SubcommandAbstract {
 
 				// if wildcard character entered, add all chest records to display list
 				if (passedPlayerName.equals("*")) {
-					displayRecords = new LinkedList<>(plugin.chestManager.getAllChests());
+					displayRecords = plugin.chestManager.getAllChestsByExpiration();
 				}
 
 				// else match chest records to entered target player name prefix
 				else {
-					for (DeathChest deathChest : plugin.chestManager.getAllChests()) {
-						if (deathChest.getOwnerName().toLowerCase().startsWith(passedPlayerName.toLowerCase())) {
-							displayRecords.add(deathChest);
-						}
-					}
+					displayRecords = getChestsForNamePrefix(passedPlayerName);
 				}
 			}
 
@@ -168,9 +161,6 @@ final class ListCommand extends SubcommandAbstract {
 			return true;
 		}
 
-		// sort displayRecords
-		displayRecords.sort(Comparator.comparingLong(DeathChest::getExpirationTime));
-
 		// get list page size from configuration
 		int itemsPerPage = plugin.getConfig().getInt("list-page-size-player");
 		if (sender instanceof ConsoleCommandSender) {
@@ -249,10 +239,33 @@ final class ListCommand extends SubcommandAbstract {
 
 
 	private List<DeathChest> getChestsForPlayer(final Player player) {
-		List<DeathChest> returnList = new LinkedList<>();
+		return plugin.chestManager.getChestsByOwner(player.getUniqueId());
+	}
+
+
+	private List<DeathChest> getChestsForNamePrefix(final String namePrefix) {
+
+		// get owners whose names match prefix, looking up each owner's name once
+		Set<UUID> matchedOwners = new HashSet<>();
+		for (UUID ownerUid : plugin.chestManager.getChestOwners()) {
+			String ownerName = plugin.getServer().getOfflinePlayer(ownerUid).getName();
+			if (ownerName != null && ownerName.toLowerCase().startsWith(namePrefix.toLowerCase())) {
+				matchedOwners.add(ownerUid);
+			}
+		}
+
+		// if no owners or a single owner matched, owner index is already sorted
+		if (matchedOwners.isEmpty()) {
+			return new ArrayList<>();
+		}
+		if (matchedOwners.size() == 1) {
+			return plugin.chestManager.getChestsByOwner(matchedOwners.iterator().next());
+		}
 
-		for (DeathChest deathChest : plugin.chestManager.getAllChests()) {
-			if (deathChest.getOwnerUid().equals(player.getUniqueId())) {
+		// else filter all chests, which are already sorted
+		List<DeathChest> returnList = new ArrayList<>();
+		for (DeathChest deathChest : plugin.chestManager.getAllChestsByExpiration()) {
+			if (matchedOwners.contains(deathChest.getOwnerUid())) {
 				returnList.add(deathChest);
 			}
 		}
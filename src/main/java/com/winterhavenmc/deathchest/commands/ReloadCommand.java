@@ -75,6 +75,9 @@ final class ReloadCommand extends SubcommandAbstract {
 		// reload ChestManager
 		plugin.chestManager.reload();
 
+		// clear cached protection plugin decisions
+		plugin.protectionPluginRegistry.reload();
+
 		// send success message
 		plugin.messageBuilder.build(sender, MessageId.COMMAND_SUCCESS_RELOAD).send();
 
@@ -122,12 +122,27 @@ final class StatusCommand extends SubcommandAbstract {
 			sender.sendMessage(ChatColor.AQUA + "  [ NONE ENABLED ]");
 		}
 
+		for (Map.Entry<String, String> entry : plugin.protectionPluginRegistry.getStatistics().entrySet()) {
+			sender.sendMessage(ChatColor.AQUA + "  " + entry.getKey() + ": " + ChatColor.RESET + entry.getValue());
+		}
+
 		sender.sendMessage(ChatColor.GREEN + "Enabled Worlds: " + ChatColor.RESET +
 				plugin.worldManager.getEnabledWorldNames().toString());
 
 		sender.sendMessage(ChatColor.GREEN + "Replaceable Blocks: " + ChatColor.RESET +
 				plugin.chestManager.getReplaceableBlocks());
 
+		sender.sendMessage(ChatColor.GREEN + "Datastore: " + ChatColor.RESET +
+				plugin.chestManager.getDataStoreType());
+
+		for (Map.Entry<String, String> entry : plugin.chestManager.getDataStoreStatistics().entrySet()) {
+			sender.sendMessage(ChatColor.AQUA + "  " + entry.getKey() + ": " + ChatColor.RESET + entry.getValue());
+		}
+
+		for (Map.Entry<String, String> entry : plugin.chestManager.getDeploymentStatistics().entrySet()) {
+			sender.sendMessage(ChatColor.GREEN + entry.getKey() + ": " + ChatColor.RESET + entry.getValue());
+		}
+
 		return true;
 	}
 
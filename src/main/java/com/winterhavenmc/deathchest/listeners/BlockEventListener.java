@@ -23,9 +23,7 @@ import com.winterhavenmc.deathchest.permissions.PermissionCheck;
 import com.winterhavenmc.deathchest.permissions.ResultAction;
 import com.winterhavenmc.deathchest.chests.DeathChest;
 
-import com.winterhavenmc.deathchest.chests.LocationUtilities;
 import org.bukkit.Material;
-import org.bukkit.Location;
 import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -37,9 +35,6 @@ import org.bukkit.event.block.BlockPhysicsEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
 
-import java.util.Collection;
-import java.util.LinkedList;
-
 
 /**
  * A class that contains {@code EventHandler} methods to process block related events
@@ -83,16 +78,16 @@ public final class BlockEventListener implements Listener {
 	public void onBlockPlace(final BlockPlaceEvent event) {
 
 		final Block block = event.getBlock();
-		final Location location = block.getLocation();
 
 		// if placed block is not a chest, do nothing and return
 		if (!block.getType().equals(Material.CHEST)) {
 			return;
 		}
 
-		// check for adjacent death chests and cancel event if found
-		if (plugin.chestManager.isChestBlockChest(LocationUtilities.getBlockToLeft(location))
-				|| plugin.chestManager.isChestBlockChest(LocationUtilities.getBlockToRight(location))) {
+		// check for adjacent death chests and cancel event if found; a block location has zero yaw,
+		// so the blocks to its left and right are east and west
+		if (plugin.chestManager.isChestBlockChest(block.getWorld(), block.getX() + 1, block.getY(), block.getZ())
+				|| plugin.chestManager.isChestBlockChest(block.getWorld(), block.getX() - 1, block.getY(), block.getZ())) {
 			event.setCancelled(true);
 		}
 	}
@@ -108,6 +103,12 @@ public final class BlockEventListener implements Listener {
 	@EventHandler(priority = EventPriority.LOW)
 	public void onBlockBreak(final BlockBreakEvent event) {
 
+		// if block may be a death chest block that is not loaded yet, cancel event and return
+		if (plugin.chestManager.isLoadPending(event.getBlock())) {
+			event.setCancelled(true);
+			return;
+		}
+
 		// get instance of DeathChest from event block
 		final DeathChest deathChest = plugin.chestManager.getChest(event.getBlock());
 
@@ -138,17 +139,8 @@ public final class BlockEventListener implements Listener {
 			return;
 		}
 
-		// iterate through all blocks in explosion event and remove those that are DeathChest chests or signs
-		Collection<Block> blocks = new LinkedList<>(event.blockList());
-		for (Block block : blocks) {
-			if (plugin.chestManager.isChestBlock(block)) {
-				// remove death chest block from blocks exploded list if protection has not expired
-				DeathChest deathChest = plugin.chestManager.getChest(block);
-				if (deathChest != null && !deathChest.protectionExpired()) {
-					event.blockList().remove(block);
-				}
-			}
-		}
+		// remove DeathChest chests and signs whose protection has not expired from blocks exploded list
+		plugin.chestManager.removeProtectedBlocks(event.getLocation().getWorld(), event.blockList());
 	}
 
 
@@ -166,17 +158,8 @@ public final class BlockEventListener implements Listener {
 			return;
 		}
 
-		// iterate through all blocks in explosion event and remove those that are DeathChest chests or signs
-		Collection<Block> blocks = new LinkedList<>(event.blockList());
-		for (Block block : blocks) {
-			if (plugin.chestManager.isChestBlock(block)) {
-				// remove death chest block from blocks exploded list if protection has not expired
-				DeathChest deathChest = plugin.chestManager.getChest(block);
-				if (deathChest != null && !deathChest.protectionExpired()) {
-					event.blockList().remove(block);
-				}
-			}
-		}
+		// remove DeathChest chests and signs whose protection has not expired from blocks exploded list
+		plugin.chestManager.removeProtectedBlocks(event.getBlock().getWorld(), event.blockList());
 	}
 
 
@@ -98,8 +98,9 @@ public final class InventoryEventListener implements Listener {
 		// get event player
 		final Player player = (Player) event.getPlayer();
 
-		// if access is blocked by a protection plugin, do nothing and return (allow protection plugin to handle event)
-		ProtectionCheckResult protectionCheckResult = plugin.protectionPluginRegistry.accessAllowed(player, deathChest.getLocation());
+		// if access is blocked by a protection plugin, do nothing and return (allow protection plugin to handle event);
+		// if player opened chest by interacting with it, the result of the interaction check is used
+		ProtectionCheckResult protectionCheckResult = plugin.protectionPluginRegistry.accessAllowedOnOpen(player, deathChest.getLocation());
 
 		if (permissionCheck.isPluginBlockingAccess(protectionCheckResult)) {
 			// do not cancel event - allow protection plugin to handle it
@@ -111,6 +112,26 @@ public final class InventoryEventListener implements Listener {
 	}
 
 
+	/**
+	 * Inventory open monitor event handler<br>
+	 * Register an opened death chest inventory, so that later events for the inventory
+	 * can find the death chest without getting the inventory holder
+	 *
+	 * @param event the event being handled by this method
+	 */
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onInventoryOpened(final InventoryOpenEvent event) {
+
+		// get death chest for event inventory
+		final DeathChest deathChest = plugin.chestManager.getChest(event.getInventory());
+
+		// if death chest is not null, register inventory session
+		if (deathChest != null) {
+			plugin.chestManager.getInventorySessions().open(event.getInventory(), deathChest, event.getPlayer());
+		}
+	}
+
+
 	/**
 	 * Remove empty death chest on inventory close event
 	 *
@@ -122,8 +143,8 @@ public final class InventoryEventListener implements Listener {
 		// get event inventory
 		final Inventory inventory = event.getInventory();
 
-		// get death chest from inventory
-		final DeathChest deathChest = plugin.chestManager.getChest(inventory);
+		// release inventory session, getting death chest from inventory
+		final DeathChest deathChest = plugin.chestManager.getInventorySessions().close(inventory, event.getPlayer());
 
 		// if death chest is null, do nothing and return
 		if (deathChest == null) {
@@ -149,6 +170,12 @@ public final class InventoryEventListener implements Listener {
 		final Inventory destination = event.getDestination();
 		final Inventory source = event.getSource();
 
+		// prevent moving items from or to chests that may be death chests not loaded yet
+		if (plugin.chestManager.isLoadPending(source) || plugin.chestManager.isLoadPending(destination)) {
+			event.setCancelled(true);
+			return;
+		}
+
 		// prevent extracting items from death chest using hopper
 		if (plugin.chestManager.isDeathChestInventory(source)) {
 			event.setCancelled(true);
@@ -182,8 +209,8 @@ public final class InventoryEventListener implements Listener {
 		final Inventory inventory = event.getInventory();
 		final InventoryAction action = event.getAction();
 
-		// if inventory is a death chest inventory
-		if (plugin.chestManager.isDeathChestInventory(inventory)) {
+		// if inventory is an open death chest inventory
+		if (plugin.chestManager.getInventorySessions().contains(inventory)) {
 
 			// if click action is place, test for chest slots
 			if (inventoryPlaceActions.contains(action)) {
@@ -225,8 +252,8 @@ public final class InventoryEventListener implements Listener {
 		// get inventory from event
 		final Inventory inventory = event.getInventory();
 
-		// if inventory is not a death chest inventory, do nothing and return
-		if (!plugin.chestManager.isDeathChestInventory(inventory)) {
+		// if inventory is not an open death chest inventory, do nothing and return
+		if (!plugin.chestManager.getInventorySessions().contains(inventory)) {
 			return;
 		}
 
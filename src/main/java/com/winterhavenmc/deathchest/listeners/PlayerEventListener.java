@@ -19,13 +19,13 @@ package com.winterhavenmc.deathchest.listeners;
 
 import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.DeathChest;
+import com.winterhavenmc.deathchest.chests.search.SearchSnapshot;
 import com.winterhavenmc.deathchest.messages.Macro;
 import com.winterhavenmc.deathchest.messages.MessageId;
 import com.winterhavenmc.deathchest.permissions.InventoryOpenAction;
 import com.winterhavenmc.deathchest.permissions.PermissionCheck;
 import com.winterhavenmc.deathchest.permissions.QuickLootAction;
 import com.winterhavenmc.deathchest.permissions.ResultAction;
-import com.winterhavenmc.deathchest.tasks.DeployChestTask;
 
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -137,9 +137,14 @@ public final class PlayerEventListener implements Listener {
 		// remove all items from event drops
 		event.getDrops().clear();
 
-		// deploy DeathChest after configured delay
-		new DeployChestTask(plugin, player, droppedItems)
-				.runTaskLater(plugin, plugin.getConfig().getInt("chest-deployment-delay"));
+		// if configured, capture chunks around death location to search in the background during the deployment delay
+		SearchSnapshot searchSnapshot = null;
+		if (plugin.getConfig().getBoolean("async-search")) {
+			searchSnapshot = SearchSnapshot.capture(plugin, player);
+		}
+
+		// queue DeathChest for deployment after configured delay, or when background search is complete
+		plugin.chestManager.getDeploymentQueue().add(player, droppedItems, searchSnapshot);
 	}
 
 
@@ -153,6 +158,12 @@ public final class PlayerEventListener implements Listener {
 	@EventHandler(priority = EventPriority.LOW)
 	public void onPlayerInteract(final PlayerInteractEvent event) {
 
+		// if clicked block may be a death chest block that is not loaded yet, cancel event and return
+		if (plugin.chestManager.isLoadPending(event.getClickedBlock())) {
+			event.setCancelled(true);
+			return;
+		}
+
 		// get DeathChest from event clicked block
 		final DeathChest deathChest = plugin.chestManager.getChest(event.getClickedBlock());
 
@@ -184,8 +184,9 @@ final public class PermissionCheck {
 	public void performChecks(final Cancellable event, final Player player,
 	                          final DeathChest deathChest, final ResultAction resultAction) {
 
-		// get protectionCheckResult of all protection plugin checks
-		final ProtectionCheckResult protectionCheckResult = plugin.protectionPluginRegistry.accessAllowed(player, deathChest.getLocation());
+		// get protectionCheckResult of all protection plugin checks; the result is kept for the inventory open event
+		final ProtectionCheckResult protectionCheckResult =
+				plugin.protectionPluginRegistry.accessAllowedOnInteract(player, deathChest.getLocation());
 
 		// if access blocked by protection plugin, do nothing and return (allow protection plugin to handle)
 		if (isPluginBlockingAccess(protectionCheckResult)) {
@@ -196,7 +197,7 @@ final public class PermissionCheck {
 		// if chest inventory is already being viewed: cancel event, send message and return
 		if (isCurrentlyOpen(deathChest)) {
 			event.setCancelled(true);
-			String viewerName = deathChest.getInventory().getViewers().iterator().next().getName();
+			String viewerName = deathChest.getViewerName();
 			plugin.messageBuilder.build(player, MessageId.CHEST_CURRENTLY_OPEN)
 					.setMacro(Macro.LOCATION, deathChest.getLocation())
 					.setMacro(Macro.OWNER, deathChest.getOwnerName())
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.permissions.protectionplugins;
+
+import com.winterhavenmc.deathchest.chests.LocationUtilities;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+
+/**
+ * A bounded cache of protection plugin access decisions, keyed by player, block and protection plugin.
+ * Decisions expire after a short time, so that region and claim changes take effect without a reload;
+ * the least recently used decision is evicted when the cache is full. The cache is cleared when the
+ * plugin configuration is reloaded. This class is used only on the server thread.
+ */
+final class ProtectionCache {
+
+	// maximum number of cached decisions
+	final static int MAX_ENTRIES = 1024;
+
+	/**
+	 * A cache key of player, block and protection plugin
+	 */
+	private static final class Key {
+
+		final UUID playerUid;
+		final UUID worldUid;
+		final long blockKey;
+		final ProtectionPlugin protectionPlugin;
+
+		Key(final UUID playerUid, final UUID worldUid, final long blockKey, final ProtectionPlugin protectionPlugin) {
+			this.playerUid = playerUid;
+			this.worldUid = worldUid;
+			this.blockKey = blockKey;
+			this.protectionPlugin = protectionPlugin;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Key)) return false;
+			final Key other = (Key) o;
+			return blockKey == other.blockKey
+					&& protectionPlugin == other.protectionPlugin
+					&& playerUid.equals(other.playerUid)
+					&& worldUid.equals(other.worldUid);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = playerUid.hashCode();
+			result = 31 * result + worldUid.hashCode();
+			result = 31 * result + Long.hashCode(blockKey);
+			return 31 * result + System.identityHashCode(protectionPlugin);
+		}
+	}
+
+	/**
+	 * A cached decision and the time it expires, in nanoseconds
+	 */
+	private static final class Decision {
+
+		final boolean allowed;
+		final long expireNanos;
+
+		Decision(final boolean allowed, final long expireNanos) {
+			this.allowed = allowed;
+			this.expireNanos = expireNanos;
+		}
+	}
+
+	// cached decisions, in order of last access
+	private final Map<Key, Decision> decisionMap = new LinkedHashMap<>(64, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<Key, Decision> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	// time in nanoseconds decisions are cached; zero disables the cache
+	private long ttlNanos;
+
+	// statistics
+	private long hitCount;
+	private long missCount;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param ttlMillis the time in milliseconds decisions are cached; zero or negative disables the cache
+	 */
+	ProtectionCache(final long ttlMillis) {
+		setTimeToLive(ttlMillis);
+	}
+
+
+	/**
+	 * Set the time decisions are cached, and clear cached decisions
+	 *
+	 * @param ttlMillis the time in milliseconds decisions are cached; zero or negative disables the cache
+	 */
+	void setTimeToLive(final long ttlMillis) {
+		this.ttlNanos = Math.max(0, ttlMillis) * 1_000_000L;
+		decisionMap.clear();
+	}
+
+
+	/**
+	 * Get a protection plugin's access decision for a player at a location, querying the protection plugin
+	 * if no unexpired decision is cached
+	 *
+	 * @param protectionPlugin the protection plugin
+	 * @param player the player
+	 * @param location the location
+	 * @return {@code true} if the protection plugin allows access, {@code false} if not
+	 */
+	boolean allowChestAccess(final ProtectionPlugin protectionPlugin, final Player player, final Location location) {
+
+		// if cache is disabled or location has no world, query protection plugin
+		if (ttlNanos == 0 || location == null || location.getWorld() == null) {
+			return protectionPlugin.allowChestAccess(player, location);
+		}
+
+		final Key key = new Key(player.getUniqueId(), location.getWorld().getUID(),
+				LocationUtilities.blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ()),
+				protectionPlugin);
+
+		final long now = System.nanoTime();
+		final Decision decision = decisionMap.get(key);
+
+		// if decision is cached and has not expired, return cached decision
+		if (decision != null && now - decision.expireNanos < 0) {
+			hitCount++;
+			return decision.allowed;
+		}
+
+		missCount++;
+
+		final boolean allowed = protectionPlugin.allowChestAccess(player, location);
+		decisionMap.put(key, new Decision(allowed, now + ttlNanos));
+
+		return allowed;
+	}
+
+
+	/**
+	 * Get cache statistics for display
+	 *
+	 * @return formatted cache statistics
+	 */
+	String getStatistics() {
+
+		if (ttlNanos == 0) {
+			return "disabled";
+		}
+
+		final long lookupCount = hitCount + missCount;
+
+		return String.format("%d entries, %d hits, %d misses (%.1f%% hit rate)", decisionMap.size(), hitCount, missCount,
+				(lookupCount > 0) ? 100.0d * hitCount / lookupCount : 0);
+	}
+
+}
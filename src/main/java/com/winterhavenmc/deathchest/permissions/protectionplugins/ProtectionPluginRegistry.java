@@ -23,16 +23,53 @@ import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 
 
 public final class ProtectionPluginRegistry {
 
-	@SuppressWarnings({"FieldCanBeLocal", "unused"})
 	private final JavaPlugin plugin;
 	private final Set<ProtectionPlugin> protectionPluginSet;
 
+	// cache of access decisions
+	private final ProtectionCache protectionCache;
+
+	// access decisions of player interactions in the current tick, keyed by player uid
+	private final Map<UUID, InteractionToken> interactionTokens = new HashMap<>();
+
+
+	/**
+	 * An access decision made when a player interacted with a chest block, to be used
+	 * when the chest inventory is opened by the same interaction
+	 */
+	private static final class InteractionToken {
+
+		final UUID worldUid;
+		final int x;
+		final int y;
+		final int z;
+		final ProtectionCheckResult result;
+
+		InteractionToken(final Location location, final ProtectionCheckResult result) {
+			this.worldUid = location.getWorld().getUID();
+			this.x = location.getBlockX();
+			this.y = location.getBlockY();
+			this.z = location.getBlockZ();
+			this.result = result;
+		}
+
+		boolean matches(final Location location) {
+			return location != null && location.getWorld() != null
+					&& location.getBlockX() == x && location.getBlockY() == y && location.getBlockZ() == z
+					&& location.getWorld().getUID().equals(worldUid);
+		}
+	}
+
 
 	/**
 	 * Class constructor
@@ -47,6 +84,17 @@ public final class ProtectionPluginRegistry {
 
 		// populate set with enabled protection plugins
 		registerEnabledPlugins(plugin);
+
+		// initialize access decision cache
+		this.protectionCache = new ProtectionCache(plugin.getConfig().getLong("protection-cache-time"));
+	}
+
+
+	/**
+	 * Clear cached access decisions and reload the cache time from the plugin configuration
+	 */
+	public void reload() {
+		protectionCache.setTimeToLive(plugin.getConfig().getLong("protection-cache-time"));
 	}
 
 
@@ -91,7 +139,8 @@ public final class ProtectionPluginRegistry {
 
 
 	/**
-	 * Iterate protection plugin check instances in registry and test if chest access is allowed for player at location
+	 * Iterate protection plugin check instances in registry and test if chest access is allowed for player at location.
+	 * Each protection plugin's decision is cached for the configured protection cache time.
 	 *
 	 * @param player the player for whom to perform check
 	 * @param location the location to perform check
@@ -110,7 +159,7 @@ public final class ProtectionPluginRegistry {
 			}
 
 			// if allow chest access check returns false, set result code to BLOCKED and break loop
-			if (!protectionPlugin.allowChestAccess(player, location)) {
+			if (!protectionCache.allowChestAccess(protectionPlugin, player, location)) {
 				result.setResultCode(ProtectionCheckResultCode.BLOCKED);
 				result.setProtectionPlugin(protectionPlugin);
 				break;
@@ -120,6 +169,57 @@ public final class ProtectionPluginRegistry {
 	}
 
 
+	/**
+	 * Test if chest access is allowed for player at location when the player interacts with a chest block.
+	 * The result is kept until the end of the tick, for the inventory open event of the same interaction.
+	 *
+	 * @param player the player for whom to perform check
+	 * @param location the location to perform check
+	 * @return ProtectionCheckResult - result object with result code and blocking protection plugin if applicable
+	 */
+	public ProtectionCheckResult accessAllowedOnInteract(final Player player, final Location location) {
+
+		final ProtectionCheckResult result = accessAllowed(player, location);
+
+		// if location has no world, do not keep result
+		if (location == null || location.getWorld() == null) {
+			return result;
+		}
+
+		// if this is the first token in this tick, schedule tokens to be cleared at the next tick
+		if (interactionTokens.isEmpty()) {
+			plugin.getServer().getScheduler().runTask(plugin, interactionTokens::clear);
+		}
+
+		interactionTokens.put(player.getUniqueId(), new InteractionToken(location, result));
+
+		return result;
+	}
+
+
+	/**
+	 * Test if chest access is allowed for player at location when the player opens a chest inventory.
+	 * If the player interacted with the chest in this tick, the result of that check is used,
+	 * so that protection plugins are queried only once for each chest opened.
+	 *
+	 * @param player the player for whom to perform check
+	 * @param location the location to perform check
+	 * @return ProtectionCheckResult - result object with result code and blocking protection plugin if applicable
+	 */
+	public ProtectionCheckResult accessAllowedOnOpen(final Player player, final Location location) {
+
+		// take player's interaction token; tokens are used once
+		final InteractionToken token = interactionTokens.remove(player.getUniqueId());
+
+		// if player interacted with chest at location in this tick, return result of interaction check
+		if (token != null && token.matches(location)) {
+			return token.result;
+		}
+
+		return accessAllowed(player, location);
+	}
+
+
 	/**
 	 * Get all plugin check instances from registry
 	 *
@@ -130,6 +230,21 @@ public final class ProtectionPluginRegistry {
 	}
 
 
+	/**
+	 * Get access decision cache statistics for display
+	 *
+	 * @return Map of statistic names to formatted values
+	 */
+	public Map<String, String> getStatistics() {
+
+		final Map<String, String> statistics = new LinkedHashMap<>();
+
+		statistics.put("Protection Cache", protectionCache.getStatistics());
+
+		return statistics;
+	}
+
+
 	/**
 	 * Iterate ProtectionPluginTypes and insert check instances for installed plugins
 	 *
@@ -22,6 +22,7 @@ import com.winterhavenmc.deathchest.chests.ChestBlock;
 import com.winterhavenmc.deathchest.chests.DeathChest;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 
 /**
@@ -46,6 +47,17 @@ public interface DataStore {
 	Collection<DeathChest> selectAllChestRecords();
 
 
+	/**
+	 * Pass each chest record in the datastore to a consumer as it is read, without collecting them.
+	 * May be called from an asynchronous task; records are decoded on the calling thread.
+	 * Records are read as committed when the stream starts, so operations still being written are not seen.
+	 *
+	 * @param consumer the consumer of DeathChest records
+	 * @return {@code true} if all records were read, {@code false} if reading failed
+	 */
+	boolean streamChestRecords(final Consumer<DeathChest> consumer);
+
+
 	/**
 	 * Insert a chest record in the datastore
 	 *
@@ -70,6 +82,48 @@ public interface DataStore {
 	Collection<ChestBlock> selectAllBlockRecords();
 
 
+	/**
+	 * Pass each block record in the datastore to a consumer as it is read, without collecting them.
+	 * May be called from an asynchronous task; no world lookups are performed, so records
+	 * in worlds that are not loaded are included. Records are read as committed when the stream starts,
+	 * so operations still being written are not seen.
+	 *
+	 * @param consumer the consumer of ChestBlock records
+	 * @return {@code true} if all records were read, {@code false} if reading failed
+	 */
+	boolean streamBlockRecords(final Consumer<ChestBlock> consumer);
+
+
+	/**
+	 * Delete the records of chests in a world that no longer exists, that were neither placed
+	 * nor due to expire after a given time. Their block records are deleted with them.
+	 *
+	 * @param worldUid the uid of the world that no longer exists
+	 * @param pastDueTime the time in milliseconds after which chests are kept
+	 */
+	void deleteOrphanedChestRecords(final UUID worldUid, final long pastDueTime);
+
+
+	/**
+	 * Retrieve the block records in a chunk
+	 *
+	 * @param worldUid the UUID of the world
+	 * @param chunkX the chunk x coordinate
+	 * @param chunkZ the chunk z coordinate
+	 * @return Collection of ChestBlock records whose location is in the chunk
+	 */
+	Collection<ChestBlock> selectBlockRecordsInChunk(final UUID worldUid, final int chunkX, final int chunkZ);
+
+
+	/**
+	 * Retrieve the block records of a chest
+	 *
+	 * @param chestUid the UUID of the chest
+	 * @return Collection of ChestBlock records that are members of the chest
+	 */
+	Collection<ChestBlock> selectBlockRecordsForChest(final UUID chestUid);
+
+
 	/**
 	 * Insert block records in the datastore
 	 *
@@ -124,6 +178,23 @@ public interface DataStore {
 	int getChestCount();
 
 
+	/**
+	 * Check if any write operations have been accepted but not yet committed,
+	 * in which case a query may not reflect them
+	 *
+	 * @return {@code true} if writes are pending, {@code false} if not
+	 */
+	boolean hasPendingWrites();
+
+
+	/**
+	 * Get datastore statistics for display
+	 *
+	 * @return map of statistic names to values, in display order
+	 */
+	Map<String, String> getStatistics();
+
+
 	/**
 	 * Create new data store of given type and convert old data store.<br>
 	 * Two parameter version used when a datastore instance already exists
@@ -21,12 +21,14 @@ import com.winterhavenmc.deathchest.PluginMain;
 import com.winterhavenmc.deathchest.chests.ChestBlock;
 import com.winterhavenmc.deathchest.chests.DeathChest;
 import org.bukkit.World;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import java.io.File;
 import java.sql.*;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 
 /**
@@ -41,12 +43,28 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 	// database connection object
 	private Connection connection;
 
+	// prepared statements for this connection, keyed by query name
+	private StatementCache statementCache;
+
 	// file path for datastore file
 	private final String dataFilePath;
 
+	// jdbc url of datastore file
+	private final String dbUrl;
+
+	// held by record streams while they read, and by the writer while it commits, if the journal mode
+	// does not allow a reader and a writer on separate connections at the same time
+	private final ReadWriteLock streamLock = new ReentrantReadWriteLock();
+
 	// schema version
 	private int schemaVersion;
 
+	// pragma settings applied to connection
+	private PragmaProfile pragmaProfile;
+
+	// single writer thread for all insert and delete operations
+	private DataStoreWriter writer;
+
 
 	/**
 	 * Class constructor
@@ -63,6 +81,9 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 
 		// set datastore file path
 		this.dataFilePath = plugin.getDataFolder() + File.separator + type.getStorageName();
+
+		// set datastore jdbc url
+		this.dbUrl = "jdbc:sqlite:" + dataFilePath;
 	}
 
 	/**
@@ -83,21 +104,38 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 
 		Class.forName(jdbcDriverName);
 
-		// create database url
-		String jdbc = "jdbc:sqlite";
-		String dbUrl = jdbc + ":" + dataFilePath;
-
 		// create a database connection
 		connection = DriverManager.getConnection(dbUrl);
 
-		final Statement statement = connection.createStatement();
+		// create prepared statement registry for connection
+		statementCache = new StatementCache(connection);
 
 		// enable foreign keys
-		statement.executeUpdate(Queries.getQuery("EnableForeignKeys"));
+		try (final Statement statement = connection.createStatement()) {
+			statement.executeUpdate(Queries.getQuery("EnableForeignKeys"));
+		}
+
+		// apply configured pragma profile
+		pragmaProfile = PragmaProfile.match(plugin.getConfig().getString("storage-profile"));
+		pragmaProfile.apply(connection);
+
+		if (plugin.getConfig().getBoolean("debug")) {
+			plugin.getLogger().info(this + " datastore pragma profile: " + pragmaProfile);
+		}
 
 		// update database schema if necessary
 		updateSchema();
 
+		// remove chest records that have no block records
+		deleteEmptyChestRecords();
+
+		// start writer thread; writer commits while holding this datastore's lock and the stream write lock
+		writer = new DataStoreWriter(plugin, connection, this, streamLock.writeLock(), this::executeOperation,
+				plugin.getConfig().getInt("storage-queue-capacity"),
+				plugin.getConfig().getInt("storage-batch-size"),
+				plugin.getConfig().getLong("storage-flush-interval"));
+		writer.start();
+
 		// set initialized true
 		setInitialized(true);
 
@@ -110,10 +148,8 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 
 		int version = -1;
 
-		try {
-			final Statement statement = connection.createStatement();
-
-			ResultSet rs = statement.executeQuery(Queries.getQuery("GetUserVersion"));
+		try (final Statement statement = connection.createStatement();
+		     final ResultSet rs = statement.executeQuery(Queries.getQuery("GetUserVersion"))) {
 
 			while (rs.next()) {
 				version = rs.getInt(1);
@@ -138,50 +174,71 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 			plugin.getLogger().info("Current schema version: " + schemaVersion);
 		}
 
-		final Statement statement = connection.createStatement();
+		try (final Statement statement = connection.createStatement()) {
 
-		if (this.schemaVersion == 0) {
+			if (this.schemaVersion == 0) {
 
-			Collection<DeathChest> existingChestRecords = Collections.emptySet();
-			Collection<ChestBlock> existingBlockRecords = Collections.emptySet();
+				Collection<DeathChest> existingChestRecords = Collections.emptySet();
+				Collection<ChestBlock> existingBlockRecords = Collections.emptySet();
 
-			ResultSet chestTable = statement.executeQuery(Queries.getQuery("SelectDeathChestTable"));
-			if (chestTable.next()) {
-				existingChestRecords = selectAllChestRecords();
-			}
+				if (tableExists(statement, "SelectDeathChestTable")) {
+					existingChestRecords = selectAllChestRecords();
+				}
 
-			ResultSet blockTable = statement.executeQuery(Queries.getQuery("SelectDeathBlockTable"));
-			if (blockTable.next()) {
-				existingBlockRecords = selectAllBlockRecords();
-			}
+				if (tableExists(statement, "SelectDeathBlockTable")) {
+					existingBlockRecords = selectAllBlockRecords();
+				}
 
-			statement.executeUpdate(Queries.getQuery("dropDeathChestTable"));
-			statement.executeUpdate(Queries.getQuery("CreateDeathChestTable"));
+				// release statements prepared against the old tables before dropping them
+				statementCache.close();
 
-			statement.executeUpdate(Queries.getQuery("DropDeathBlockTable"));
-			statement.executeUpdate(Queries.getQuery("CreateDeathBlockTable"));
+				statement.executeUpdate(Queries.getQuery("dropDeathChestTable"));
+				statement.executeUpdate(Queries.getQuery("CreateDeathChestTable"));
 
+				statement.executeUpdate(Queries.getQuery("DropDeathBlockTable"));
+				statement.executeUpdate(Queries.getQuery("CreateDeathBlockTable"));
 
-			int chestCount = insertChestRecordsSync(existingChestRecords);
-			plugin.getLogger().info(chestCount + " death chest records migrated to schema v1 in the " +
-					this + " datastore.");
 
-			int blockCount = insertBlockRecordsSync(existingBlockRecords);
-			plugin.getLogger().info(blockCount + " death block records migrated to schema v1 in the " +
-					this + " datastore.");
+				int chestCount = insertChestRecordsSync(existingChestRecords);
+				plugin.getLogger().info(chestCount + " death chest records migrated to schema v1 in the " +
+						this + " datastore.");
 
-			// update schema version in database
-			statement.executeUpdate("PRAGMA user_version = 1");
+				int blockCount = insertBlockRecordsSync(existingBlockRecords);
+				plugin.getLogger().info(blockCount + " death block records migrated to schema v1 in the " +
+						this + " datastore.");
 
-			// update schema version field
-			schemaVersion = 1;
+				// update schema version in database
+				statement.executeUpdate("PRAGMA user_version = 1");
+
+				// update schema version field
+				schemaVersion = 1;
+			}
+
+			// execute death chest table creation statement
+			statement.executeUpdate(Queries.getQuery("CreateDeathChestTable"));
+
+			// execute death block table creation statement
+			statement.executeUpdate(Queries.getQuery("CreateDeathBlockTable"));
+
+			// create block indexes for chunk and chest lookups
+			statement.executeUpdate(Queries.getQuery("CreateBlockChunkIndex"));
+			statement.executeUpdate(Queries.getQuery("CreateBlockChestIndex"));
 		}
+	}
 
-		// execute death chest table creation statement
-		statement.executeUpdate(Queries.getQuery("CreateDeathChestTable"));
 
-		// execute death block table creation statement
-		statement.executeUpdate(Queries.getQuery("CreateDeathBlockTable"));
+	/**
+	 * Check for the existence of a table using a query from the queries properties file
+	 *
+	 * @param statement the statement with which to execute the query
+	 * @param queryKey the name of the table selection query
+	 * @return true if the query returned a row, false if not
+	 * @throws SQLException if the query could not be executed
+	 */
+	private boolean tableExists(final Statement statement, final String queryKey) throws SQLException {
+		try (final ResultSet rs = statement.executeQuery(Queries.getQuery(queryKey))) {
+			return rs.next();
+		}
 	}
 
 
@@ -192,6 +249,22 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 	public void close() {
 
 		if (isInitialized()) {
+
+			// commit any queued operations before closing connection
+			writer.shutdown();
+
+			try {
+				statementCache.close();
+			}
+			catch (SQLException e) {
+				plugin.getLogger().warning("An error occurred while closing the " +
+						this + " datastore prepared statements.");
+				plugin.getLogger().warning(e.getMessage());
+				if (plugin.getConfig().getBoolean("debug")) {
+					e.printStackTrace();
+				}
+			}
+
 			try {
 				connection.close();
 				plugin.getLogger().info(this + " datastore connection closed.");
@@ -228,13 +301,11 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 
 
 	@Override
-	public int getChestCount() {
+	public synchronized int getChestCount() {
 
 		int count = 0;
 
-		try {
-			PreparedStatement preparedStatement = connection.prepareStatement(Queries.getQuery("SelectChestCount"));
-			ResultSet rs = preparedStatement.executeQuery();
+		try (final ResultSet rs = statementCache.get("SelectChestCount").executeQuery()) {
 			if (rs.next()) {
 				count = rs.getInt("ChestCount");
 			}
@@ -252,18 +323,65 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 	public Collection<ChestBlock> selectAllBlockRecords() {
 
 		final Collection<ChestBlock> results = new HashSet<>();
+		final Set<UUID> orphanedWorldUids = new HashSet<>();
 
-		try {
-			PreparedStatement preparedStatement = connection.prepareStatement(Queries.getQuery("SelectAllBlocks"));
+		streamBlockRecords(chestBlock -> {
+
+			// get server world by uuid
+			final World world = plugin.getServer().getWorld(chestBlock.getWorldUid());
+
+			// if server world is null, skip adding record to return set
+			if (world == null) {
+				orphanedWorldUids.add(chestBlock.getWorldUid());
+				return;
+			}
+
+			// refresh stored world name, in case world has been renamed
+			if (!world.getName().equals(chestBlock.getWorldName())) {
+				chestBlock = new ChestBlock(chestBlock.getChestUid(), world.getName(), world.getUID(),
+						chestBlock.getX(), chestBlock.getY(), chestBlock.getZ(), 0, 0);
+			}
 
-			// execute sql query
-			ResultSet rs = preparedStatement.executeQuery();
+			// add DeathChestObject to results set
+			results.add(chestBlock);
+		});
+
+		// delete records more than 30 days old in worlds that no longer exist; schema 0 records are not keyed by world uid
+		if (schemaVersion != 0) {
+			final long pastDueTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30);
+			for (UUID worldUid : orphanedWorldUids) {
+				deleteOrphanedChestRecords(worldUid, pastDueTime);
+			}
+		}
+
+		if (plugin.getConfig().getBoolean("debug")) {
+			plugin.getLogger().info(results.size() + " block records selected from the " + this + " datastore.");
+		}
+
+		return results;
+	}
+
+
+	@Override
+	public boolean streamBlockRecords(final Consumer<ChestBlock> consumer) {
+
+		// without a write-ahead log, the writer cannot commit while another connection reads
+		final boolean lockWriter = !pragmaProfile.isWriteAheadLog();
+		if (lockWriter) {
+			streamLock.readLock().lock();
+		}
+
+		// records are read on a dedicated read only connection, so that a long-running stream does not hold
+		// the datastore lock while its consumer waits, and never reads inside a writer transaction
+		try (final Connection readConnection = openReadConnection();
+		     final PreparedStatement preparedStatement = readConnection.prepareStatement(Queries.getQuery("SelectAllBlocks"));
+		     final ResultSet rs = preparedStatement.executeQuery()) {
 
 			while (rs.next()) {
 
 				// declare common fields
 				final UUID chestUid;
-				World world;
+				final UUID worldUid;
 
 				final String worldName = rs.getString("WorldName");
 				final int x = rs.getInt("X");
@@ -285,30 +403,20 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 						continue;
 					}
 
-					// get server world by name
-					world = plugin.getServer().getWorld(worldName);
+					// schema 0 records are only read by migration on the server thread, so the world can be looked up by name
+					World world = plugin.getServer().getWorld(worldName);
+					worldUid = (world == null) ? new UUID(0, 0) : world.getUID();
 				}
 				else {
-					chestUid = new UUID(rs.getLong("ChestUidMsb"), rs.getLong("chestUidLsb"));
-					final UUID worldUid = new UUID(rs.getLong("WorldUidMsb"), rs.getLong("WorldUidLsb"));
-
-					// get server world by uuid
-					world = plugin.getServer().getWorld(worldUid);
-				}
-
-				// if server world is null, skip adding record to return set
-				if (world == null) {
-					// delete all records expired more than 30 days in database that have this invalid world
-					deleteOrphanedChests(worldName);
+					consumer.accept(readBlockRecord(rs));
 					continue;
 				}
 
 				// create chest block object from retrieved record
-				ChestBlock chestBlock = new ChestBlock(chestUid, world.getName(), world.getUID(), x, y, z, 0, 0);
-
-				// add DeathChestObject to results set
-				results.add(chestBlock);
+				consumer.accept(new ChestBlock(chestUid, worldName, worldUid, x, y, z, 0, 0));
 			}
+
+			return true;
 		}
 		catch (SQLException e) {
 			plugin.getLogger().warning("An error occurred while trying to "
@@ -317,24 +425,145 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 			if (plugin.getConfig().getBoolean("debug")) {
 				e.printStackTrace();
 			}
+			return false;
+		}
+		finally {
+			if (lockWriter) {
+				streamLock.readLock().unlock();
+			}
 		}
+	}
 
-		if (plugin.getConfig().getBoolean("debug")) {
-			plugin.getLogger().info(results.size() + " block records selected from the " + this + " datastore.");
+
+	/**
+	 * Open a read only connection to the datastore file, for reads that must not share the writer's connection.
+	 * The caller is responsible for closing the connection.
+	 *
+	 * @return a new read only connection
+	 * @throws SQLException if the connection could not be opened
+	 */
+	private Connection openReadConnection() throws SQLException {
+
+		final Properties properties = new Properties();
+
+		// open database read only (SQLITE_OPEN_READONLY)
+		properties.setProperty("open_mode", "1");
+
+		return DriverManager.getConnection(dbUrl, properties);
+	}
+
+
+	@Override
+	public synchronized Collection<ChestBlock> selectBlockRecordsInChunk(final UUID worldUid,
+	                                                                     final int chunkX,
+	                                                                     final int chunkZ) {
+
+		final Collection<ChestBlock> results = new ArrayList<>();
+
+		try {
+			// get prepared statement
+			PreparedStatement preparedStatement = statementCache.get("SelectBlocksInChunk");
+
+			preparedStatement.setLong(1, worldUid.getMostSignificantBits());
+			preparedStatement.setLong(2, worldUid.getLeastSignificantBits());
+			preparedStatement.setInt(3, chunkX);
+			preparedStatement.setInt(4, chunkZ);
+
+			try (final ResultSet rs = preparedStatement.executeQuery()) {
+				while (rs.next()) {
+					results.add(readBlockRecord(rs));
+				}
+			}
+		}
+		catch (SQLException e) {
+			plugin.getLogger().warning("An error occurred while trying to "
+					+ "select chunk block records from the " + this + " datastore.");
+			plugin.getLogger().warning(e.getLocalizedMessage());
+			if (plugin.getConfig().getBoolean("debug")) {
+				e.printStackTrace();
+			}
 		}
 
 		return results;
 	}
 
 
+	@Override
+	public synchronized Collection<ChestBlock> selectBlockRecordsForChest(final UUID chestUid) {
+
+		final Collection<ChestBlock> results = new ArrayList<>();
+
+		try {
+			// get prepared statement
+			PreparedStatement preparedStatement = statementCache.get("SelectBlocksByChestUid");
+
+			preparedStatement.setLong(1, chestUid.getMostSignificantBits());
+			preparedStatement.setLong(2, chestUid.getLeastSignificantBits());
+
+			try (final ResultSet rs = preparedStatement.executeQuery()) {
+				while (rs.next()) {
+					results.add(readBlockRecord(rs));
+				}
+			}
+		}
+		catch (SQLException e) {
+			plugin.getLogger().warning("An error occurred while trying to "
+					+ "select chest block records from the " + this + " datastore.");
+			plugin.getLogger().warning(e.getLocalizedMessage());
+			if (plugin.getConfig().getBoolean("debug")) {
+				e.printStackTrace();
+			}
+		}
+
+		return results;
+	}
+
+
+	/**
+	 * Create a ChestBlock from the current row of a block record result set
+	 *
+	 * @param rs the result set, positioned on a schema v1 block record
+	 * @return the ChestBlock, with the stored world name
+	 * @throws SQLException if a column could not be read
+	 */
+	private ChestBlock readBlockRecord(final ResultSet rs) throws SQLException {
+		return new ChestBlock(new UUID(rs.getLong("ChestUidMsb"), rs.getLong("ChestUidLsb")),
+				rs.getString("WorldName"),
+				new UUID(rs.getLong("WorldUidMsb"), rs.getLong("WorldUidLsb")),
+				rs.getInt("X"),
+				rs.getInt("Y"),
+				rs.getInt("Z"),
+				0, 0);
+	}
+
+
 	@Override
 	public Collection<DeathChest> selectAllChestRecords() {
 
 		final Collection<DeathChest> results = new HashSet<>();
 
-		try {
-			PreparedStatement preparedStatement = connection.prepareStatement(Queries.getQuery("SelectAllChests"));
-			ResultSet rs = preparedStatement.executeQuery();
+		streamChestRecords(results::add);
+
+		if (plugin.getConfig().getBoolean("debug")) {
+			plugin.getLogger().info(results.size() + " chest records selected from the " + this + " datastore.");
+		}
+		return results;
+	}
+
+
+	@Override
+	public boolean streamChestRecords(final Consumer<DeathChest> consumer) {
+
+		// without a write-ahead log, the writer cannot commit while another connection reads
+		final boolean lockWriter = !pragmaProfile.isWriteAheadLog();
+		if (lockWriter) {
+			streamLock.readLock().lock();
+		}
+
+		// records are read on a dedicated read only connection; see streamBlockRecords
+		try (final Connection readConnection = openReadConnection();
+		     final PreparedStatement preparedStatement = readConnection.prepareStatement(Queries.getQuery("SelectAllChests"));
+		     final ResultSet rs = preparedStatement.executeQuery()) {
 
 			while (rs.next()) {
 
@@ -410,9 +639,11 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 				DeathChest deathChest = new DeathChest(chestUid, ownerUid, killerUid, itemCount,
 						placementTime, expirationTime, protectionExpirationTime);
 
-				// add DeathChestObject to results set
-				results.add(deathChest);
+				// pass DeathChest to consumer
+				consumer.accept(deathChest);
 			}
+
+			return true;
 		}
 		catch (SQLException e) {
 			plugin.getLogger().warning("An error occurred while trying to " +
@@ -421,30 +652,46 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 			if (plugin.getConfig().getBoolean("debug")) {
 				e.printStackTrace();
 			}
+			return false;
 		}
-
-		if (plugin.getConfig().getBoolean("debug")) {
-			plugin.getLogger().info(results.size() + " chest records selected from the " + this + " datastore.");
+		finally {
+			if (lockWriter) {
+				streamLock.readLock().unlock();
+			}
 		}
-		return results;
 	}
 
 
 	@Override
-	public synchronized int insertChestRecords(final Collection<DeathChest> deathChests) {
+	public int insertChestRecords(final Collection<DeathChest> deathChests) {
+
+		for (DeathChest deathChest : deathChests) {
+
+			// if deathChest is null, skip to next
+			if (deathChest == null) {
+				continue;
+			}
+
+			writer.submit(DataStoreWriter.Operation.insertChest(deathChest));
 
-		new BukkitRunnable() {
-			@Override
-			public void run() {
-				insertChestRecordsSync(deathChests);
+			// queue chest blocks with chest; blocks are read here so the writer thread never touches the block index
+			if (plugin.chestManager != null) {
+				insertBlockRecords(plugin.chestManager.getBlocks(deathChest.getChestUid()));
 			}
-		}.runTaskAsynchronously(plugin);
+		}
 
 		return deathChests.size();
 	}
 
 
-	public synchronized int insertChestRecordsSync(final Collection<DeathChest> deathChests) {
+	/**
+	 * Insert chest records immediately on the calling thread. Used for schema migration,
+	 * before the writer thread is started.
+	 *
+	 * @param deathChests the chest records to insert
+	 * @return the number of rows inserted
+	 */
+	int insertChestRecordsSync(final Collection<DeathChest> deathChests) {
 
 		int count = 0;
 
@@ -456,25 +703,7 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 			}
 
 			try {
-				// create prepared statement
-				PreparedStatement preparedStatement =
-						connection.prepareStatement(Queries.getQuery("InsertChestRecord"));
-
-				preparedStatement.setLong(1, deathChest.getChestUid().getMostSignificantBits());
-				preparedStatement.setLong(2, deathChest.getChestUid().getLeastSignificantBits());
-				preparedStatement.setLong(3, deathChest.getOwnerUid().getMostSignificantBits());
-				preparedStatement.setLong(4, deathChest.getOwnerUid().getLeastSignificantBits());
-				preparedStatement.setLong(5, deathChest.getKillerUid().getMostSignificantBits());
-				preparedStatement.setLong(6, deathChest.getKillerUid().getLeastSignificantBits());
-				preparedStatement.setInt(7, deathChest.getItemCount());
-				preparedStatement.setLong(8, deathChest.getPlacementTime());
-				preparedStatement.setLong(9, deathChest.getExpirationTime());
-				preparedStatement.setLong(10, deathChest.getProtectionTime());
-
-				// execute prepared statement
-				int rowsAffected = preparedStatement.executeUpdate();
-
-				count += rowsAffected;
+				count += insertChestRecord(deathChest);
 			}
 			catch (SQLException e) {
 				plugin.getLogger().warning("An error occurred while inserting a DeathChest into the " +
@@ -484,9 +713,6 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 					e.printStackTrace();
 				}
 			}
-
-			// insert chest blocks into datastore
-			insertBlockRecords(plugin.chestManager.getBlocks(deathChest.getChestUid()));
 		}
 
 		// output debugging information
@@ -495,24 +721,34 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 					"SQLite datastore.");
 		}
 
-		return deathChests.size();
+		return count;
 	}
 
 
 	@Override
-	synchronized public int insertBlockRecords(final Collection<ChestBlock> blockRecords) {
+	public int insertBlockRecords(final Collection<ChestBlock> blockRecords) {
+
+		for (ChestBlock blockRecord : blockRecords) {
 
-		new BukkitRunnable() {
-			@Override
-			public void run() {
-				insertBlockRecordsSync(blockRecords);
+			// if blockRecord is null, skip to next record in collection
+			if (blockRecord == null) {
+				continue;
 			}
-		}.runTaskAsynchronously(plugin);
+
+			writer.submit(DataStoreWriter.Operation.insertBlock(blockRecord));
+		}
 
 		return blockRecords.size();
 	}
 
 
+	/**
+	 * Insert block records immediately on the calling thread. Used for schema migration,
+	 * before the writer thread is started.
+	 *
+	 * @param blockRecords the block records to insert
+	 * @return the number of rows inserted
+	 */
 	int insertBlockRecordsSync(final Collection<ChestBlock> blockRecords) {
 
 		int count = 0;
@@ -525,23 +761,7 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 			}
 
 			try {
-				// create prepared statement
-				PreparedStatement preparedStatement =
-						connection.prepareStatement(Queries.getQuery("InsertBlockRecord"));
-
-				preparedStatement.setLong(1, blockRecord.getChestUid().getMostSignificantBits());
-				preparedStatement.setLong(2, blockRecord.getChestUid().getLeastSignificantBits());
-				preparedStatement.setString(3, blockRecord.getWorldName());
-				preparedStatement.setLong(4, blockRecord.getWorldUid().getMostSignificantBits());
-				preparedStatement.setLong(5, blockRecord.getWorldUid().getLeastSignificantBits());
-				preparedStatement.setInt(6, blockRecord.getX());
-				preparedStatement.setInt(7, blockRecord.getY());
-				preparedStatement.setInt(8, blockRecord.getZ());
-
-				// execute prepared statement
-				int rowsAffected = preparedStatement.executeUpdate();
-
-				count += rowsAffected;
+				count += insertBlockRecord(blockRecord);
 			}
 			catch (SQLException e) {
 				plugin.getLogger().warning("An error occurred while "
@@ -564,113 +784,184 @@ final class DataStoreSQLite extends DataStoreAbstract implements DataStore {
 
 
 	@Override
-	synchronized public void deleteChestRecord(final DeathChest deathChest) {
+	public void deleteChestRecord(final DeathChest deathChest) {
 
 		// if passed deathChest is null, do nothing and return
 		if (deathChest == null) {
 			return;
 		}
 
-		new BukkitRunnable() {
-			@Override
-			public void run() {
-				try {
-					// create prepared statement
-					PreparedStatement preparedStatement =
-							connection.prepareStatement(Queries.getQuery("DeleteChestByUUID"));
-
-					preparedStatement.setLong(1, deathChest.getChestUid().getMostSignificantBits());
-					preparedStatement.setLong(2, deathChest.getChestUid().getLeastSignificantBits());
-
-					// execute prepared statement
-					int rowsAffected = preparedStatement.executeUpdate();
-
-					// output debugging information
-					if (plugin.getConfig().getBoolean("debug")) {
-						plugin.getLogger().info(rowsAffected + " chest records deleted from the SQLite datastore.");
-					}
-				}
-				catch (SQLException e) {
-					plugin.getLogger().warning("An error occurred while attempting to "
-							+ "delete a chest record from the SQLite datastore.");
-					plugin.getLogger().warning(e.getMessage());
-					if (plugin.getConfig().getBoolean("debug")) {
-						e.printStackTrace();
-					}
-				}
-			}
-		}.runTaskAsynchronously(plugin);
-
+		writer.submit(DataStoreWriter.Operation.deleteChest(deathChest));
 	}
 
 
 	@Override
-	synchronized public void deleteBlockRecord(final ChestBlock chestBlock) {
+	public void deleteBlockRecord(final ChestBlock chestBlock) {
 
 		// if passed chestBlock is null, do nothing and return
 		if (chestBlock == null) {
 			return;
 		}
 
-		new BukkitRunnable() {
-			@Override
-			public void run() {
-				try {
-					// create prepared statement
-					PreparedStatement preparedStatement =
-							connection.prepareStatement(Queries.getQuery("DeleteBlockByLocation"));
+		writer.submit(DataStoreWriter.Operation.deleteBlock(chestBlock));
+	}
 
-					preparedStatement.setLong(1, chestBlock.getWorldUid().getMostSignificantBits());
-					preparedStatement.setLong(2, chestBlock.getWorldUid().getLeastSignificantBits());
-					preparedStatement.setInt(3, chestBlock.getX());
-					preparedStatement.setInt(4, chestBlock.getY());
-					preparedStatement.setInt(5, chestBlock.getZ());
 
-					// execute prepared statement
-					int rowsAffected = preparedStatement.executeUpdate();
+	@Override
+	public boolean hasPendingWrites() {
+		return writer.hasPendingOperations();
+	}
 
-					// output debugging information
-					if (plugin.getConfig().getBoolean("debug")) {
-						plugin.getLogger().info(rowsAffected + " block records deleted from the SQLite datastore.");
-					}
-				}
-				catch (SQLException e) {
-					plugin.getLogger().warning("An error occurred while attempting to "
-							+ "delete a record from the SQLite datastore.");
-					plugin.getLogger().warning(e.getMessage());
-					if (plugin.getConfig().getBoolean("debug")) {
-						e.printStackTrace();
-					}
-				}
-			}
-		}.runTaskAsynchronously(plugin);
+
+	@Override
+	public Map<String, String> getStatistics() {
+
+		final Map<String, String> statistics = new LinkedHashMap<>();
+
+		statistics.put("Profile", pragmaProfile.toString());
+		statistics.putAll(writer.getStatistics());
+		statistics.putAll(statementCache.getStatistics());
+
+		return statistics;
 	}
 
 
 	/**
-	 * Delete orphaned chests in nonexistent world {@code worldName}
+	 * Execute a single queued operation. Called only from the writer thread, inside its open transaction,
+	 * while holding this datastore's lock.
 	 *
-	 * @param worldName the world name of orphaned chests to delete
+	 * @param operation the operation to execute
+	 * @return the number of rows affected
+	 * @throws SQLException if the operation could not be executed
+	 */
+	private int executeOperation(final DataStoreWriter.Operation operation) throws SQLException {
+
+		switch (operation.getType()) {
+			case INSERT_CHEST:
+				return insertChestRecord(operation.getDeathChest());
+			case INSERT_BLOCK:
+				return insertBlockRecord(operation.getChestBlock());
+			case DELETE_CHEST:
+				return deleteChestRecordSync(operation.getDeathChest());
+			case DELETE_BLOCK:
+				return deleteBlockRecordSync(operation.getChestBlock());
+			default:
+				return 0;
+		}
+	}
+
+
+	private int insertChestRecord(final DeathChest deathChest) throws SQLException {
+
+		// get prepared statement
+		PreparedStatement preparedStatement = statementCache.get("InsertChestRecord");
+
+		preparedStatement.setLong(1, deathChest.getChestUid().getMostSignificantBits());
+		preparedStatement.setLong(2, deathChest.getChestUid().getLeastSignificantBits());
+		preparedStatement.setLong(3, deathChest.getOwnerUid().getMostSignificantBits());
+		preparedStatement.setLong(4, deathChest.getOwnerUid().getLeastSignificantBits());
+		preparedStatement.setLong(5, deathChest.getKillerUid().getMostSignificantBits());
+		preparedStatement.setLong(6, deathChest.getKillerUid().getLeastSignificantBits());
+		preparedStatement.setInt(7, deathChest.getItemCount());
+		preparedStatement.setLong(8, deathChest.getPlacementTime());
+		preparedStatement.setLong(9, deathChest.getExpirationTime());
+		preparedStatement.setLong(10, deathChest.getProtectionTime());
+
+		// execute prepared statement
+		return preparedStatement.executeUpdate();
+	}
+
+
+	private int insertBlockRecord(final ChestBlock blockRecord) throws SQLException {
+
+		// get prepared statement
+		PreparedStatement preparedStatement = statementCache.get("InsertBlockRecord");
+
+		preparedStatement.setLong(1, blockRecord.getChestUid().getMostSignificantBits());
+		preparedStatement.setLong(2, blockRecord.getChestUid().getLeastSignificantBits());
+		preparedStatement.setString(3, blockRecord.getWorldName());
+		preparedStatement.setLong(4, blockRecord.getWorldUid().getMostSignificantBits());
+		preparedStatement.setLong(5, blockRecord.getWorldUid().getLeastSignificantBits());
+		preparedStatement.setInt(6, blockRecord.getX());
+		preparedStatement.setInt(7, blockRecord.getY());
+		preparedStatement.setInt(8, blockRecord.getZ());
+
+		// execute prepared statement
+		return preparedStatement.executeUpdate();
+	}
+
+
+	private int deleteChestRecordSync(final DeathChest deathChest) throws SQLException {
+
+		// get prepared statement
+		PreparedStatement preparedStatement = statementCache.get("DeleteChestByUUID");
+
+		preparedStatement.setLong(1, deathChest.getChestUid().getMostSignificantBits());
+		preparedStatement.setLong(2, deathChest.getChestUid().getLeastSignificantBits());
+
+		// execute prepared statement
+		return preparedStatement.executeUpdate();
+	}
+
+
+	private int deleteBlockRecordSync(final ChestBlock chestBlock) throws SQLException {
+
+		// get prepared statement
+		PreparedStatement preparedStatement = statementCache.get("DeleteBlockByLocation");
+
+		preparedStatement.setLong(1, chestBlock.getWorldUid().getMostSignificantBits());
+		preparedStatement.setLong(2, chestBlock.getWorldUid().getLeastSignificantBits());
+		preparedStatement.setInt(3, chestBlock.getX());
+		preparedStatement.setInt(4, chestBlock.getY());
+		preparedStatement.setInt(5, chestBlock.getZ());
+
+		// execute prepared statement
+		return preparedStatement.executeUpdate();
+	}
+
+
+	/**
+	 * Delete chest records that have no block records. Called at startup, before the writer thread is started.
 	 */
-	private void deleteOrphanedChests(final String worldName) {
+	private void deleteEmptyChestRecords() {
+
+		try (final Statement statement = connection.createStatement()) {
+
+			int rowsAffected = statement.executeUpdate(Queries.getQuery("DeleteChestsWithoutBlocks"));
 
-		// pastDueTime = current time in milliseconds - 30 days
-		final long pastDueTime = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(30);
+			// output debugging information
+			if (plugin.getConfig().getBoolean("debug")) {
+				plugin.getLogger().info(rowsAffected + " chest records without blocks deleted.");
+			}
+		}
+		catch (SQLException e) {
+			plugin.getLogger().warning("An error occurred while attempting to delete chests without blocks from the " +
+					this + " datastore.");
+			plugin.getLogger().warning(e.getMessage());
+			if (plugin.getConfig().getBoolean("debug")) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+
+	@Override
+	public synchronized void deleteOrphanedChestRecords(final UUID worldUid, final long pastDueTime) {
 
 		try {
-			// create prepared statement
-			PreparedStatement preparedStatement =
-					connection.prepareStatement(Queries.getQuery("DeleteOrphanedChests"));
+			// get prepared statement
+			PreparedStatement preparedStatement = statementCache.get("DeleteOrphanedChests");
 
-			preparedStatement.setString(1, worldName);
-			preparedStatement.setLong(2, pastDueTime);
+			preparedStatement.setLong(1, pastDueTime);
+			preparedStatement.setLong(2, worldUid.getMostSignificantBits());
+			preparedStatement.setLong(3, worldUid.getLeastSignificantBits());
 
 			// execute prepared statement
 			int rowsAffected = preparedStatement.executeUpdate();
 
 			// output debugging information
 			if (plugin.getConfig().getBoolean("debug")) {
-				plugin.getLogger().info(rowsAffected + " rows deleted.");
+				plugin.getLogger().info(rowsAffected + " orphaned chest records deleted from world " + worldUid + ".");
 			}
 		}
 		catch (SQLException e) {
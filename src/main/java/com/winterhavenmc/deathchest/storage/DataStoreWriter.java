@@ -0,0 +1,536 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.storage;
+
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.ChestBlock;
+import com.winterhavenmc.deathchest.chests.DeathChest;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+
+
+/**
+ * A single writer thread that owns all mutations of a datastore connection.
+ * Write operations are queued by the server thread and committed by the writer
+ * in batched transactions, when either the configured batch size is reached
+ * or the oldest queued operation has waited for the configured flush interval.
+ * Transactions are committed holding the datastore lock, so that reads on the shared connection
+ * never run inside a writer transaction, and the stream lock, so that no commit is attempted while a record
+ * stream holds it. While a flush waits for the stream lock, queued operations are still drained into the batch,
+ * so that submitting threads are not stalled. If an operation fails, its batch is rolled back and
+ * retried one operation at a time.
+ */
+final class DataStoreWriter implements Runnable {
+
+	/**
+	 * An enum whose values represent the types of queued write operations
+	 */
+	enum OperationType {
+		INSERT_CHEST,
+		INSERT_BLOCK,
+		DELETE_CHEST,
+		DELETE_BLOCK,
+	}
+
+
+	/**
+	 * A class that represents a single queued write operation
+	 */
+	static final class Operation {
+
+		private final OperationType type;
+		private final DeathChest deathChest;
+		private final ChestBlock chestBlock;
+
+		private Operation(final OperationType type, final DeathChest deathChest, final ChestBlock chestBlock) {
+			this.type = type;
+			this.deathChest = deathChest;
+			this.chestBlock = chestBlock;
+		}
+
+		static Operation insertChest(final DeathChest deathChest) {
+			return new Operation(OperationType.INSERT_CHEST, deathChest, null);
+		}
+
+		static Operation insertBlock(final ChestBlock chestBlock) {
+			return new Operation(OperationType.INSERT_BLOCK, null, chestBlock);
+		}
+
+		static Operation deleteChest(final DeathChest deathChest) {
+			return new Operation(OperationType.DELETE_CHEST, deathChest, null);
+		}
+
+		static Operation deleteBlock(final ChestBlock chestBlock) {
+			return new Operation(OperationType.DELETE_BLOCK, null, chestBlock);
+		}
+
+		OperationType getType() {
+			return type;
+		}
+
+		DeathChest getDeathChest() {
+			return deathChest;
+		}
+
+		ChestBlock getChestBlock() {
+			return chestBlock;
+		}
+
+		UUID getChestUid() {
+			return (deathChest != null) ? deathChest.getChestUid() : chestBlock.getChestUid();
+		}
+	}
+
+
+	/**
+	 * Interface for the datastore method that executes a single operation on the writer thread
+	 */
+	interface OperationExecutor {
+
+		/**
+		 * Execute a write operation without committing
+		 *
+		 * @param operation the operation to execute
+		 * @return the number of rows affected
+		 * @throws SQLException if the operation could not be executed
+		 */
+		int execute(final Operation operation) throws SQLException;
+	}
+
+
+	// reference to main class
+	private final PluginMain plugin;
+
+	// the connection whose mutations are owned by this writer
+	private final Connection connection;
+
+	// the lock held by datastore methods that use the connection
+	private final Object lock;
+
+	// the lock that record streams may hold to keep the writer from committing
+	private final Lock streamLock;
+
+	// datastore method that executes single operations
+	private final OperationExecutor executor;
+
+	// bounded queue of pending operations
+	private final BlockingQueue<Operation> queue;
+
+	// number of operations that triggers a flush
+	private final int batchSize;
+
+	// maximum time an operation waits in a batch before it is flushed
+	private final long flushIntervalNanos;
+
+	// the writer thread
+	private final Thread thread;
+
+	private volatile boolean running;
+
+	// statistics
+	private final AtomicLong submittedCount = new AtomicLong();
+	private final AtomicLong writtenCount = new AtomicLong();
+	private final AtomicLong cancelledCount = new AtomicLong();
+	private final AtomicLong stallCount = new AtomicLong();
+	private final AtomicLong flushCount = new AtomicLong();
+	private final AtomicLong totalFlushNanos = new AtomicLong();
+	private volatile long lastFlushNanos;
+	private volatile long maxFlushNanos;
+	private volatile int maxQueueDepth;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to main class
+	 * @param connection the connection on which all write operations will be committed
+	 * @param lock the lock held by datastore methods that use the connection
+	 * @param streamLock the lock that record streams may hold to keep the writer from committing
+	 * @param executor the datastore method that executes single operations
+	 * @param queueCapacity the maximum number of pending operations before submitting threads must wait
+	 * @param batchSize the number of operations that triggers a flush
+	 * @param flushIntervalMillis the maximum time in milliseconds an operation waits before being flushed
+	 */
+	DataStoreWriter(final PluginMain plugin,
+	                final Connection connection,
+	                final Object lock,
+	                final Lock streamLock,
+	                final OperationExecutor executor,
+	                final int queueCapacity,
+	                final int batchSize,
+	                final long flushIntervalMillis) {
+
+		this.plugin = plugin;
+		this.connection = connection;
+		this.lock = lock;
+		this.streamLock = streamLock;
+		this.executor = executor;
+		this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+		this.batchSize = Math.max(1, batchSize);
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+		this.thread = new Thread(this, plugin.getName() + " datastore writer");
+		this.thread.setDaemon(true);
+	}
+
+
+	/**
+	 * Start the writer thread
+	 */
+	void start() {
+		running = true;
+		thread.start();
+	}
+
+
+	/**
+	 * Stop accepting operations, commit everything still queued and wait for the writer thread to finish
+	 */
+	void shutdown() {
+
+		running = false;
+
+		try {
+			thread.join(TimeUnit.SECONDS.toMillis(30));
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		if (thread.isAlive()) {
+			plugin.getLogger().warning("The datastore writer did not finish within 30 seconds; "
+					+ queue.size() + " queued operations may not have been saved.");
+		}
+	}
+
+
+	/**
+	 * Queue an operation for the writer thread. If the queue is full, the calling thread
+	 * waits for the writer to make room, and the stall is counted.
+	 *
+	 * @param operation the operation to queue
+	 */
+	void submit(final Operation operation) {
+
+		if (!running) {
+			plugin.getLogger().warning("A " + operation.getType() + " operation was submitted after the "
+					+ "datastore writer was stopped and has been discarded.");
+			return;
+		}
+
+		submittedCount.incrementAndGet();
+
+		if (!queue.offer(operation)) {
+			stallCount.incrementAndGet();
+			try {
+				queue.put(operation);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				plugin.getLogger().warning("Interrupted while waiting for the datastore writer; a "
+						+ operation.getType() + " operation has been discarded.");
+				return;
+			}
+		}
+
+		int depth = queue.size();
+		if (depth > maxQueueDepth) {
+			maxQueueDepth = depth;
+		}
+	}
+
+
+	@Override
+	public void run() {
+
+		final List<Operation> batch = new ArrayList<>(batchSize);
+		final Set<UUID> pendingChestInserts = new HashSet<>();
+		long batchStartNanos = 0;
+		boolean flushDeferred = false;
+
+		while (running || !queue.isEmpty() || !batch.isEmpty()) {
+
+			// wait for the next operation no longer than the time remaining before the batch is due
+			long waitNanos = flushIntervalNanos;
+			if (!batch.isEmpty()) {
+				waitNanos = Math.max(0, flushIntervalNanos - (System.nanoTime() - batchStartNanos));
+			}
+			if (!running) {
+				waitNanos = 0;
+			}
+
+			try {
+				Operation operation = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+				while (operation != null) {
+					if (batch.isEmpty()) {
+						batchStartNanos = System.nanoTime();
+					}
+					addToBatch(batch, pendingChestInserts, operation);
+					// while a flush is deferred, drain the whole queue so that submitting threads do not stall
+					operation = (batch.size() < batchSize || flushDeferred) ? queue.poll() : null;
+				}
+			}
+			catch (InterruptedException e) {
+				running = false;
+			}
+
+			// flush on size trigger, time trigger, or shutdown
+			if (!batch.isEmpty() && (batch.size() >= batchSize
+					|| System.nanoTime() - batchStartNanos >= flushIntervalNanos
+					|| !running)) {
+				flushDeferred = !flush(batch);
+				if (!flushDeferred) {
+					batch.clear();
+					pendingChestInserts.clear();
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Add an operation to the current batch. A chest delete cancels a chest insert still waiting
+	 * in the same batch, together with every other pending operation for that chest,
+	 * so the record never reaches disk.
+	 *
+	 * @param batch the current batch
+	 * @param pendingChestInserts the uids of chests with an insert in the current batch
+	 * @param operation the operation to add
+	 */
+	void addToBatch(final List<Operation> batch,
+	                final Set<UUID> pendingChestInserts,
+	                final Operation operation) {
+
+		if (operation.getType().equals(OperationType.INSERT_CHEST)) {
+			pendingChestInserts.add(operation.getChestUid());
+		}
+		else if (operation.getType().equals(OperationType.DELETE_CHEST)
+				&& pendingChestInserts.remove(operation.getChestUid())) {
+
+			final UUID chestUid = operation.getChestUid();
+			int before = batch.size();
+			batch.removeIf(pending -> chestUid.equals(pending.getChestUid()));
+
+			// count the removed operations and the delete itself
+			cancelledCount.addAndGet(before - batch.size() + 1);
+			return;
+		}
+
+		batch.add(operation);
+	}
+
+
+	/**
+	 * Commit a batch of operations in a single transaction. If any operation fails, the transaction is rolled back
+	 * and the operations are retried in order, each in its own transaction, so that a failing operation
+	 * does not discard the rest of the batch. After an operation of a chest fails, later inserts
+	 * for that chest are skipped, so that no block record is left without its chest record.
+	 * If a record stream holds the stream lock, the flush is deferred, unless the writer is shutting down,
+	 * in which case it waits for the stream to finish.
+	 *
+	 * @param batch the operations to commit
+	 * @return {@code true} if the batch was flushed, {@code false} if the flush was deferred
+	 */
+	private boolean flush(final List<Operation> batch) {
+
+		final long startNanos = System.nanoTime();
+		int rowsAffected;
+
+		// wait briefly for record streams to finish, so that operations queued meanwhile can join the batch
+		if (!acquireStreamLock()) {
+			return false;
+		}
+
+		try {
+			synchronized (lock) {
+
+				rowsAffected = commit(batch);
+
+				// if batch was rolled back, retry operations one at a time
+				if (rowsAffected < 0) {
+
+					rowsAffected = 0;
+					final Set<UUID> failedChests = new HashSet<>();
+
+					for (Operation operation : batch) {
+
+						// skip inserts for a chest whose earlier operation failed
+						if (failedChests.contains(operation.getChestUid())
+								&& (operation.getType().equals(OperationType.INSERT_CHEST)
+								|| operation.getType().equals(OperationType.INSERT_BLOCK))) {
+							plugin.getLogger().warning("A " + operation.getType() + " operation for chest "
+									+ operation.getChestUid() + " was skipped because an earlier operation failed.");
+							continue;
+						}
+
+						final int operationRows = commit(Collections.singletonList(operation));
+						if (operationRows < 0) {
+							failedChests.add(operation.getChestUid());
+						}
+						else {
+							rowsAffected += operationRows;
+						}
+					}
+				}
+			}
+		}
+		finally {
+			streamLock.unlock();
+		}
+
+		// update statistics
+		final long elapsedNanos = System.nanoTime() - startNanos;
+		writtenCount.addAndGet(batch.size());
+		flushCount.incrementAndGet();
+		totalFlushNanos.addAndGet(elapsedNanos);
+		lastFlushNanos = elapsedNanos;
+		if (elapsedNanos > maxFlushNanos) {
+			maxFlushNanos = elapsedNanos;
+		}
+
+		// output debugging information
+		if (plugin.getConfig().getBoolean("debug")) {
+			plugin.getLogger().info(batch.size() + " operations (" + rowsAffected + " rows) committed in "
+					+ TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + "ms by the datastore writer.");
+		}
+
+		return true;
+	}
+
+
+	/**
+	 * Acquire the stream lock. While the writer is running, the wait is limited, so that the queue can be drained
+	 * into the batch; at shutdown, the writer waits until the lock is released.
+	 *
+	 * @return {@code true} if the lock was acquired, {@code false} if not
+	 */
+	private boolean acquireStreamLock() {
+
+		if (!running) {
+			streamLock.lock();
+			return true;
+		}
+
+		try {
+			return streamLock.tryLock(50, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e) {
+			running = false;
+			streamLock.lock();
+			return true;
+		}
+	}
+
+
+	/**
+	 * Execute operations in a single transaction. If any operation fails, the transaction is rolled back.
+	 * Called only while holding the datastore lock.
+	 *
+	 * @param operations the operations to execute
+	 * @return the number of rows affected, or -1 if the transaction was rolled back
+	 */
+	private int commit(final List<Operation> operations) {
+
+		int rowsAffected = 0;
+
+		try {
+			connection.setAutoCommit(false);
+
+			for (Operation operation : operations) {
+				rowsAffected += executor.execute(operation);
+			}
+
+			connection.commit();
+			return rowsAffected;
+		}
+		catch (SQLException e) {
+			plugin.getLogger().warning("An error occurred while committing " + operations.size()
+					+ " operations in the datastore writer; the transaction has been rolled back.");
+			plugin.getLogger().warning(e.getMessage());
+			if (plugin.getConfig().getBoolean("debug")) {
+				e.printStackTrace();
+			}
+			try {
+				connection.rollback();
+			}
+			catch (SQLException rollbackException) {
+				plugin.getLogger().warning(rollbackException.getMessage());
+			}
+			return -1;
+		}
+		finally {
+			try {
+				connection.setAutoCommit(true);
+			}
+			catch (SQLException e) {
+				plugin.getLogger().warning(e.getMessage());
+			}
+		}
+	}
+
+
+	/**
+	 * Check if any operations are queued or waiting in an uncommitted batch
+	 *
+	 * @return {@code true} if operations are pending, {@code false} if all submitted operations are committed
+	 */
+	boolean hasPendingOperations() {
+		return submittedCount.get() > writtenCount.get() + cancelledCount.get();
+	}
+
+
+	/**
+	 * Get writer statistics for display
+	 *
+	 * @return map of statistic names to values, in display order
+	 */
+	Map<String, String> getStatistics() {
+
+		final Map<String, String> statistics = new LinkedHashMap<>();
+
+		final long flushes = flushCount.get();
+		final long averageNanos = (flushes > 0) ? totalFlushNanos.get() / flushes : 0;
+
+		statistics.put("Writer Queue Depth", queue.size() + " (max " + maxQueueDepth + ")");
+		statistics.put("Writer Operations", submittedCount.get() + " submitted, "
+				+ writtenCount.get() + " written, " + cancelledCount.get() + " cancelled");
+		statistics.put("Writer Flushes", flushes + ", last " + formatMillis(lastFlushNanos)
+				+ ", avg " + formatMillis(averageNanos) + ", max " + formatMillis(maxFlushNanos));
+		statistics.put("Writer Stalls", String.valueOf(stallCount.get()));
+
+		return statistics;
+	}
+
+
+	/**
+	 * Format a nanosecond duration as milliseconds for display
+	 *
+	 * @param nanos the duration in nanoseconds
+	 * @return formatted string
+	 */
+	private static String formatMillis(final long nanos) {
+		return String.format("%.2fms", nanos / 1_000_000.0d);
+	}
+
+}
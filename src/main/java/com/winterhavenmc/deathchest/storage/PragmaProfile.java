@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.storage;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+
+/**
+ * An enum whose values represent the SQLite pragma settings applied when a datastore connection is opened.
+ * Profiles trade durability of the most recent commits against write throughput.
+ */
+enum PragmaProfile {
+
+	/**
+	 * Rollback journal with a full fsync on every commit. No committed write is lost on power failure.
+	 */
+	DURABLE("DELETE", "FULL", 2000, 0L, "DEFAULT"),
+
+	/**
+	 * Write-ahead log, synced at checkpoints. The database cannot be corrupted, but the most recent
+	 * commits may be rolled back after a power failure or operating system crash.
+	 */
+	BALANCED("WAL", "NORMAL", 8000, 64L * 1024 * 1024, "MEMORY"),
+
+	/**
+	 * Write-ahead log with no fsync. Recent commits may be lost, or the database corrupted,
+	 * after a power failure or operating system crash; application crashes are safe.
+	 */
+	FAST("WAL", "OFF", 32000, 256L * 1024 * 1024, "MEMORY"),
+	;
+
+	// default profile if configured profile does not match
+	private final static PragmaProfile defaultProfile = PragmaProfile.BALANCED;
+
+	private final String journalMode;
+	private final String synchronous;
+	private final int cacheSizeKiB;
+	private final long mmapSize;
+	private final String tempStore;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param journalMode the journal_mode pragma value
+	 * @param synchronous the synchronous pragma value
+	 * @param cacheSizeKiB the page cache size in kibibytes
+	 * @param mmapSize the maximum number of bytes of the database file to memory map
+	 * @param tempStore the temp_store pragma value
+	 */
+	PragmaProfile(final String journalMode,
+	              final String synchronous,
+	              final int cacheSizeKiB,
+	              final long mmapSize,
+	              final String tempStore) {
+
+		this.journalMode = journalMode;
+		this.synchronous = synchronous;
+		this.cacheSizeKiB = cacheSizeKiB;
+		this.mmapSize = mmapSize;
+		this.tempStore = tempStore;
+	}
+
+
+	/**
+	 * Get the pragma statements for this profile, in the order they must be applied
+	 *
+	 * @return List of String - the pragma statements
+	 */
+	List<String> getPragmas() {
+		return List.of(
+				"PRAGMA journal_mode = " + journalMode,
+				"PRAGMA synchronous = " + synchronous,
+				// a negative cache size is interpreted as kibibytes instead of pages
+				"PRAGMA cache_size = " + -cacheSizeKiB,
+				"PRAGMA mmap_size = " + mmapSize,
+				"PRAGMA temp_store = " + tempStore);
+	}
+
+
+	/**
+	 * Check if this profile uses a write-ahead log, which allows readers on other connections
+	 * while the writer commits
+	 *
+	 * @return {@code true} if the journal mode is WAL, {@code false} if not
+	 */
+	boolean isWriteAheadLog() {
+		return journalMode.equals("WAL");
+	}
+
+
+	/**
+	 * Apply this profile's pragmas to a connection
+	 *
+	 * @param connection the connection to configure
+	 * @throws SQLException if a pragma could not be applied
+	 */
+	void apply(final Connection connection) throws SQLException {
+		try (final Statement statement = connection.createStatement()) {
+			for (String pragma : getPragmas()) {
+				// journal_mode returns a result row, so use execute instead of executeUpdate
+				statement.execute(pragma);
+			}
+		}
+	}
+
+
+	/**
+	 * Attempt to match a PragmaProfile by name
+	 *
+	 * @param name the name to attempt to match to a PragmaProfile
+	 * @return A PragmaProfile whose name matched the passed string,
+	 * or the default PragmaProfile if no match
+	 */
+	static PragmaProfile match(final String name) {
+		for (PragmaProfile profile : PragmaProfile.values()) {
+			if (profile.toString().equalsIgnoreCase(name)) {
+				return profile;
+			}
+		}
+		// no match; return default profile
+		return defaultProfile;
+	}
+
+}
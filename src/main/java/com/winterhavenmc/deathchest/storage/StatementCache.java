@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.storage;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * A registry of prepared statements for a single connection, keyed by query name
+ * in the queries properties file. Each statement is prepared once on first use
+ * and reused with cleared parameters until the registry is closed.
+ * <p>
+ * A statement returned by this class must only be used by one thread at a time;
+ * callers that share a query key across threads must synchronize its use.
+ */
+final class StatementCache {
+
+	// the connection on which all statements are prepared
+	private final Connection connection;
+
+	// map of prepared statements, keyed by query name
+	private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+	// statistics
+	private final AtomicLong prepareCount = new AtomicLong();
+	private final AtomicLong executionCount = new AtomicLong();
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param connection the connection on which statements will be prepared
+	 */
+	StatementCache(final Connection connection) {
+		this.connection = connection;
+	}
+
+
+	/**
+	 * Get the prepared statement for a query, preparing it if this is its first use.
+	 * A reused statement has its parameters cleared before it is returned.
+	 *
+	 * @param queryKey the name of the query in the queries properties file
+	 * @return the prepared statement, ready for parameters to be set
+	 * @throws SQLException if the statement could not be prepared
+	 */
+	synchronized PreparedStatement get(final String queryKey) throws SQLException {
+
+		PreparedStatement preparedStatement = statements.get(queryKey);
+
+		// if statement has not been prepared yet, prepare it and add to map
+		if (preparedStatement == null) {
+			preparedStatement = connection.prepareStatement(Queries.getQuery(queryKey));
+			statements.put(queryKey, preparedStatement);
+			prepareCount.incrementAndGet();
+		}
+		else {
+			preparedStatement.clearParameters();
+		}
+
+		executionCount.incrementAndGet();
+
+		return preparedStatement;
+	}
+
+
+	/**
+	 * Close all prepared statements and clear the registry
+	 *
+	 * @throws SQLException if any statement could not be closed; all statements are attempted
+	 */
+	synchronized void close() throws SQLException {
+
+		SQLException exception = null;
+
+		for (PreparedStatement preparedStatement : statements.values()) {
+			try {
+				preparedStatement.close();
+			}
+			catch (SQLException e) {
+				if (exception == null) {
+					exception = e;
+				}
+				else {
+					exception.addSuppressed(e);
+				}
+			}
+		}
+
+		statements.clear();
+
+		if (exception != null) {
+			throw exception;
+		}
+	}
+
+
+	/**
+	 * Get statement reuse statistics for display
+	 *
+	 * @return map of statistic names and values
+	 */
+	Map<String, String> getStatistics() {
+
+		final Map<String, String> statistics = new LinkedHashMap<>();
+
+		statistics.put("Statements Prepared", String.valueOf(prepareCount.get()));
+		statistics.put("Statement Executions", String.valueOf(executionCount.get()));
+
+		return statistics;
+	}
+
+}
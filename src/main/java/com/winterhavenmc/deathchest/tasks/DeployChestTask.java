@@ -19,28 +19,38 @@ package com.winterhavenmc.deathchest.tasks;
 
 import com.winterhavenmc.deathchest.PluginMain;
 
-import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 import org.bukkit.scheduler.BukkitRunnable;
 
-import java.util.Collection;
+import java.util.concurrent.TimeUnit;
 
 
-public class DeployChestTask extends BukkitRunnable {
+/**
+ * A class that implements the single repeating task that deploys death chests.
+ * Each run deploys the queued chests that are ready, within the configured time budget per tick.
+ */
+public final class DeployChestTask extends BukkitRunnable {
 
+	// reference to main class
 	private final PluginMain plugin;
-	private final Player player;
-	private final Collection<ItemStack> droppedItems;
 
 
-	public DeployChestTask(final PluginMain plugin, final Player player, final Collection<ItemStack> droppedItems) {
+	/**
+	 * Class constructor
+	 * @param plugin reference to main class
+	 */
+	public DeployChestTask(final PluginMain plugin) {
+
+		// set reference to main class
 		this.plugin = plugin;
-		this.player = player;
-		this.droppedItems = droppedItems;
 	}
 
+
+	@Override
 	public void run() {
-		plugin.chestManager.getDeploymentFactory().createDeployment(plugin, player, droppedItems).deploy();
+
+		// deploy ready chests
+		plugin.chestManager.getDeploymentQueue().process(
+				TimeUnit.MILLISECONDS.toNanos(Math.max(1, plugin.getConfig().getLong("deployment-tick-budget"))));
 	}
 
 }
@@ -17,39 +17,42 @@
 
 package com.winterhavenmc.deathchest.tasks;
 
-import com.winterhavenmc.deathchest.chests.DeathChest;
+import com.winterhavenmc.deathchest.PluginMain;
+
 import org.bukkit.scheduler.BukkitRunnable;
 
 
 /**
- * A class that implements a death chest expire task to be run at the appropriate time
+ * A class that implements the single repeating task that expires death chests.
+ * Each run expires the chests whose time has passed, up to the configured number per tick.
  */
 public final class ExpireChestTask extends BukkitRunnable {
 
-	// death chest block to expire
-	private final DeathChest deathChest;
+	// reference to main class
+	private final PluginMain plugin;
 
 
 	/**
 	 * Class constructor
-	 * @param deathChest the death chest to expire
+	 * @param plugin reference to main class
 	 */
-	public ExpireChestTask(final DeathChest deathChest) {
+	public ExpireChestTask(final PluginMain plugin) {
 
-		// set death chest block field
-		this.deathChest = deathChest;
+		// set reference to main class
+		this.plugin = plugin;
 	}
 
 
 	@Override
 	public void run() {
 
-		// check for null death chest
-		if (this.deathChest != null) {
-
-			// expire death chest
-			this.deathChest.expire();
+		// if chests are still loading, the chests' blocks may not be indexed yet; expire after loading
+		if (plugin.chestManager.isLoading()) {
+			return;
 		}
+
+		// expire due chests
+		plugin.chestManager.expireDueChests(Math.max(1, plugin.getConfig().getInt("expirations-per-tick")));
 	}
 
 }
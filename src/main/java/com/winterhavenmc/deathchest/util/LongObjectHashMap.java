@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2022 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.deathchest.util;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+
+/**
+ * A hash map with primitive long keys, using open addressing with linear probing.
+ * Lookups do not box keys or allocate. Null values are not permitted; a null slot marks an empty slot.
+ * This class is not thread safe.
+ *
+ * @param <V> the type of mapped values
+ */
+public final class LongObjectHashMap<V> {
+
+	private final static int DEFAULT_CAPACITY = 16;
+
+	// table is resized when size exceeds this fraction of capacity
+	private final static float LOAD_FACTOR = 0.6f;
+
+	private long[] keys;
+	private Object[] values;
+	private int mask;
+	private int size;
+	private int resizeThreshold;
+
+
+	/**
+	 * Class constructor
+	 */
+	public LongObjectHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param expectedSize the number of entries the map should hold without resizing
+	 */
+	public LongObjectHashMap(final int expectedSize) {
+		allocate(tableSizeFor((int) Math.ceil(Math.max(1, expectedSize) / LOAD_FACTOR)));
+	}
+
+
+	/**
+	 * Get the value mapped to a key
+	 *
+	 * @param key the key
+	 * @return the mapped value, or null if the key is not mapped
+	 */
+	@SuppressWarnings("unchecked")
+	public V get(final long key) {
+
+		int index = hash(key) & mask;
+
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				return (V) values[index];
+			}
+			index = (index + 1) & mask;
+		}
+
+		return null;
+	}
+
+
+	/**
+	 * Check if a key is mapped
+	 *
+	 * @param key the key
+	 * @return {@code true} if the key is mapped, {@code false} if not
+	 */
+	public boolean containsKey(final long key) {
+		return get(key) != null;
+	}
+
+
+	/**
+	 * Map a key to a value
+	 *
+	 * @param key the key
+	 * @param value the value; must not be null
+	 * @return the previously mapped value, or null if the key was not mapped
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(final long key, final V value) {
+
+		if (value == null) {
+			throw new NullPointerException("value");
+		}
+
+		int index = hash(key) & mask;
+
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				V previous = (V) values[index];
+				values[index] = value;
+				return previous;
+			}
+			index = (index + 1) & mask;
+		}
+
+		keys[index] = key;
+		values[index] = value;
+
+		if (++size > resizeThreshold) {
+			rehash(keys.length * 2);
+		}
+
+		return null;
+	}
+
+
+	/**
+	 * Remove the mapping for a key
+	 *
+	 * @param key the key
+	 * @return the removed value, or null if the key was not mapped
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(final long key) {
+
+		int index = hash(key) & mask;
+
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				V previous = (V) values[index];
+				shiftBack(index);
+				size--;
+				return previous;
+			}
+			index = (index + 1) & mask;
+		}
+
+		return null;
+	}
+
+
+	/**
+	 * Remove the mapping for a key only if it is mapped to the given value instance
+	 *
+	 * @param key the key
+	 * @param value the value instance expected to be mapped
+	 * @return {@code true} if the mapping was removed, {@code false} if not
+	 */
+	public boolean remove(final long key, final V value) {
+
+		int index = hash(key) & mask;
+
+		while (values[index] != null) {
+			if (keys[index] == key) {
+				if (values[index] != value) {
+					return false;
+				}
+				shiftBack(index);
+				size--;
+				return true;
+			}
+			index = (index + 1) & mask;
+		}
+
+		return false;
+	}
+
+
+	/**
+	 * Get the number of mappings
+	 *
+	 * @return the number of mappings
+	 */
+	public int size() {
+		return size;
+	}
+
+
+	/**
+	 * Check if the map is empty
+	 *
+	 * @return {@code true} if the map has no mappings, {@code false} if it has
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+
+	/**
+	 * Remove all mappings
+	 */
+	public void clear() {
+		Arrays.fill(values, null);
+		size = 0;
+	}
+
+
+	/**
+	 * Pass each mapped value to a consumer. The map must not be modified by the consumer.
+	 *
+	 * @param consumer the consumer of values
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEachValue(final Consumer<? super V> consumer) {
+		for (Object value : values) {
+			if (value != null) {
+				consumer.accept((V) value);
+			}
+		}
+	}
+
+
+	/**
+	 * Close the gap left by a removed slot, moving back any entries whose probe sequence passes through it
+	 *
+	 * @param gap the index of the removed slot
+	 */
+	private void shiftBack(int gap) {
+
+		int index = gap;
+
+		while (true) {
+			index = (index + 1) & mask;
+
+			if (values[index] == null) {
+				break;
+			}
+
+			// move entry back if its home slot is not between the gap and its current slot
+			final int home = hash(keys[index]) & mask;
+			if (((index - home) & mask) >= ((index - gap) & mask)) {
+				keys[gap] = keys[index];
+				values[gap] = values[index];
+				gap = index;
+			}
+		}
+
+		values[gap] = null;
+	}
+
+
+	private void rehash(final int newCapacity) {
+
+		final long[] oldKeys = keys;
+		final Object[] oldValues = values;
+
+		allocate(newCapacity);
+
+		for (int i = 0; i < oldValues.length; i++) {
+			if (oldValues[i] != null) {
+				int index = hash(oldKeys[i]) & mask;
+				while (values[index] != null) {
+					index = (index + 1) & mask;
+				}
+				keys[index] = oldKeys[i];
+				values[index] = oldValues[i];
+			}
+		}
+	}
+
+
+	private void allocate(final int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		mask = capacity - 1;
+		resizeThreshold = (int) (capacity * LOAD_FACTOR);
+	}
+
+
+	private static int tableSizeFor(final int capacity) {
+		int n = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+		return Math.max(2, Math.min(n, 1 << 30));
+	}
+
+
+	/**
+	 * Spread key bits so that keys differing only in high bits map to different slots.
+	 * Package-private so that tests can construct colliding keys.
+	 */
+	static int hash(final long key) {
+		long h = key * 0x9E3779B97F4A7C15L;
+		return (int) (h ^ (h >>> 32));
+	}
+
+}
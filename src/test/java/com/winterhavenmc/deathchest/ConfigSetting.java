@@ -6,6 +6,7 @@ public enum ConfigSetting {
     ENABLED_WORLDS("[]"),
     DISABLED_WORLDS("[disabled_world1, disabled_world2]"),
     CHEST_DEPLOYMENT_DELAY("2"),
+    DEPLOYMENT_TICK_BUDGET("5"),
     LOG_INVENTORY_ON_DEATH("false"),
     SOUND_EFFECTS("true"),
     EXPIRE_TIME("60"),
@@ -17,11 +18,20 @@ public enum ConfigSetting {
     CREATIVE_DEPLOY("false"),
     CREATIVE_ACCESS("false"),
     SEARCH_DISTANCE("10"),
+    SEARCH_STRATEGY("QUADRANT"),
     PLACE_ABOVE_VOID("true"),
+    ASYNC_SEARCH("false"),
     QUICK_LOOT("true"),
     LIST_PAGE_SIZE_PLAYER("5"),
     LIST_PAGE_SIZE_CONSOLE("10"),
+    STORAGE_BATCH_SIZE("100"),
+    STORAGE_FLUSH_INTERVAL("1000"),
+    STORAGE_QUEUE_CAPACITY("10000"),
+    STORAGE_PROFILE("BALANCED"),
+    CHEST_LOAD_TICK_BUDGET("10"),
+    EXPIRATIONS_PER_TICK("10"),
     CHEST_SIGNS("true"),
+    PROTECTION_CACHE_TIME("2000"),
     REPLACEABLE_BLOCKS("[AIR, CAVE_AIR, VOID_AIR, WATER, GRASS, TALL_GRASS, " +
             "SNOW, VINE, LILY_PAD, DEAD_BUSH, ALLIUM, AZURE_BLUET, BLUE_ORCHID, CORN_FLOWER, DANDELION, " +
             "LILAC, LILY_OF_THE_VALLEY, OXEYE_DAISY, PEONY, POPPY, ROSE_BUSH, SUNFLOWER, ORANGE_TULIP, " +
@@ -3,6 +3,7 @@ package com.winterhavenmc.deathchest;
 import com.winterhavenmc.deathchest.chests.ChestManager;
 import com.winterhavenmc.deathchest.commands.CommandManager;
 import com.winterhavenmc.deathchest.listeners.BlockEventListener;
+import com.winterhavenmc.deathchest.listeners.ChunkEventListener;
 import com.winterhavenmc.deathchest.listeners.InventoryEventListener;
 import com.winterhavenmc.deathchest.listeners.PlayerEventListener;
 import com.winterhavenmc.deathchest.messages.MessageId;
@@ -79,6 +80,7 @@ public final class PluginMain extends JavaPlugin {
 		new PlayerEventListener(this);
 		new BlockEventListener(this);
 		new InventoryEventListener(this);
+		new ChunkEventListener(this);
 
 		// instantiate protection plugin registry
 		protectionPluginRegistry = new ProtectionPluginRegistry(this);
@@ -0,0 +1,129 @@
+package com.winterhavenmc.deathchest.chests;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import com.winterhavenmc.deathchest.PluginMain;
+import org.bukkit.Location;
+import org.junit.jupiter.api.*;
+
+import java.util.UUID;
+
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class BlockIndexTests {
+
+    private WorldMock world;
+
+    @BeforeAll
+    public void setUp() {
+        // Start the mock server
+        ServerMock server = MockBukkit.mock();
+
+        // start the mock plugin; chest blocks get a reference to it
+        MockBukkit.load(PluginMain.class);
+
+        // create mock world
+        world = server.addSimpleWorld("world");
+    }
+
+    @AfterAll
+    public void tearDown() {
+        // Stop the mock server
+        MockBukkit.unmock();
+    }
+
+
+    private ChestBlock createBlock(final UUID chestUid, final int x) {
+        return new ChestBlock(chestUid, new Location(world, x, 64, 0));
+    }
+
+
+    @Nested
+    @DisplayName("Test replaced blocks.")
+    class ReplaceTests {
+
+        @Test
+        @DisplayName("block replaced at a location is removed from its chest and chunk.")
+        void replacedAtLocation() {
+            BlockIndex blockIndex = new BlockIndex();
+            UUID oldChestUid = UUID.randomUUID();
+            UUID newChestUid = UUID.randomUUID();
+            ChestBlock oldBlock = createBlock(oldChestUid, 0);
+            ChestBlock newBlock = createBlock(newChestUid, 0);
+
+            blockIndex.put(ChestBlockType.RIGHT_CHEST, oldBlock);
+            blockIndex.put(ChestBlockType.RIGHT_CHEST, newBlock);
+
+            Assertions.assertSame(newBlock, blockIndex.get(world.getUID(), 0, 64, 0), "new block not indexed at location.");
+            Assertions.assertTrue(blockIndex.getBlocks(oldChestUid).isEmpty(), "replaced block still in its chest.");
+            Assertions.assertEquals(1, blockIndex.getBlocksInChunk(world.getUID(), 0, 0).size(),
+                    "replaced block still in chunk.");
+        }
+
+        @Test
+        @DisplayName("block replaced in a chest slot is removed from its location and chunk.")
+        void replacedInSlot() {
+            BlockIndex blockIndex = new BlockIndex();
+            UUID chestUid = UUID.randomUUID();
+            ChestBlock oldBlock = createBlock(chestUid, 0);
+            ChestBlock newBlock = createBlock(chestUid, 1);
+
+            blockIndex.put(ChestBlockType.SIGN, oldBlock);
+            blockIndex.put(ChestBlockType.SIGN, newBlock);
+
+            Assertions.assertNull(blockIndex.get(world.getUID(), 0, 64, 0), "replaced block still indexed at its location.");
+            Assertions.assertSame(newBlock, blockIndex.get(chestUid, ChestBlockType.SIGN), "new block not in chest slot.");
+            Assertions.assertEquals(1, blockIndex.getBlocksInChunk(world.getUID(), 0, 0).size(),
+                    "replaced block still in chunk.");
+        }
+
+        @Test
+        @DisplayName("block put twice is indexed once.")
+        void putTwice() {
+            BlockIndex blockIndex = new BlockIndex();
+            UUID chestUid = UUID.randomUUID();
+            ChestBlock chestBlock = createBlock(chestUid, 0);
+
+            blockIndex.put(ChestBlockType.LEFT_CHEST, chestBlock);
+            blockIndex.put(ChestBlockType.LEFT_CHEST, chestBlock);
+
+            Assertions.assertSame(chestBlock, blockIndex.get(world.getUID(), 0, 64, 0), "block not indexed at location.");
+            Assertions.assertEquals(1, blockIndex.getBlocks(chestUid).size(), "block indexed twice in chest.");
+            Assertions.assertEquals(1, blockIndex.getBlocksInChunk(world.getUID(), 0, 0).size(),
+                    "block indexed twice in chunk.");
+        }
+
+        @Test
+        @DisplayName("blocks of other types in a chest are kept.")
+        void otherTypesKept() {
+            BlockIndex blockIndex = new BlockIndex();
+            UUID chestUid = UUID.randomUUID();
+
+            blockIndex.put(ChestBlockType.RIGHT_CHEST, createBlock(chestUid, 0));
+            blockIndex.put(ChestBlockType.LEFT_CHEST, createBlock(chestUid, 1));
+            blockIndex.put(ChestBlockType.SIGN, createBlock(chestUid, 2));
+
+            Assertions.assertEquals(3, blockIndex.getBlocks(chestUid).size(), "blocks of other types removed.");
+            Assertions.assertEquals(3, blockIndex.getBlocksInChunk(world.getUID(), 0, 0).size(),
+                    "blocks of other types removed from chunk.");
+        }
+
+        @Test
+        @DisplayName("removing a chunk removes a replacement block from all maps.")
+        void removeChunkAfterReplace() {
+            BlockIndex blockIndex = new BlockIndex();
+            ChestBlock oldBlock = createBlock(UUID.randomUUID(), 0);
+            ChestBlock newBlock = createBlock(UUID.randomUUID(), 0);
+
+            blockIndex.put(ChestBlockType.RIGHT_CHEST, oldBlock);
+            blockIndex.put(ChestBlockType.RIGHT_CHEST, newBlock);
+            blockIndex.removeChunk(world.getUID(), 0, 0);
+
+            Assertions.assertNull(blockIndex.get(world.getUID(), 0, 64, 0), "block still indexed after chunk removed.");
+            Assertions.assertTrue(blockIndex.getBlocks(newBlock.getChestUid()).isEmpty(), "block still in chest after chunk removed.");
+        }
+
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.winterhavenmc.deathchest.chests;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import com.winterhavenmc.deathchest.PluginMain;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ExpirationQueueTests {
+
+    @BeforeAll
+    public void setUp() {
+        // Start the mock server
+        MockBukkit.mock();
+
+        // start the mock plugin; death chests get a reference to it
+        MockBukkit.load(PluginMain.class);
+    }
+
+    @AfterAll
+    public void tearDown() {
+        // Stop the mock server
+        MockBukkit.unmock();
+    }
+
+
+    private DeathChest createChest(final long expirationTime) {
+        return new DeathChest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 1, 0, expirationTime, 0);
+    }
+
+
+    @Nested
+    @DisplayName("Test polling.")
+    class PollTests {
+
+        @Test
+        @DisplayName("due chests are polled earliest first.")
+        void dueChestsInOrder() {
+            ExpirationQueue queue = new ExpirationQueue();
+            DeathChest late = createChest(300);
+            DeathChest early = createChest(100);
+            DeathChest middle = createChest(200);
+            queue.schedule(late);
+            queue.schedule(early);
+            queue.schedule(middle);
+
+            List<DeathChest> dueChests = queue.pollDue(1000, 10);
+            Assertions.assertEquals(List.of(early, middle, late), dueChests, "due chests not in expiration order.");
+            Assertions.assertEquals(0, queue.size(), "polled chests are still scheduled.");
+        }
+
+        @Test
+        @DisplayName("chests not yet due are not polled.")
+        void notDueNotPolled() {
+            ExpirationQueue queue = new ExpirationQueue();
+            DeathChest due = createChest(100);
+            DeathChest notDue = createChest(2000);
+            queue.schedule(due);
+            queue.schedule(notDue);
+
+            Assertions.assertEquals(List.of(due), queue.pollDue(1000, 10), "chest not yet due was polled.");
+            Assertions.assertEquals(1, queue.size(), "chest not yet due is no longer scheduled.");
+        }
+
+        @Test
+        @DisplayName("poll returns no more than limit chests.")
+        void pollLimit() {
+            ExpirationQueue queue = new ExpirationQueue();
+            for (int i = 1; i <= 5; i++) {
+                queue.schedule(createChest(i));
+            }
+
+            Assertions.assertEquals(2, queue.pollDue(1000, 2).size(), "poll exceeded limit.");
+            Assertions.assertEquals(3, queue.size(), "remaining chests not scheduled.");
+        }
+
+        @Test
+        @DisplayName("chests that never expire are not scheduled.")
+        void neverExpireNotScheduled() {
+            ExpirationQueue queue = new ExpirationQueue();
+            queue.schedule(createChest(0));
+
+            Assertions.assertEquals(0, queue.size(), "chest that never expires was scheduled.");
+        }
+
+        @Test
+        @DisplayName("scheduling a chest twice replaces its entry.")
+        void rescheduleReplaces() {
+            ExpirationQueue queue = new ExpirationQueue();
+            DeathChest deathChest = createChest(100);
+            queue.schedule(deathChest);
+            queue.schedule(deathChest);
+
+            Assertions.assertEquals(1, queue.size(), "rescheduled chest has two entries.");
+            Assertions.assertEquals(List.of(deathChest), queue.pollDue(1000, 10), "rescheduled chest polled twice.");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test cancellation.")
+    class CancelTests {
+
+        @Test
+        @DisplayName("cancelled chest is not polled.")
+        void cancelledNotPolled() {
+            ExpirationQueue queue = new ExpirationQueue();
+            DeathChest cancelled = createChest(100);
+            DeathChest live = createChest(200);
+            queue.schedule(cancelled);
+            queue.schedule(live);
+            queue.cancel(cancelled.getChestUid());
+
+            Assertions.assertEquals(1, queue.size(), "cancelled chest is still counted.");
+            Assertions.assertEquals(List.of(live), queue.pollDue(1000, 10), "cancelled chest was polled.");
+        }
+
+        @Test
+        @DisplayName("cancel leaves entry in heap until it reaches the top.")
+        void cancelIsLazy() {
+            ExpirationQueue queue = new ExpirationQueue();
+            DeathChest cancelled = createChest(100);
+            queue.schedule(cancelled);
+            queue.schedule(createChest(2000));
+            queue.cancel(cancelled.getChestUid());
+
+            Assertions.assertEquals(2, queue.getHeapSize(), "cancelled entry was removed from heap eagerly.");
+
+            // polling discards cancelled entry at top of heap, even though no chest is due
+            Assertions.assertTrue(queue.pollDue(1000, 10).isEmpty(), "chest polled before it was due.");
+            Assertions.assertEquals(1, queue.getHeapSize(), "cancelled entry was not discarded by poll.");
+        }
+
+        @Test
+        @DisplayName("cancelled entries do not count against poll limit.")
+        void cancelledNotCountedInLimit() {
+            ExpirationQueue queue = new ExpirationQueue();
+            List<DeathChest> chests = new ArrayList<>();
+            for (int i = 1; i <= 4; i++) {
+                DeathChest deathChest = createChest(i);
+                chests.add(deathChest);
+                queue.schedule(deathChest);
+            }
+            queue.cancel(chests.get(0).getChestUid());
+            queue.cancel(chests.get(1).getChestUid());
+
+            Assertions.assertEquals(List.of(chests.get(2), chests.get(3)), queue.pollDue(1000, 2),
+                    "cancelled entries counted against limit.");
+        }
+
+        @Test
+        @DisplayName("cancelling an unscheduled chest does nothing.")
+        void cancelUnscheduled() {
+            ExpirationQueue queue = new ExpirationQueue();
+            queue.schedule(createChest(100));
+            queue.cancel(UUID.randomUUID());
+
+            Assertions.assertEquals(1, queue.size(), "cancelling unscheduled chest changed size.");
+            Assertions.assertEquals(1, queue.getHeapSize(), "cancelling unscheduled chest changed heap.");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test compaction.")
+    class CompactionTests {
+
+        @Test
+        @DisplayName("heap is rebuilt when cancelled entries outnumber live entries.")
+        void compactWhenCancelledOutnumberLive() {
+            ExpirationQueue queue = new ExpirationQueue();
+            List<DeathChest> chests = new ArrayList<>();
+            for (int i = 1; i <= 200; i++) {
+                DeathChest deathChest = createChest(i);
+                chests.add(deathChest);
+                queue.schedule(deathChest);
+            }
+
+            // the 101st cancel leaves 101 cancelled and 99 live entries, which triggers a rebuild
+            for (int i = 0; i < 101; i++) {
+                queue.cancel(chests.get(i).getChestUid());
+            }
+
+            Assertions.assertEquals(99, queue.size(), "live entry count incorrect.");
+            Assertions.assertEquals(99, queue.getHeapSize(), "heap was not rebuilt without cancelled entries.");
+
+            // live entries are still polled in order after rebuild
+            Assertions.assertEquals(chests.subList(101, 200), queue.pollDue(1000, 200),
+                    "live entries not polled in order after rebuild.");
+        }
+
+        @Test
+        @DisplayName("heap is not rebuilt for a few cancelled entries.")
+        void noCompactForFewCancelled() {
+            ExpirationQueue queue = new ExpirationQueue();
+            List<DeathChest> chests = new ArrayList<>();
+            for (int i = 1; i <= 10; i++) {
+                DeathChest deathChest = createChest(i);
+                chests.add(deathChest);
+                queue.schedule(deathChest);
+            }
+
+            // cancelled entries outnumber live entries, but there are too few to rebuild
+            for (int i = 0; i < 8; i++) {
+                queue.cancel(chests.get(i).getChestUid());
+            }
+
+            Assertions.assertEquals(2, queue.size(), "live entry count incorrect.");
+            Assertions.assertEquals(10, queue.getHeapSize(), "heap was rebuilt for a few cancelled entries.");
+        }
+
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.winterhavenmc.deathchest.chests;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import com.winterhavenmc.deathchest.PluginMain;
+import org.bukkit.inventory.Inventory;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.UUID;
+
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class InventorySessionsTests {
+
+    private ServerMock server;
+    private PlayerMock player1;
+    private PlayerMock player2;
+
+    @BeforeAll
+    public void setUp() {
+        // Start the mock server
+        server = MockBukkit.mock();
+
+        // start the mock plugin; death chests get a reference to it
+        MockBukkit.load(PluginMain.class);
+
+        // create mock players
+        player1 = server.addPlayer("viewer1");
+        player2 = server.addPlayer("viewer2");
+    }
+
+    @AfterAll
+    public void tearDown() {
+        // Stop the mock server
+        MockBukkit.unmock();
+    }
+
+
+    private DeathChest createChest() {
+        return new DeathChest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 1, 0, 0, 0);
+    }
+
+    private Inventory createInventory() {
+        return server.createInventory(null, 27);
+    }
+
+
+    @Nested
+    @DisplayName("Test open and close.")
+    class OpenCloseTests {
+
+        @Test
+        @DisplayName("opened inventory is registered to its chest.")
+        void openRegisters() {
+            InventorySessions sessions = new InventorySessions();
+            DeathChest deathChest = createChest();
+            Inventory inventory = createInventory();
+
+            sessions.open(inventory, deathChest, player1);
+
+            Assertions.assertTrue(sessions.contains(inventory), "opened inventory is not registered.");
+            Assertions.assertSame(deathChest, sessions.get(inventory), "opened inventory has wrong chest.");
+            Assertions.assertEquals(1, sessions.getViewerCount(deathChest.getChestUid()), "viewer not counted.");
+        }
+
+        @Test
+        @DisplayName("viewer opening an inventory twice is counted once.")
+        void viewerCountedOnce() {
+            InventorySessions sessions = new InventorySessions();
+            DeathChest deathChest = createChest();
+            Inventory inventory = createInventory();
+
+            sessions.open(inventory, deathChest, player1);
+            sessions.open(inventory, deathChest, player1);
+
+            Assertions.assertEquals(1, sessions.getViewerCount(deathChest.getChestUid()), "viewer counted twice.");
+        }
+
+        @Test
+        @DisplayName("inventory is unregistered when its last viewer closes it.")
+        void closeByLastViewer() {
+            InventorySessions sessions = new InventorySessions();
+            DeathChest deathChest = createChest();
+            Inventory inventory = createInventory();
+
+            sessions.open(inventory, deathChest, player1);
+            sessions.open(inventory, deathChest, player2);
+            Assertions.assertEquals(2, sessions.getViewerCount(deathChest.getChestUid()), "viewers not counted.");
+
+            Assertions.assertSame(deathChest, sessions.close(inventory, player1), "close did not return chest.");
+            Assertions.assertTrue(sessions.contains(inventory), "inventory unregistered while still viewed.");
+            Assertions.assertEquals(1, sessions.getViewerCount(deathChest.getChestUid()), "closed viewer still counted.");
+
+            Assertions.assertSame(deathChest, sessions.close(inventory, player2), "close did not return chest.");
+            Assertions.assertFalse(sessions.contains(inventory), "inventory still registered after last close.");
+            Assertions.assertEquals(0, sessions.getViewerCount(deathChest.getChestUid()), "viewers counted after last close.");
+        }
+
+        @Test
+        @DisplayName("closing an unregistered inventory returns null.")
+        void closeUnregistered() {
+            InventorySessions sessions = new InventorySessions();
+            Assertions.assertNull(sessions.close(createInventory(), player1), "close of unregistered inventory returned a chest.");
+            Assertions.assertNull(sessions.get(null), "get of null inventory returned a chest.");
+            Assertions.assertFalse(sessions.contains(null), "null inventory is registered.");
+        }
+
+        @Test
+        @DisplayName("inventory registered to one chest is not registered to another.")
+        void inventoryKeepsChest() {
+            InventorySessions sessions = new InventorySessions();
+            DeathChest deathChest = createChest();
+            DeathChest otherChest = createChest();
+            Inventory inventory = createInventory();
+
+            sessions.open(inventory, deathChest, player1);
+            sessions.open(inventory, otherChest, player2);
+
+            Assertions.assertSame(deathChest, sessions.get(inventory), "inventory registered to second chest.");
+            Assertions.assertEquals(0, sessions.getViewerCount(otherChest.getChestUid()), "viewer counted for second chest.");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test double chest viewers.")
+    class DoubleChestTests {
+
+        @Test
+        @DisplayName("viewers are counted across inventory instances of a chest.")
+        void viewersAcrossInventories() {
+            InventorySessions sessions = new InventorySessions();
+            DeathChest deathChest = createChest();
+
+            // a double chest inventory may be a different instance for each viewer
+            Inventory inventory1 = createInventory();
+            Inventory inventory2 = createInventory();
+
+            sessions.open(inventory1, deathChest, player1);
+            sessions.open(inventory2, deathChest, player2);
+
+            Assertions.assertEquals(2, sessions.getViewerCount(deathChest.getChestUid()),
+                    "viewers not counted across inventories.");
+            Assertions.assertEquals(List.of(player1, player2), sessions.getViewers(deathChest.getChestUid()),
+                    "viewers not in order of opening.");
+
+            sessions.close(inventory1, player1);
+
+            Assertions.assertFalse(sessions.contains(inventory1), "closed inventory still registered.");
+            Assertions.assertTrue(sessions.contains(inventory2), "other inventory of chest unregistered.");
+            Assertions.assertEquals(List.of(player2), sessions.getViewers(deathChest.getChestUid()),
+                    "closed viewer still listed.");
+        }
+
+        @Test
+        @DisplayName("chest without viewers has an empty viewer list.")
+        void noViewers() {
+            InventorySessions sessions = new InventorySessions();
+            Assertions.assertTrue(sessions.getViewers(UUID.randomUUID()).isEmpty(), "viewer list not empty.");
+            Assertions.assertEquals(0, sessions.getViewerCount(UUID.randomUUID()), "viewer count not zero.");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test remove.")
+    class RemoveTests {
+
+        @Test
+        @DisplayName("remove unregisters all inventories of a chest.")
+        void removeUnregistersChest() {
+            InventorySessions sessions = new InventorySessions();
+            DeathChest deathChest = createChest();
+            DeathChest otherChest = createChest();
+            Inventory inventory1 = createInventory();
+            Inventory inventory2 = createInventory();
+            Inventory otherInventory = createInventory();
+
+            sessions.open(inventory1, deathChest, player1);
+            sessions.open(inventory2, deathChest, player2);
+            sessions.open(otherInventory, otherChest, player1);
+
+            sessions.remove(deathChest.getChestUid());
+
+            Assertions.assertFalse(sessions.contains(inventory1), "inventory of removed chest still registered.");
+            Assertions.assertFalse(sessions.contains(inventory2), "inventory of removed chest still registered.");
+            Assertions.assertEquals(0, sessions.getViewerCount(deathChest.getChestUid()), "removed chest has viewers.");
+            Assertions.assertTrue(sessions.contains(otherInventory), "inventory of other chest unregistered.");
+            Assertions.assertEquals(1, sessions.getViewerCount(otherChest.getChestUid()), "other chest lost viewers.");
+        }
+
+        @Test
+        @DisplayName("close after remove returns null.")
+        void closeAfterRemove() {
+            InventorySessions sessions = new InventorySessions();
+            DeathChest deathChest = createChest();
+            Inventory inventory = createInventory();
+
+            sessions.open(inventory, deathChest, player1);
+            sessions.remove(deathChest.getChestUid());
+
+            Assertions.assertNull(sessions.close(inventory, player1), "close after remove returned a chest.");
+        }
+
+    }
+
+}
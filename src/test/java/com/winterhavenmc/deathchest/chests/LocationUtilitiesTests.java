@@ -0,0 +1,76 @@
+package com.winterhavenmc.deathchest.chests;
+
+import org.junit.jupiter.api.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+
+public class LocationUtilitiesTests {
+
+    // world border coordinate limit
+    private static final int BORDER = 30_000_000;
+
+
+    @Nested
+    @DisplayName("Test block keys.")
+    class BlockKeyTests {
+
+        @Test
+        @DisplayName("negative coordinates have distinct keys.")
+        void negativeCoordinatesDistinct() {
+            Set<Long> keys = new HashSet<>();
+            for (int x = -2; x <= 1; x++) {
+                for (int y = -2; y <= 1; y++) {
+                    for (int z = -2; z <= 1; z++) {
+                        Assertions.assertTrue(keys.add(LocationUtilities.blockKey(x, y, z)),
+                                "duplicate key for " + x + "," + y + "," + z + ".");
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("negative y does not change x or z bits.")
+        void negativeYContained() {
+            Assertions.assertEquals(LocationUtilities.blockKey(0, 0, 0) >>> 12, LocationUtilities.blockKey(0, -64, 0) >>> 12,
+                    "negative y changed x or z bits.");
+            Assertions.assertEquals(LocationUtilities.blockKey(-5, 0, -7) >>> 12, LocationUtilities.blockKey(-5, -1, -7) >>> 12,
+                    "negative y changed negative x or z bits.");
+        }
+
+        @Test
+        @DisplayName("negative z does not change x bits.")
+        void negativeZContained() {
+            Assertions.assertEquals(LocationUtilities.blockKey(0, 0, 0) >>> 38, LocationUtilities.blockKey(0, 0, -1) >>> 38,
+                    "negative z changed x bits.");
+            Assertions.assertNotEquals(LocationUtilities.blockKey(-1, 0, 0), LocationUtilities.blockKey(0, 0, -1),
+                    "x and z are not distinguished.");
+        }
+
+        @Test
+        @DisplayName("every y within world height limits has a distinct key.")
+        void worldHeightDistinct() {
+            Set<Long> keys = new HashSet<>();
+            for (int y = -2048; y < 2048; y++) {
+                Assertions.assertTrue(keys.add(LocationUtilities.blockKey(1, y, -1)),
+                        "duplicate key for y " + y + ".");
+            }
+        }
+
+        @Test
+        @DisplayName("coordinates at the world border have distinct keys.")
+        void worldBorderDistinct() {
+            Set<Long> keys = new HashSet<>();
+            int[] values = { -BORDER, -BORDER + 1, -1, 0, 1, BORDER - 1, BORDER };
+            for (int x : values) {
+                for (int z : values) {
+                    Assertions.assertTrue(keys.add(LocationUtilities.blockKey(x, 64, z)),
+                            "duplicate key for " + x + "," + z + ".");
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.winterhavenmc.deathchest.chests;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.*;
+
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class LootTransferTests {
+
+    @BeforeAll
+    public void setUp() {
+        // Start the mock server; item stacks need its item factory
+        MockBukkit.mock();
+    }
+
+    @AfterAll
+    public void tearDown() {
+        // Stop the mock server
+        MockBukkit.unmock();
+    }
+
+
+    @Nested
+    @DisplayName("Test partial fills.")
+    class PartialFillTests {
+
+        @Test
+        @DisplayName("partial stack of similar items is filled before empty slots.")
+        void partialStackFilledFirst() {
+            ItemStack[] source = { new ItemStack(Material.STONE, 10) };
+            ItemStack[] target = { null, new ItemStack(Material.STONE, 60), null };
+
+            Assertions.assertEquals(10, LootTransfer.transfer(source, target, 64), "moved count incorrect.");
+            Assertions.assertNull(target[2], "empty slot filled after a later partial stack.");
+            Assertions.assertEquals(64, target[1].getAmount(), "partial stack not filled.");
+            Assertions.assertEquals(6, target[0].getAmount(), "remaining items not placed in first empty slot.");
+            Assertions.assertNull(source[0], "source slot not emptied.");
+        }
+
+        @Test
+        @DisplayName("partial stack of dissimilar items is not filled.")
+        void dissimilarStackNotFilled() {
+            ItemStack[] source = { new ItemStack(Material.STONE, 10) };
+            ItemStack[] target = { new ItemStack(Material.DIRT, 10), null };
+
+            LootTransfer.transfer(source, target, 64);
+
+            Assertions.assertEquals(Material.DIRT, target[0].getType(), "dissimilar stack was changed.");
+            Assertions.assertEquals(10, target[0].getAmount(), "dissimilar stack was filled.");
+            Assertions.assertEquals(Material.STONE, target[1].getType(), "items not placed in empty slot.");
+            Assertions.assertEquals(10, target[1].getAmount(), "items not placed in empty slot.");
+        }
+
+        @Test
+        @DisplayName("source stacks are replaced, not modified.")
+        void sourceStackNotModified() {
+            ItemStack sourceStack = new ItemStack(Material.STONE, 10);
+            ItemStack targetStack = new ItemStack(Material.STONE, 60);
+            ItemStack[] source = { sourceStack };
+            ItemStack[] target = { targetStack };
+
+            LootTransfer.transfer(source, target, 64);
+
+            Assertions.assertEquals(10, sourceStack.getAmount(), "source stack was modified.");
+            Assertions.assertEquals(60, targetStack.getAmount(), "target stack was modified.");
+            Assertions.assertEquals(6, source[0].getAmount(), "source slot not set to remaining items.");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test oversized stacks.")
+    class OversizedStackTests {
+
+        @Test
+        @DisplayName("oversized stack is split at the item max stack size.")
+        void oversizedStackSplit() {
+            ItemStack[] source = { new ItemStack(Material.STONE, 100) };
+            ItemStack[] target = new ItemStack[3];
+
+            Assertions.assertEquals(100, LootTransfer.transfer(source, target, 64), "moved count incorrect.");
+            Assertions.assertEquals(64, target[0].getAmount(), "first stack not full.");
+            Assertions.assertEquals(36, target[1].getAmount(), "second stack incorrect.");
+            Assertions.assertNull(target[2], "third slot used.");
+        }
+
+        @Test
+        @DisplayName("stacks are limited by a smaller item max stack size.")
+        void itemMaxStackSize() {
+            ItemStack[] source = { new ItemStack(Material.ENDER_PEARL, 20) };
+            ItemStack[] target = new ItemStack[2];
+
+            LootTransfer.transfer(source, target, 64);
+
+            Assertions.assertEquals(16, target[0].getAmount(), "stack exceeds item max stack size.");
+            Assertions.assertEquals(4, target[1].getAmount(), "second stack incorrect.");
+        }
+
+        @Test
+        @DisplayName("stacks are limited by a smaller inventory max stack size.")
+        void inventoryMaxStackSize() {
+            ItemStack[] source = { new ItemStack(Material.STONE, 25) };
+            ItemStack[] target = new ItemStack[4];
+
+            LootTransfer.transfer(source, target, 10);
+
+            Assertions.assertEquals(10, target[0].getAmount(), "stack exceeds inventory max stack size.");
+            Assertions.assertEquals(10, target[1].getAmount(), "stack exceeds inventory max stack size.");
+            Assertions.assertEquals(5, target[2].getAmount(), "third stack incorrect.");
+            Assertions.assertNull(target[3], "fourth slot used.");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test items left in source.")
+    class LeftoverTests {
+
+        @Test
+        @DisplayName("items that do not fit remain in source slot.")
+        void leftoverRemainsInSource() {
+            ItemStack[] source = { new ItemStack(Material.STONE, 10) };
+            ItemStack[] target = { new ItemStack(Material.DIRT, 64), new ItemStack(Material.STONE, 60) };
+
+            Assertions.assertEquals(4, LootTransfer.transfer(source, target, 64), "moved count incorrect.");
+            Assertions.assertEquals(6, source[0].getAmount(), "leftover items not in source slot.");
+            Assertions.assertFalse(LootTransfer.isEmpty(source), "source with leftover items is empty.");
+        }
+
+        @Test
+        @DisplayName("source slot is unchanged when nothing fits.")
+        void fullTargetLeavesSource() {
+            ItemStack sourceStack = new ItemStack(Material.STONE, 10);
+            ItemStack[] source = { sourceStack };
+            ItemStack[] target = { new ItemStack(Material.DIRT, 64) };
+
+            Assertions.assertEquals(0, LootTransfer.transfer(source, target, 64), "items moved into full target.");
+            Assertions.assertSame(sourceStack, source[0], "source slot replaced when nothing was moved.");
+        }
+
+        @Test
+        @DisplayName("later source slots fill remaining target space.")
+        void laterSlotsContinue() {
+            ItemStack[] source = { new ItemStack(Material.STONE, 64), null, new ItemStack(Material.DIRT, 10) };
+            ItemStack[] target = new ItemStack[1];
+
+            Assertions.assertEquals(64, LootTransfer.transfer(source, target, 64), "moved count incorrect.");
+            Assertions.assertNull(source[0], "first source slot not emptied.");
+            Assertions.assertEquals(10, source[2].getAmount(), "item that did not fit was removed from source.");
+        }
+
+        @Test
+        @DisplayName("empty contents are empty.")
+        void emptyContents() {
+            Assertions.assertTrue(LootTransfer.isEmpty(new ItemStack[3]), "null contents are not empty.");
+            Assertions.assertTrue(LootTransfer.isEmpty(new ItemStack[] { new ItemStack(Material.AIR) }),
+                    "air contents are not empty.");
+        }
+
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.winterhavenmc.deathchest.chests.deployment;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.Damageable;
+import org.bukkit.inventory.meta.ItemMeta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Compares item stack consolidation by pairwise comparison over a linked list, as it was, with consolidation
+ * grouped by similarity key in {@link DeploymentFactory#consolidateItemStacks(Collection)}.
+ * <p>
+ * This is a standalone harness, not a unit test; it is not run by the build. Run it from the IDE
+ * or with the test classpath, e.g.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.winterhavenmc.deathchest.chests.deployment.ConsolidateItemStacksBenchmark \
+ *   -Dexec.args="20000 5"
+ * </pre>
+ * Arguments are the number of consolidations per round and the number of measured rounds. Inventories are
+ * generated with a fixed seed: a survival inventory of 41 stacks, with partial stacks of common blocks and
+ * enchanted, damaged tools and armor; a modded inventory of 41 stacks, with named and lored stackable items
+ * that differ only in meta; and a large drop of 200 such stacks, as from backpack plugins.
+ * Both implementations are checked to produce the same stacks.
+ */
+public final class ConsolidateItemStacksBenchmark {
+
+    private final static Material[] COMMON_MATERIALS = {
+            Material.COBBLESTONE, Material.DIRT, Material.OAK_LOG, Material.TORCH, Material.BREAD,
+            Material.IRON_INGOT, Material.COAL, Material.REDSTONE, Material.ARROW, Material.OAK_PLANKS };
+
+    private final static Material[] GEAR_MATERIALS = {
+            Material.DIAMOND_SWORD, Material.DIAMOND_PICKAXE, Material.DIAMOND_AXE, Material.DIAMOND_SHOVEL,
+            Material.DIAMOND_HELMET, Material.DIAMOND_CHESTPLATE, Material.DIAMOND_LEGGINGS, Material.DIAMOND_BOOTS,
+            Material.BOW, Material.SHIELD };
+
+    private ConsolidateItemStacksBenchmark() { }
+
+
+    public static void main(final String[] args) {
+
+        final int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        final int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        MockBukkit.mock();
+
+        try {
+            final Random random = new Random(42);
+
+            run("survival (41 stacks)", survivalInventory(random), iterations, rounds);
+            run("modded (41 stacks)", moddedInventory(random, 41), iterations, rounds);
+            run("large drop (200 stacks)", moddedInventory(random, 200), iterations / 10, rounds);
+        }
+        finally {
+            MockBukkit.unmock();
+        }
+    }
+
+
+    private static void run(final String name, final List<ItemStack> inventory, final int iterations, final int rounds) {
+
+        checkSameResult(inventory);
+
+        System.out.printf("%s, %d consolidations per round%n", name, iterations);
+
+        // untimed warm-up round
+        time(inventory, iterations, false);
+        time(inventory, iterations, true);
+
+        for (int round = 1; round <= rounds; round++) {
+            final long pairwiseNanos = time(inventory, iterations, false);
+            final long groupedNanos = time(inventory, iterations, true);
+            System.out.printf("  round %d: pairwise %.1f us/op, grouped %.1f us/op%n", round,
+                    pairwiseNanos / 1000.0d / iterations, groupedNanos / 1000.0d / iterations);
+        }
+    }
+
+
+    private static long time(final List<ItemStack> inventory, final int iterations, final boolean grouped) {
+
+        long nanos = 0;
+        int size = 0;
+
+        for (int i = 0; i < iterations; i++) {
+
+            // consolidation changes stack amounts, so each pass gets fresh copies; copying is not timed
+            final List<ItemStack> copy = copyOf(inventory);
+
+            final long start = System.nanoTime();
+            size += grouped
+                    ? DeploymentFactory.consolidateItemStacks(copy).size()
+                    : consolidatePairwise(copy).size();
+            nanos += System.nanoTime() - start;
+        }
+
+        if (size == 0) {
+            throw new IllegalStateException();
+        }
+
+        return nanos;
+    }
+
+
+    private static void checkSameResult(final List<ItemStack> inventory) {
+
+        final List<ItemStack> expected = new ArrayList<>(consolidatePairwise(copyOf(inventory)));
+        final List<ItemStack> actual = new ArrayList<>(DeploymentFactory.consolidateItemStacks(copyOf(inventory)));
+
+        if (!expected.equals(actual)) {
+            throw new IllegalStateException("consolidated stacks differ: " + expected + " != " + actual);
+        }
+    }
+
+
+    /**
+     * Consolidation as it was, comparing each stack with every stack before it
+     */
+    private static Collection<ItemStack> consolidatePairwise(final Collection<ItemStack> itemStacks) {
+
+        final Collection<ItemStack> returnList = new LinkedList<>();
+
+        for (ItemStack itemStack : itemStacks) {
+            if (itemStack == null) {
+                continue;
+            }
+
+            for (ItemStack checkStack : returnList) {
+                if (checkStack == null) {
+                    continue;
+                }
+                if (checkStack.isSimilar(itemStack)) {
+                    int transferAmount = Math.min(itemStack.getAmount(), checkStack.getMaxStackSize() - checkStack.getAmount());
+                    itemStack.setAmount(itemStack.getAmount() - transferAmount);
+                    checkStack.setAmount(checkStack.getAmount() + transferAmount);
+                }
+            }
+            if (itemStack.getAmount() > 0) {
+                returnList.add(itemStack);
+            }
+        }
+        return returnList;
+    }
+
+
+    private static List<ItemStack> survivalInventory(final Random random) {
+
+        final List<ItemStack> inventory = new ArrayList<>();
+
+        for (Material material : GEAR_MATERIALS) {
+            final ItemStack itemStack = new ItemStack(material);
+            final ItemMeta itemMeta = itemStack.getItemMeta();
+            itemMeta.addEnchant(Enchantment.DURABILITY, 1 + random.nextInt(3), false);
+            itemMeta.addEnchant(Enchantment.MENDING, 1, false);
+            ((Damageable) itemMeta).setDamage(random.nextInt(100));
+            itemStack.setItemMeta(itemMeta);
+            inventory.add(itemStack);
+        }
+
+        while (inventory.size() < 41) {
+            inventory.add(new ItemStack(COMMON_MATERIALS[random.nextInt(COMMON_MATERIALS.length)], 1 + random.nextInt(64)));
+        }
+
+        Collections.shuffle(inventory, random);
+        return inventory;
+    }
+
+
+    private static List<ItemStack> moddedInventory(final Random random, final int stackCount) {
+
+        final List<ItemStack> inventory = new ArrayList<>();
+
+        while (inventory.size() < stackCount) {
+            final ItemStack itemStack = new ItemStack(COMMON_MATERIALS[random.nextInt(3)], 1 + random.nextInt(64));
+            final ItemMeta itemMeta = itemStack.getItemMeta();
+            itemMeta.setDisplayName("Refined Component Mk" + random.nextInt(8));
+            final List<String> lore = new ArrayList<>();
+            for (int line = 0; line < 4; line++) {
+                lore.add("Tier " + line + " crafting material, grade " + random.nextInt(2));
+            }
+            itemMeta.setLore(lore);
+            itemMeta.setCustomModelData(1000 + random.nextInt(4));
+            itemStack.setItemMeta(itemMeta);
+            inventory.add(itemStack);
+        }
+
+        return inventory;
+    }
+
+
+    private static List<ItemStack> copyOf(final List<ItemStack> inventory) {
+        final List<ItemStack> copy = new ArrayList<>(inventory.size());
+        for (ItemStack itemStack : inventory) {
+            copy.add(itemStack.clone());
+        }
+        return copy;
+    }
+
+}
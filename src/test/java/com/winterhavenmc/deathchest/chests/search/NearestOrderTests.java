@@ -0,0 +1,153 @@
+package com.winterhavenmc.deathchest.chests.search;
+
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+
+
+public class NearestOrderTests {
+
+    private static final int MIN_Y = -64;
+    private static final int MAX_Y = 320;
+    private static final float YAW = 45;
+
+
+    /**
+     * Enumerate the offsets of a nearest order, checking that each is tested at the origin yaw
+     * and then rotated, one after the other
+     *
+     * @return list of offsets as {dx, dy, dz} arrays, one for each pair of yaws
+     */
+    private static List<int[]> enumerate(final NearestOrder nearestOrder) {
+
+        final List<int[]> offsets = new ArrayList<>();
+
+        while (nearestOrder.next()) {
+            final int[] offset = { nearestOrder.getOffsetX(), nearestOrder.getOffsetY(), nearestOrder.getOffsetZ() };
+            Assertions.assertEquals(YAW, nearestOrder.getYaw(), "offset not tested at origin yaw first.");
+
+            Assertions.assertTrue(nearestOrder.next(), "offset not tested at rotated yaw.");
+            Assertions.assertArrayEquals(offset, new int[] { nearestOrder.getOffsetX(),
+                    nearestOrder.getOffsetY(), nearestOrder.getOffsetZ() }, "rotated yaw not tested at same offset.");
+            Assertions.assertEquals(YAW - 90, nearestOrder.getYaw(), "offset not tested at rotated yaw second.");
+
+            offsets.add(offset);
+        }
+
+        return offsets;
+    }
+
+
+    private static int distanceSquared(final int[] offset) {
+        return offset[0] * offset[0] + offset[1] * offset[1] + offset[2] * offset[2];
+    }
+
+
+    /**
+     * Check that a list of offsets holds every offset within search distance on each axis exactly once,
+     * limited to the given y offsets
+     */
+    private static void assertEachOffsetOnce(final List<int[]> offsets, final int searchDistance,
+                                             final int minOffsetY, final int maxOffsetY) {
+
+        final Set<List<Integer>> seen = new HashSet<>();
+        for (int[] offset : offsets) {
+            Assertions.assertTrue(seen.add(List.of(offset[0], offset[1], offset[2])),
+                    "offset " + Arrays.toString(offset) + " enumerated more than once.");
+        }
+
+        int expectedCount = 0;
+        for (int dy = -(searchDistance - 1); dy < searchDistance; dy++) {
+            if (dy < minOffsetY || dy > maxOffsetY) {
+                continue;
+            }
+            for (int dx = -(searchDistance - 1); dx < searchDistance; dx++) {
+                for (int dz = -(searchDistance - 1); dz < searchDistance; dz++) {
+                    Assertions.assertTrue(seen.contains(List.of(dx, dy, dz)),
+                            "offset " + dx + "," + dy + "," + dz + " not enumerated.");
+                    expectedCount++;
+                }
+            }
+        }
+
+        Assertions.assertEquals(expectedCount, offsets.size(), "offsets outside search distance enumerated.");
+    }
+
+
+    @Nested
+    @DisplayName("Test offsets.")
+    class OffsetTests {
+
+        @Test
+        @DisplayName("each offset within search distance is enumerated exactly once.")
+        void eachOffsetOnce() {
+            final int searchDistance = 5;
+            assertEachOffsetOnce(enumerate(new NearestOrder(searchDistance, 64, YAW, MIN_Y, MAX_Y)),
+                    searchDistance, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        @Test
+        @DisplayName("offsets with zero components are not duplicated.")
+        void zeroComponentsNotDuplicated() {
+            final List<int[]> offsets = enumerate(new NearestOrder(2, 64, YAW, MIN_Y, MAX_Y));
+
+            // the origin, 6 face neighbors, 12 edge neighbors and 8 corner neighbors
+            Assertions.assertEquals(27, offsets.size(), "offset count incorrect for search distance of two.");
+            Assertions.assertArrayEquals(new int[] { 0, 0, 0 }, offsets.get(0), "origin not enumerated first.");
+        }
+
+        @Test
+        @DisplayName("offsets beyond world height limits are skipped.")
+        void clippedAtHeightLimits() {
+            final int searchDistance = 5;
+            assertEachOffsetOnce(enumerate(new NearestOrder(searchDistance, MAX_Y - 2, YAW, MIN_Y, MAX_Y)),
+                    searchDistance, Integer.MIN_VALUE, 1);
+            assertEachOffsetOnce(enumerate(new NearestOrder(searchDistance, MIN_Y + 1, YAW, MIN_Y, MAX_Y)),
+                    searchDistance, -1, Integer.MAX_VALUE);
+        }
+
+        @Test
+        @DisplayName("offset tables are capped at the maximum search distance.")
+        void offsetTableCapped() {
+            final int maxDistance = NearestOrder.MAX_SEARCH_DISTANCE;
+            Assertions.assertEquals(maxDistance * maxDistance * maxDistance,
+                    NearestOrder.getOffsetTable(maxDistance + 10).length, "offset table not capped.");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test ordering.")
+    class OrderingTests {
+
+        @Test
+        @DisplayName("offsets are enumerated in non-decreasing distance.")
+        void nonDecreasingDistance() {
+            final List<int[]> offsets = enumerate(new NearestOrder(6, 64, YAW, MIN_Y, MAX_Y));
+
+            for (int i = 1; i < offsets.size(); i++) {
+                Assertions.assertTrue(distanceSquared(offsets.get(i - 1)) <= distanceSquared(offsets.get(i)),
+                        "offset " + Arrays.toString(offsets.get(i)) + " enumerated after a farther offset.");
+            }
+        }
+
+        @Test
+        @DisplayName("offsets at equal distance are level first.")
+        void tiesLevelFirst() {
+            final List<int[]> offsets = enumerate(new NearestOrder(6, 64, YAW, MIN_Y, MAX_Y));
+
+            for (int i = 1; i < offsets.size(); i++) {
+                final int[] previous = offsets.get(i - 1);
+                final int[] current = offsets.get(i);
+                if (distanceSquared(previous) != distanceSquared(current)) {
+                    continue;
+                }
+                Assertions.assertTrue(Math.abs(previous[1]) <= Math.abs(current[1]),
+                        "offset " + Arrays.toString(current) + " enumerated after a less level offset.");
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.winterhavenmc.deathchest.chests.search;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class QuadrantOrderTests {
+
+    private static final int MIN_Y = -64;
+    private static final int MAX_Y = 320;
+    private static final float YAW = 45;
+
+    // x and z signs of each quadrant, in the order of the quadrant search
+    private static final int[][] QUADRANTS = { { 1, 1 }, { -1, 1 }, { -1, -1 }, { 1, -1 } };
+
+
+    /**
+     * Enumerate the locations of the nested loops that the quadrant order replaces
+     *
+     * @return list of locations as "dx,dy,dz,yaw" strings
+     */
+    private static List<String> nestedLoopOrder(final int searchDistance, final int originY, final float originYaw) {
+
+        final List<String> locations = new ArrayList<>();
+
+        for (AbstractSearch.VerticalAxis verticalAxis : AbstractSearch.VerticalAxis.values()) {
+            for (int y = 0; y < searchDistance; y++) {
+
+                // if world max height reached, break loop
+                if (y * verticalAxis.yFactor + originY >= MAX_Y) {
+                    break;
+                }
+
+                // if world min height reached, break loop
+                if (y * verticalAxis.yFactor + originY < MIN_Y) {
+                    break;
+                }
+
+                // skip test in lower vertical axis when y == 0
+                if (verticalAxis.equals(AbstractSearch.VerticalAxis.LOWER) && y == 0) {
+                    continue;
+                }
+
+                for (int x = 0; x < searchDistance; x++) {
+                    for (int z = 0; z < searchDistance; z++) {
+                        for (int quadrant = 0; quadrant < QUADRANTS.length; quadrant++) {
+
+                            // only test x == 0 or z == 0 in first quadrant
+                            if (quadrant != 0 && (x == 0 || z == 0)) {
+                                continue;
+                            }
+
+                            final int dx = x * QUADRANTS[quadrant][0];
+                            final int dy = y * verticalAxis.yFactor;
+                            final int dz = z * QUADRANTS[quadrant][1];
+
+                            locations.add(location(dx, dy, dz, originYaw));
+                            locations.add(location(dx, dy, dz, originYaw - 90));
+                        }
+                    }
+                }
+            }
+        }
+
+        return locations;
+    }
+
+
+    private static List<String> enumerate(final SearchOrder searchOrder) {
+        final List<String> locations = new ArrayList<>();
+        while (searchOrder.next()) {
+            locations.add(location(searchOrder.getOffsetX(), searchOrder.getOffsetY(),
+                    searchOrder.getOffsetZ(), searchOrder.getYaw()));
+        }
+        return locations;
+    }
+
+
+    private static String location(final int dx, final int dy, final int dz, final float yaw) {
+        return dx + "," + dy + "," + dz + "," + yaw;
+    }
+
+
+    @Nested
+    @DisplayName("Test order matches nested loops.")
+    class NestedLoopTests {
+
+        @Test
+        @DisplayName("order matches nested loops away from world height limits.")
+        void unclipped() {
+            Assertions.assertEquals(nestedLoopOrder(5, 64, YAW),
+                    enumerate(new QuadrantOrder(5, 64, YAW, MIN_Y, MAX_Y)),
+                    "order does not match nested loops.");
+        }
+
+        @Test
+        @DisplayName("order matches nested loops when clipped at world max height.")
+        void clippedAtMaxHeight() {
+            final int originY = MAX_Y - 3;
+            final List<String> expected = nestedLoopOrder(6, originY, YAW);
+
+            Assertions.assertEquals(expected, enumerate(new QuadrantOrder(6, originY, YAW, MIN_Y, MAX_Y)),
+                    "order does not match nested loops at max height.");
+            Assertions.assertTrue(expected.stream().noneMatch(location -> location.split(",")[1].equals("3")),
+                    "locations at max height were enumerated.");
+        }
+
+        @Test
+        @DisplayName("order matches nested loops when clipped at world min height.")
+        void clippedAtMinHeight() {
+            final int originY = MIN_Y + 2;
+            final List<String> expected = nestedLoopOrder(6, originY, YAW);
+
+            Assertions.assertEquals(expected, enumerate(new QuadrantOrder(6, originY, YAW, MIN_Y, MAX_Y)),
+                    "order does not match nested loops at min height.");
+            Assertions.assertTrue(expected.stream().noneMatch(location -> location.split(",")[1].equals("-3")),
+                    "locations below min height were enumerated.");
+        }
+
+        @Test
+        @DisplayName("order matches nested loops for a search distance of one.")
+        void searchDistanceOne() {
+            Assertions.assertEquals(List.of(location(0, 0, 0, YAW), location(0, 0, 0, YAW - 90)),
+                    enumerate(new QuadrantOrder(1, 64, YAW, MIN_Y, MAX_Y)),
+                    "search distance of one does not test the origin at both yaws.");
+        }
+
+        @Test
+        @DisplayName("search distance of zero enumerates no locations.")
+        void searchDistanceZero() {
+            Assertions.assertFalse(new QuadrantOrder(0, 64, YAW, MIN_Y, MAX_Y).next(),
+                    "locations enumerated for search distance of zero.");
+        }
+
+    }
+
+}
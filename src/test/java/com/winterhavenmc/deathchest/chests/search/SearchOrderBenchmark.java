@@ -0,0 +1,127 @@
+package com.winterhavenmc.deathchest.chests.search;
+
+import java.util.Random;
+
+
+/**
+ * Compares the number of locations probed per chest placement by the quadrant and nearest search orders,
+ * and the distance from the death location of the placement each finds.
+ * <p>
+ * This is a standalone harness, not a unit test; it is not run by the build. Run it from the IDE
+ * or with the test classpath, e.g.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.winterhavenmc.deathchest.chests.search.SearchOrderBenchmark \
+ *   -Dexec.args="10 1000"
+ * </pre>
+ * Arguments are the search distance and the number of placements per scenario. Each placement is made in
+ * a random terrain where each block within search distance is free with a given probability; in the ground
+ * scenarios, blocks below the death location are never free. A single chest needs a free block; a double chest
+ * also needs the block to its right free, taken as +x for the origin yaw and +z for the rotated yaw.
+ */
+public final class SearchOrderBenchmark {
+
+    private final static double[] FREE_FRACTIONS = { 0.02, 0.1, 0.3 };
+
+    private SearchOrderBenchmark() { }
+
+
+    public static void main(final String[] args) {
+
+        final int searchDistance = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        final int placements = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        System.out.printf("search distance %d, %d placements per scenario%n", searchDistance, placements);
+        System.out.printf("%-8s %-6s %-6s | %-8s %10s %10s %8s%n",
+                "terrain", "free", "chest", "order", "probes", "distance", "failed");
+
+        for (boolean ground : new boolean[] { false, true }) {
+            for (double freeFraction : FREE_FRACTIONS) {
+                for (boolean doubleChest : new boolean[] { false, true }) {
+                    for (SearchStrategy strategy : SearchStrategy.values()) {
+                        run(strategy, searchDistance, placements, freeFraction, ground, doubleChest);
+                    }
+                }
+            }
+        }
+    }
+
+
+    private static void run(final SearchStrategy strategy, final int searchDistance, final int placements,
+                            final double freeFraction, final boolean ground, final boolean doubleChest) {
+
+        // same seed for each strategy, so both search the same terrains
+        final Random random = new Random(42);
+
+        // terrain extends one block past search distance, for the right block of a double chest
+        final int size = searchDistance * 2 + 1;
+        final boolean[] free = new boolean[size * size * size];
+
+        long totalProbes = 0;
+        double totalDistance = 0;
+        int failed = 0;
+
+        for (int placement = 0; placement < placements; placement++) {
+
+            for (int i = 0; i < free.length; i++) {
+                free[i] = random.nextDouble() < freeFraction;
+            }
+
+            final SearchOrder searchOrder = strategy.createOrder(searchDistance, 0, 0, -searchDistance, searchDistance);
+
+            boolean placed = false;
+            while (searchOrder.next()) {
+
+                totalProbes++;
+
+                final int x = searchOrder.getOffsetX();
+                final int y = searchOrder.getOffsetY();
+                final int z = searchOrder.getOffsetZ();
+
+                if (!isFree(free, size, searchDistance, ground, x, y, z)) {
+                    continue;
+                }
+
+                if (doubleChest) {
+                    final boolean rotated = searchOrder.getYaw() != 0;
+                    if (!isFree(free, size, searchDistance, ground, rotated ? x : x + 1, y, rotated ? z + 1 : z)) {
+                        continue;
+                    }
+                }
+
+                totalDistance += Math.sqrt(x * x + y * y + z * z);
+                placed = true;
+                break;
+            }
+
+            if (!placed) {
+                failed++;
+            }
+        }
+
+        final int succeeded = placements - failed;
+        System.out.printf("%-8s %-6.2f %-6s | %-8s %10.1f %10.2f %8d%n",
+                ground ? "ground" : "uniform", freeFraction, doubleChest ? "double" : "single", strategy,
+                (double) totalProbes / placements, succeeded > 0 ? totalDistance / succeeded : Double.NaN, failed);
+    }
+
+
+    private static boolean isFree(final boolean[] free, final int size, final int searchDistance,
+                                  final boolean ground, final int x, final int y, final int z) {
+
+        if (ground && y < 0) {
+            return false;
+        }
+
+        final int ix = x + searchDistance;
+        final int iy = y + searchDistance;
+        final int iz = z + searchDistance;
+
+        if (ix < 0 || ix >= size || iy < 0 || iy >= size || iz < 0 || iz >= size) {
+            return false;
+        }
+
+        return free[(iy * size + ix) * size + iz];
+    }
+
+}
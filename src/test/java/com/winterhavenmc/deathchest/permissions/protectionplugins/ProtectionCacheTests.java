@@ -0,0 +1,255 @@
+package com.winterhavenmc.deathchest.permissions.protectionplugins;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import be.seeseemelk.mockbukkit.entity.PlayerMock;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.*;
+
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class ProtectionCacheTests {
+
+    private PlayerMock player1;
+    private PlayerMock player2;
+    private WorldMock world;
+
+    @BeforeAll
+    public void setUp() {
+        // Start the mock server
+        ServerMock server = MockBukkit.mock();
+
+        // create mock players
+        player1 = server.addPlayer("player1");
+        player2 = server.addPlayer("player2");
+
+        // create mock world
+        world = server.addSimpleWorld("world");
+    }
+
+    @AfterAll
+    public void tearDown() {
+        // Stop the mock server
+        MockBukkit.unmock();
+    }
+
+
+    /**
+     * A protection plugin that counts access queries
+     */
+    private static final class CountingProtectionPlugin implements ProtectionPlugin {
+
+        int queryCount;
+        boolean allowed = true;
+
+        @Override
+        public boolean allowChestPlacement(final Player player, final Location location) {
+            return allowed;
+        }
+
+        @Override
+        public boolean allowChestAccess(final Player player, final Location location) {
+            queryCount++;
+            return allowed;
+        }
+
+        @Override
+        public void logPlaceError() { }
+
+        @Override
+        public void logPlaceError(final String message) { }
+
+        @Override
+        public void logAccessError() { }
+
+        @Override
+        public void logAccessError(final String message) { }
+
+        @Override
+        public String getPluginName() {
+            return "Counting";
+        }
+
+        @Override
+        public String getPluginVersion() {
+            return "1.0";
+        }
+
+        @Override
+        public boolean isIgnoredOnPlace() {
+            return false;
+        }
+
+        @Override
+        public boolean isIgnoredOnAccess() {
+            return false;
+        }
+    }
+
+
+    private Location location(final int x) {
+        return new Location(world, x, 64, 0);
+    }
+
+
+    @Nested
+    @DisplayName("Test cached decisions.")
+    class CachedDecisionTests {
+
+        @Test
+        @DisplayName("decision is cached within time to live.")
+        void decisionCached() {
+            ProtectionCache cache = new ProtectionCache(60000);
+            CountingProtectionPlugin protectionPlugin = new CountingProtectionPlugin();
+
+            Assertions.assertTrue(cache.allowChestAccess(protectionPlugin, player1, location(0)));
+            protectionPlugin.allowed = false;
+            Assertions.assertTrue(cache.allowChestAccess(protectionPlugin, player1, location(0)),
+                    "cached decision not returned.");
+            Assertions.assertEquals(1, protectionPlugin.queryCount, "protection plugin queried for cached decision.");
+            Assertions.assertTrue(cache.getStatistics().contains("1 hits, 1 misses"), "hits and misses not counted.");
+        }
+
+        @Test
+        @DisplayName("decisions are cached separately by player, location and protection plugin.")
+        void separateKeys() {
+            ProtectionCache cache = new ProtectionCache(60000);
+            CountingProtectionPlugin protectionPlugin = new CountingProtectionPlugin();
+            CountingProtectionPlugin otherPlugin = new CountingProtectionPlugin();
+
+            cache.allowChestAccess(protectionPlugin, player1, location(0));
+            cache.allowChestAccess(protectionPlugin, player2, location(0));
+            cache.allowChestAccess(protectionPlugin, player1, location(1));
+            cache.allowChestAccess(otherPlugin, player1, location(0));
+
+            Assertions.assertEquals(3, protectionPlugin.queryCount, "decisions shared across players or locations.");
+            Assertions.assertEquals(1, otherPlugin.queryCount, "decisions shared across protection plugins.");
+        }
+
+        @Test
+        @DisplayName("locations in the same block share a decision.")
+        void sameBlockShared() {
+            ProtectionCache cache = new ProtectionCache(60000);
+            CountingProtectionPlugin protectionPlugin = new CountingProtectionPlugin();
+
+            cache.allowChestAccess(protectionPlugin, player1, new Location(world, 0.2, 64.5, 0.7));
+            cache.allowChestAccess(protectionPlugin, player1, new Location(world, 0.8, 64.1, 0.3));
+
+            Assertions.assertEquals(1, protectionPlugin.queryCount, "locations in the same block not shared.");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test time to live.")
+    class TimeToLiveTests {
+
+        @Test
+        @DisplayName("decision expires after time to live.")
+        void decisionExpires() throws InterruptedException {
+            ProtectionCache cache = new ProtectionCache(1);
+            CountingProtectionPlugin protectionPlugin = new CountingProtectionPlugin();
+
+            cache.allowChestAccess(protectionPlugin, player1, location(0));
+            Thread.sleep(20);
+            protectionPlugin.allowed = false;
+
+            Assertions.assertFalse(cache.allowChestAccess(protectionPlugin, player1, location(0)),
+                    "expired decision returned.");
+            Assertions.assertEquals(2, protectionPlugin.queryCount, "protection plugin not queried after expiry.");
+        }
+
+        @Test
+        @DisplayName("zero time to live disables the cache.")
+        void zeroDisables() {
+            ProtectionCache cache = new ProtectionCache(0);
+            CountingProtectionPlugin protectionPlugin = new CountingProtectionPlugin();
+
+            cache.allowChestAccess(protectionPlugin, player1, location(0));
+            cache.allowChestAccess(protectionPlugin, player1, location(0));
+
+            Assertions.assertEquals(2, protectionPlugin.queryCount, "decision cached with zero time to live.");
+            Assertions.assertEquals("disabled", cache.getStatistics(), "disabled cache statistics incorrect.");
+        }
+
+        @Test
+        @DisplayName("negative time to live disables the cache.")
+        void negativeDisables() {
+            ProtectionCache cache = new ProtectionCache(-1);
+            CountingProtectionPlugin protectionPlugin = new CountingProtectionPlugin();
+
+            cache.allowChestAccess(protectionPlugin, player1, location(0));
+            cache.allowChestAccess(protectionPlugin, player1, location(0));
+
+            Assertions.assertEquals(2, protectionPlugin.queryCount, "decision cached with negative time to live.");
+        }
+
+        @Test
+        @DisplayName("setting time to live clears cached decisions.")
+        void setTimeToLiveClears() {
+            ProtectionCache cache = new ProtectionCache(60000);
+            CountingProtectionPlugin protectionPlugin = new CountingProtectionPlugin();
+
+            cache.allowChestAccess(protectionPlugin, player1, location(0));
+            cache.setTimeToLive(60000);
+            cache.allowChestAccess(protectionPlugin, player1, location(0));
+
+            Assertions.assertEquals(2, protectionPlugin.queryCount, "cached decision survived reset.");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test eviction.")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("least recently used decision is evicted when cache is full.")
+        void leastRecentlyUsedEvicted() {
+            ProtectionCache cache = new ProtectionCache(60000);
+            CountingProtectionPlugin protectionPlugin = new CountingProtectionPlugin();
+
+            // fill cache
+            for (int x = 0; x < ProtectionCache.MAX_ENTRIES; x++) {
+                cache.allowChestAccess(protectionPlugin, player1, location(x));
+            }
+
+            // use first decision, so that second decision is least recently used
+            cache.allowChestAccess(protectionPlugin, player1, location(0));
+
+            // add one more decision
+            cache.allowChestAccess(protectionPlugin, player1, location(ProtectionCache.MAX_ENTRIES));
+            Assertions.assertEquals(ProtectionCache.MAX_ENTRIES + 1, protectionPlugin.queryCount, "query count incorrect.");
+
+            // first decision is still cached
+            cache.allowChestAccess(protectionPlugin, player1, location(0));
+            Assertions.assertEquals(ProtectionCache.MAX_ENTRIES + 1, protectionPlugin.queryCount,
+                    "recently used decision was evicted.");
+
+            // second decision was evicted
+            cache.allowChestAccess(protectionPlugin, player1, location(1));
+            Assertions.assertEquals(ProtectionCache.MAX_ENTRIES + 2, protectionPlugin.queryCount,
+                    "least recently used decision was not evicted.");
+        }
+
+        @Test
+        @DisplayName("cache holds no more than its maximum entries.")
+        void boundedSize() {
+            ProtectionCache cache = new ProtectionCache(60000);
+            CountingProtectionPlugin protectionPlugin = new CountingProtectionPlugin();
+
+            for (int x = 0; x < ProtectionCache.MAX_ENTRIES * 2; x++) {
+                cache.allowChestAccess(protectionPlugin, player1, location(x));
+            }
+
+            Assertions.assertTrue(cache.getStatistics().startsWith(ProtectionCache.MAX_ENTRIES + " entries"),
+                    "cache exceeded maximum entries.");
+        }
+
+    }
+
+}
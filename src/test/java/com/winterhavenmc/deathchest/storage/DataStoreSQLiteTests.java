@@ -0,0 +1,187 @@
+package com.winterhavenmc.deathchest.storage;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.ChestBlock;
+import com.winterhavenmc.deathchest.chests.DeathChest;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DataStoreSQLiteTests {
+
+    private PluginMain plugin;
+
+    @BeforeAll
+    public void setUp() {
+        // Start the mock server
+        MockBukkit.mock();
+
+        // start the mock plugin
+        plugin = MockBukkit.load(PluginMain.class);
+
+        // close the plugin's own datastore, so that each test opens the datastore file alone
+        plugin.chestManager.closeDataStore();
+    }
+
+    @AfterAll
+    public void tearDown() {
+        // Stop the mock server
+        MockBukkit.unmock();
+    }
+
+
+    private DeathChest createChest() {
+        final long now = System.currentTimeMillis();
+        return new DeathChest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 1, now, now + 60000, now + 60000);
+    }
+
+    private DeathChest createChest(final long placementTime, final long expirationTime) {
+        return new DeathChest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 1,
+                placementTime, expirationTime, expirationTime);
+    }
+
+    private ChestBlock createBlock(final DeathChest deathChest, final UUID worldUid, final int x) {
+        return new ChestBlock(deathChest.getChestUid(), "deleted", worldUid, x, 64, 0, 0, 0);
+    }
+
+
+    /**
+     * Stream chest records while another thread submits inserts, which the writer commits during the stream
+     *
+     * @param profile the pragma profile of the datastore
+     */
+    private void streamWhileWriting(final String profile) throws Exception {
+
+        final String configuredProfile = plugin.getConfig().getString("storage-profile");
+        plugin.getConfig().set("storage-profile", profile);
+
+        final DataStoreSQLite dataStore = new DataStoreSQLite(plugin);
+        dataStore.initialize();
+
+        try {
+            // commit records before the stream starts
+            final List<DeathChest> committed = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                committed.add(createChest());
+            }
+            dataStore.insertChestRecordsSync(committed);
+
+            // submit a full batch of inserts once the stream is open
+            final Thread submitter = new Thread(() -> {
+                for (int i = 0; i < 100; i++) {
+                    dataStore.insertChestRecords(List.of(createChest()));
+                }
+            });
+
+            final List<DeathChest> streamed = new ArrayList<>();
+            final boolean result = dataStore.streamChestRecords(deathChest -> {
+                if (streamed.isEmpty()) {
+                    submitter.start();
+                }
+                streamed.add(deathChest);
+
+                // keep the stream open while the writer commits
+                try {
+                    Thread.sleep(1);
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            submitter.join();
+
+            Assertions.assertTrue(result, "stream failed while writes were in flight.");
+            Assertions.assertEquals(200, streamed.size(),
+                    "stream did not read exactly the records committed when it started.");
+
+            // wait for writer to commit the inserts submitted during the stream
+            final long deadline = System.currentTimeMillis() + 10000;
+            while (dataStore.hasPendingWrites() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            Assertions.assertEquals(300, dataStore.getChestCount(), "inserts submitted during stream were not committed.");
+        }
+        finally {
+            dataStore.close();
+            dataStore.delete();
+            plugin.getConfig().set("storage-profile", configuredProfile);
+        }
+    }
+
+
+    @Nested
+    @DisplayName("Test streaming records while writes are in flight.")
+    class StreamTests {
+
+        @Test
+        @DisplayName("stream with write-ahead log reads committed records while writer commits.")
+        void streamWithWriteAheadLog() throws Exception {
+            streamWhileWriting("BALANCED");
+        }
+
+        @Test
+        @DisplayName("stream with rollback journal reads committed records while writer waits.")
+        void streamWithRollbackJournal() throws Exception {
+            streamWhileWriting("DURABLE");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test orphaned chest deletion.")
+    class OrphanedChestTests {
+
+        @Test
+        @DisplayName("only old chests in the orphaned world are deleted.")
+        void oldChestsInWorldDeleted() throws Exception {
+            final DataStoreSQLite dataStore = new DataStoreSQLite(plugin);
+            dataStore.initialize();
+
+            try {
+                final long now = System.currentTimeMillis();
+                final long pastDueTime = now - TimeUnit.DAYS.toMillis(30);
+                final long oldTime = now - TimeUnit.DAYS.toMillis(40);
+                final UUID orphanedWorldUid = UUID.randomUUID();
+                final UUID otherWorldUid = UUID.randomUUID();
+
+                final DeathChest expired = createChest(oldTime - 1000, oldTime);
+                final DeathChest neverExpires = createChest(oldTime, 0);
+                final DeathChest recent = createChest(oldTime, now + 60000);
+                final DeathChest otherWorld = createChest(oldTime - 1000, oldTime);
+
+                dataStore.insertChestRecordsSync(List.of(expired, neverExpires, recent, otherWorld));
+                dataStore.insertBlockRecordsSync(List.of(
+                        createBlock(expired, orphanedWorldUid, 0),
+                        createBlock(neverExpires, orphanedWorldUid, 1),
+                        createBlock(recent, orphanedWorldUid, 2),
+                        createBlock(otherWorld, otherWorldUid, 3)));
+
+                dataStore.deleteOrphanedChestRecords(orphanedWorldUid, pastDueTime);
+
+                Assertions.assertEquals(2, dataStore.getChestCount(), "orphaned chest count incorrect.");
+                Assertions.assertTrue(dataStore.selectBlockRecordsForChest(expired.getChestUid()).isEmpty(),
+                        "blocks of expired orphaned chest not deleted.");
+                Assertions.assertTrue(dataStore.selectBlockRecordsForChest(neverExpires.getChestUid()).isEmpty(),
+                        "blocks of old orphaned chest that never expires not deleted.");
+                Assertions.assertFalse(dataStore.selectBlockRecordsForChest(recent.getChestUid()).isEmpty(),
+                        "orphaned chest not yet expired was deleted.");
+                Assertions.assertFalse(dataStore.selectBlockRecordsForChest(otherWorld.getChestUid()).isEmpty(),
+                        "chest in another world was deleted.");
+            }
+            finally {
+                dataStore.close();
+                dataStore.delete();
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.winterhavenmc.deathchest.storage;
+
+import be.seeseemelk.mockbukkit.MockBukkit;
+import be.seeseemelk.mockbukkit.ServerMock;
+import be.seeseemelk.mockbukkit.WorldMock;
+import com.winterhavenmc.deathchest.PluginMain;
+import com.winterhavenmc.deathchest.chests.ChestBlock;
+import com.winterhavenmc.deathchest.chests.DeathChest;
+import org.bukkit.Location;
+import org.junit.jupiter.api.*;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class DataStoreWriterTests {
+
+    private PluginMain plugin;
+    private WorldMock world;
+
+    @BeforeAll
+    public void setUp() {
+        // Start the mock server
+        ServerMock server = MockBukkit.mock();
+
+        // start the mock plugin
+        plugin = MockBukkit.load(PluginMain.class);
+
+        // create mock world
+        world = server.addSimpleWorld("world");
+    }
+
+    @AfterAll
+    public void tearDown() {
+        // Stop the mock server
+        MockBukkit.unmock();
+    }
+
+
+    private DataStoreWriter createWriter() {
+        // writer is not started, so its connection and executor are never used
+        return new DataStoreWriter(plugin, null, new Object(), new ReentrantLock(), operation -> 1, 100, 100, 1000);
+    }
+
+    private DeathChest createChest() {
+        final long now = System.currentTimeMillis();
+        return new DeathChest(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), 1, now, now + 60000, now + 60000);
+    }
+
+    private ChestBlock createBlock(final DeathChest deathChest, final int x) {
+        return new ChestBlock(deathChest.getChestUid(), new Location(world, x, 64, 0));
+    }
+
+
+    @Nested
+    @DisplayName("Test batch cancellation.")
+    class BatchTests {
+
+        @Test
+        @DisplayName("chest delete cancels pending insert and operations of the same chest.")
+        void chestDeleteCancelsPendingInsert() {
+            DataStoreWriter writer = createWriter();
+            List<DataStoreWriter.Operation> batch = new ArrayList<>();
+            Set<UUID> pendingChestInserts = new HashSet<>();
+            DeathChest deathChest = createChest();
+            DeathChest otherChest = createChest();
+
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.insertChest(deathChest));
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.insertBlock(createBlock(deathChest, 0)));
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.insertChest(otherChest));
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.insertBlock(createBlock(deathChest, 1)));
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.deleteChest(deathChest));
+
+            Assertions.assertEquals(1, batch.size(),
+                    "batch does not contain only the other chest's insert.");
+            Assertions.assertEquals(otherChest.getChestUid(), batch.get(0).getChestUid(),
+                    "remaining operation is not the other chest's insert.");
+            Assertions.assertFalse(pendingChestInserts.contains(deathChest.getChestUid()),
+                    "cancelled chest insert is still pending.");
+            Assertions.assertTrue(writer.getStatistics().get("Writer Operations").endsWith("4 cancelled"),
+                    "cancelled operations and the delete were not counted.");
+        }
+
+        @Test
+        @DisplayName("chest delete without pending insert is added to batch.")
+        void chestDeleteWithoutInsertIsQueued() {
+            DataStoreWriter writer = createWriter();
+            List<DataStoreWriter.Operation> batch = new ArrayList<>();
+            Set<UUID> pendingChestInserts = new HashSet<>();
+            DeathChest deathChest = createChest();
+
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.insertBlock(createBlock(deathChest, 0)));
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.deleteChest(deathChest));
+
+            Assertions.assertEquals(2, batch.size(),
+                    "operations were cancelled without a pending chest insert.");
+            Assertions.assertEquals(DataStoreWriter.OperationType.DELETE_CHEST, batch.get(1).getType(),
+                    "chest delete was not added to batch.");
+        }
+
+        @Test
+        @DisplayName("block delete does not cancel pending inserts.")
+        void blockDeleteDoesNotCancel() {
+            DataStoreWriter writer = createWriter();
+            List<DataStoreWriter.Operation> batch = new ArrayList<>();
+            Set<UUID> pendingChestInserts = new HashSet<>();
+            DeathChest deathChest = createChest();
+            ChestBlock chestBlock = createBlock(deathChest, 0);
+
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.insertChest(deathChest));
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.insertBlock(chestBlock));
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.deleteBlock(chestBlock));
+
+            Assertions.assertEquals(3, batch.size(),
+                    "block delete cancelled pending operations.");
+            Assertions.assertTrue(pendingChestInserts.contains(deathChest.getChestUid()),
+                    "chest insert is no longer pending.");
+        }
+
+        @Test
+        @DisplayName("chest insert after cancellation is added to batch.")
+        void chestInsertAfterCancellation() {
+            DataStoreWriter writer = createWriter();
+            List<DataStoreWriter.Operation> batch = new ArrayList<>();
+            Set<UUID> pendingChestInserts = new HashSet<>();
+            DeathChest deathChest = createChest();
+
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.insertChest(deathChest));
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.deleteChest(deathChest));
+            writer.addToBatch(batch, pendingChestInserts, DataStoreWriter.Operation.insertChest(deathChest));
+
+            Assertions.assertEquals(1, batch.size(),
+                    "chest insert after cancellation was not added to batch.");
+            Assertions.assertEquals(DataStoreWriter.OperationType.INSERT_CHEST, batch.get(0).getType(),
+                    "remaining operation is not a chest insert.");
+        }
+
+    }
+
+}
@@ -0,0 +1,249 @@
+package com.winterhavenmc.deathchest.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+
+/**
+ * Measures insert and delete throughput of the datastore tables for each pragma profile.
+ * <p>
+ * This is a standalone harness, not a unit test; it is not run by the build. Run it from the IDE
+ * or with the test classpath, e.g.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.winterhavenmc.deathchest.storage.PragmaProfileBenchmark \
+ *   -Dexec.args="10000 100 5"
+ * </pre>
+ * Arguments are the number of chests (each with two blocks and a sign), the number of rows per
+ * transaction (matching storage-batch-size), and the number of measured rounds. Each profile runs one
+ * untimed warm-up round against a fresh database file in the temporary directory. The dataset is generated
+ * from a fixed seed, so results are comparable between runs on the same host.
+ */
+public final class PragmaProfileBenchmark {
+
+    private static final int BLOCKS_PER_CHEST = 3;
+
+    private PragmaProfileBenchmark() { }
+
+
+    public static void main(final String[] args) throws Exception {
+
+        final int chestCount = (args.length > 0) ? Integer.parseInt(args[0]) : 10_000;
+        final int batchSize = (args.length > 1) ? Integer.parseInt(args[1]) : 100;
+        final int rounds = (args.length > 2) ? Integer.parseInt(args[2]) : 5;
+
+        final List<ChestRow> dataset = generateDataset(chestCount);
+
+        System.out.printf("%d chests, %d blocks, %d rows per transaction, %d rounds%n",
+                chestCount, chestCount * BLOCKS_PER_CHEST, batchSize, rounds);
+        System.out.printf("%-10s %16s %16s%n", "profile", "insert rows/s", "delete rows/s");
+
+        for (PragmaProfile profile : PragmaProfile.values()) {
+
+            // warm up
+            runRound(profile, dataset, batchSize);
+
+            double insertTotal = 0;
+            double deleteTotal = 0;
+            for (int round = 0; round < rounds; round++) {
+                double[] result = runRound(profile, dataset, batchSize);
+                insertTotal += result[0];
+                deleteTotal += result[1];
+            }
+
+            System.out.printf("%-10s %16.0f %16.0f%n", profile, insertTotal / rounds, deleteTotal / rounds);
+        }
+    }
+
+
+    /**
+     * Insert and then delete the whole dataset in a fresh database
+     *
+     * @return array of insert and delete throughput, in rows per second
+     */
+    private static double[] runRound(final PragmaProfile profile,
+                                     final List<ChestRow> dataset,
+                                     final int batchSize) throws SQLException, IOException {
+
+        final File file = Files.createTempFile("deathchest-benchmark", ".db").toFile();
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + file.getPath())) {
+
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(Queries.getQuery("EnableForeignKeys"));
+            }
+            profile.apply(connection);
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(Queries.getQuery("CreateDeathChestTable"));
+                statement.executeUpdate(Queries.getQuery("CreateDeathBlockTable"));
+            }
+
+            final int rowCount = dataset.size() * (1 + BLOCKS_PER_CHEST);
+
+            long start = System.nanoTime();
+            insertAll(connection, dataset, batchSize);
+            final double insertRate = rowCount / ((System.nanoTime() - start) / 1e9);
+
+            start = System.nanoTime();
+            deleteAll(connection, dataset, batchSize);
+            final double deleteRate = rowCount / ((System.nanoTime() - start) / 1e9);
+
+            return new double[] { insertRate, deleteRate };
+        }
+        finally {
+            // remove database and any write-ahead log files
+            for (String suffix : new String[] { "", "-wal", "-shm", "-journal" }) {
+                Files.deleteIfExists(new File(file.getPath() + suffix).toPath());
+            }
+        }
+    }
+
+
+    private static void insertAll(final Connection connection,
+                                  final List<ChestRow> dataset,
+                                  final int batchSize) throws SQLException {
+
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement chestStatement = connection.prepareStatement(Queries.getQuery("InsertChestRecord"));
+             PreparedStatement blockStatement = connection.prepareStatement(Queries.getQuery("InsertBlockRecord"))) {
+
+            int pending = 0;
+            for (ChestRow chest : dataset) {
+
+                chestStatement.setLong(1, chest.chestUid.getMostSignificantBits());
+                chestStatement.setLong(2, chest.chestUid.getLeastSignificantBits());
+                chestStatement.setLong(3, chest.ownerUid.getMostSignificantBits());
+                chestStatement.setLong(4, chest.ownerUid.getLeastSignificantBits());
+                chestStatement.setLong(5, 0);
+                chestStatement.setLong(6, 0);
+                chestStatement.setInt(7, chest.itemCount);
+                chestStatement.setLong(8, chest.placementTime);
+                chestStatement.setLong(9, chest.placementTime + 3_600_000L);
+                chestStatement.setLong(10, chest.placementTime + 3_600_000L);
+                chestStatement.executeUpdate();
+                pending = commitIfFull(connection, pending + 1, batchSize);
+
+                for (int i = 0; i < BLOCKS_PER_CHEST; i++) {
+                    blockStatement.setLong(1, chest.chestUid.getMostSignificantBits());
+                    blockStatement.setLong(2, chest.chestUid.getLeastSignificantBits());
+                    blockStatement.setString(3, "world");
+                    blockStatement.setLong(4, chest.worldUid.getMostSignificantBits());
+                    blockStatement.setLong(5, chest.worldUid.getLeastSignificantBits());
+                    blockStatement.setInt(6, chest.x + i);
+                    blockStatement.setInt(7, chest.y);
+                    blockStatement.setInt(8, chest.z);
+                    blockStatement.executeUpdate();
+                    pending = commitIfFull(connection, pending + 1, batchSize);
+                }
+            }
+            connection.commit();
+        }
+        finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+
+    private static void deleteAll(final Connection connection,
+                                  final List<ChestRow> dataset,
+                                  final int batchSize) throws SQLException {
+
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement chestStatement = connection.prepareStatement(Queries.getQuery("DeleteChestByUUID"));
+             PreparedStatement blockStatement = connection.prepareStatement(Queries.getQuery("DeleteBlockByLocation"))) {
+
+            int pending = 0;
+            for (ChestRow chest : dataset) {
+
+                for (int i = 0; i < BLOCKS_PER_CHEST; i++) {
+                    blockStatement.setLong(1, chest.worldUid.getMostSignificantBits());
+                    blockStatement.setLong(2, chest.worldUid.getLeastSignificantBits());
+                    blockStatement.setInt(3, chest.x + i);
+                    blockStatement.setInt(4, chest.y);
+                    blockStatement.setInt(5, chest.z);
+                    blockStatement.executeUpdate();
+                    pending = commitIfFull(connection, pending + 1, batchSize);
+                }
+
+                chestStatement.setLong(1, chest.chestUid.getMostSignificantBits());
+                chestStatement.setLong(2, chest.chestUid.getLeastSignificantBits());
+                chestStatement.executeUpdate();
+                pending = commitIfFull(connection, pending + 1, batchSize);
+            }
+            connection.commit();
+        }
+        finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+
+    private static int commitIfFull(final Connection connection, final int pending, final int batchSize)
+            throws SQLException {
+
+        if (pending >= batchSize) {
+            connection.commit();
+            return 0;
+        }
+        return pending;
+    }
+
+
+    private static List<ChestRow> generateDataset(final int chestCount) {
+
+        final Random random = new Random(42);
+        final UUID worldUid = new UUID(random.nextLong(), random.nextLong());
+        final List<ChestRow> rows = new ArrayList<>(chestCount);
+
+        for (int i = 0; i < chestCount; i++) {
+            // spread chests over a grid so block locations never collide
+            rows.add(new ChestRow(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    new UUID(random.nextLong(), random.nextLong()),
+                    worldUid,
+                    (i % 1000) * 4,
+                    random.nextInt(256),
+                    (i / 1000) * 4,
+                    random.nextInt(41),
+                    1_600_000_000_000L + i * 1000L));
+        }
+        return rows;
+    }
+
+
+    private static final class ChestRow {
+        final UUID chestUid;
+        final UUID ownerUid;
+        final UUID worldUid;
+        final int x;
+        final int y;
+        final int z;
+        final int itemCount;
+        final long placementTime;
+
+        ChestRow(final UUID chestUid, final UUID ownerUid, final UUID worldUid,
+                 final int x, final int y, final int z, final int itemCount, final long placementTime) {
+            this.chestUid = chestUid;
+            this.ownerUid = ownerUid;
+            this.worldUid = worldUid;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.itemCount = itemCount;
+            this.placementTime = placementTime;
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.winterhavenmc.deathchest.util;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Compares lookup throughput of the block index keyed by Location in a ConcurrentHashMap, as it was,
+ * with packed block coordinates in a LongObjectHashMap.
+ * <p>
+ * This is a standalone harness, not a unit test; it is not run by the build. Run it from the IDE
+ * or with the test classpath, e.g.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=com.winterhavenmc.deathchest.util.LongObjectHashMapBenchmark \
+ *   -Dexec.args="10000 10000000 5"
+ * </pre>
+ * Arguments are the number of indexed blocks, the number of lookups per round, and the number of measured
+ * rounds. Half of the lookups hit an indexed block and half miss, as block events mostly do. The Location
+ * lookup allocates a key for each probe, as {@code block.getLocation()} does; the packed lookup does not.
+ */
+public final class LongObjectHashMapBenchmark {
+
+    private LongObjectHashMapBenchmark() { }
+
+
+    public static void main(final String[] args) {
+
+        final int blockCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        final int lookupCount = args.length > 1 ? Integer.parseInt(args[1]) : 10_000_000;
+        final int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        final Object world = new Object();
+        final Random random = new Random(42);
+
+        // indexed blocks, followed by the same number of blocks that are not indexed
+        final int[][] coordinates = new int[blockCount * 2][3];
+        for (int[] c : coordinates) {
+            c[0] = random.nextInt(60_000) - 30_000;
+            c[1] = random.nextInt(384) - 64;
+            c[2] = random.nextInt(60_000) - 30_000;
+        }
+
+        final Map<LocationKey, Object> locationMap = new ConcurrentHashMap<>();
+        final LongObjectHashMap<Object> packedMap = new LongObjectHashMap<>();
+        for (int i = 0; i < blockCount; i++) {
+            final int[] c = coordinates[i];
+            final Object value = new Object();
+            locationMap.put(new LocationKey(world, c[0], c[1], c[2]), value);
+            packedMap.put(pack(c[0], c[1], c[2]), value);
+        }
+
+        System.out.printf("%d blocks, %d lookups per round%n", blockCount, lookupCount);
+
+        // untimed warm-up round
+        lookupLocation(locationMap, world, coordinates, lookupCount);
+        lookupPacked(packedMap, coordinates, lookupCount);
+
+        for (int round = 1; round <= rounds; round++) {
+
+            long start = System.nanoTime();
+            final int locationHits = lookupLocation(locationMap, world, coordinates, lookupCount);
+            final long locationNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            final int packedHits = lookupPacked(packedMap, coordinates, lookupCount);
+            final long packedNanos = System.nanoTime() - start;
+
+            if (locationHits != packedHits) {
+                throw new IllegalStateException("hit counts differ: " + locationHits + " != " + packedHits);
+            }
+
+            System.out.printf("round %d: Location %.1f ns/op, packed %.1f ns/op%n", round,
+                    (double) locationNanos / lookupCount, (double) packedNanos / lookupCount);
+        }
+    }
+
+
+    private static int lookupLocation(final Map<LocationKey, Object> map, final Object world,
+                                      final int[][] coordinates, final int lookupCount) {
+        int hits = 0;
+        for (int i = 0; i < lookupCount; i++) {
+            final int[] c = coordinates[i % coordinates.length];
+            if (map.get(new LocationKey(world, c[0], c[1], c[2])) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+
+    private static int lookupPacked(final LongObjectHashMap<Object> map, final int[][] coordinates, final int lookupCount) {
+        int hits = 0;
+        for (int i = 0; i < lookupCount; i++) {
+            final int[] c = coordinates[i % coordinates.length];
+            if (map.get(pack(c[0], c[1], c[2])) != null) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+
+    // same packing as LocationUtilities.blockKey
+    private static long pack(final int x, final int y, final int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+
+    /**
+     * Stand-in for org.bukkit.Location, with the same fields and the same equals and hashCode
+     */
+    private static final class LocationKey {
+
+        private final Object world;
+        private final double x;
+        private final double y;
+        private final double z;
+        private final float pitch;
+        private final float yaw;
+
+        private LocationKey(final Object world, final double x, final double y, final double z) {
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.pitch = 0;
+            this.yaw = 0;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof LocationKey)) {
+                return false;
+            }
+            final LocationKey other = (LocationKey) obj;
+            return Objects.equals(world, other.world)
+                    && Double.doubleToLongBits(x) == Double.doubleToLongBits(other.x)
+                    && Double.doubleToLongBits(y) == Double.doubleToLongBits(other.y)
+                    && Double.doubleToLongBits(z) == Double.doubleToLongBits(other.z)
+                    && Float.floatToIntBits(pitch) == Float.floatToIntBits(other.pitch)
+                    && Float.floatToIntBits(yaw) == Float.floatToIntBits(other.yaw);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 3;
+            hash = 19 * hash + (world != null ? world.hashCode() : 0);
+            hash = 19 * hash + (int) (Double.doubleToLongBits(x) ^ (Double.doubleToLongBits(x) >>> 32));
+            hash = 19 * hash + (int) (Double.doubleToLongBits(y) ^ (Double.doubleToLongBits(y) >>> 32));
+            hash = 19 * hash + (int) (Double.doubleToLongBits(z) ^ (Double.doubleToLongBits(z) >>> 32));
+            hash = 19 * hash + Float.floatToIntBits(pitch);
+            hash = 19 * hash + Float.floatToIntBits(yaw);
+            return hash;
+        }
+    }
+
+}
@@ -0,0 +1,225 @@
+package com.winterhavenmc.deathchest.util;
+
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+public class LongObjectHashMapTests {
+
+    // a map created with this expected size has 8 slots and resizes after its 4th entry
+    private static final int SMALL_SIZE = 4;
+    private static final int SMALL_MASK = 7;
+
+
+    /**
+     * Find keys whose home slot in a table of 8 slots is the given slot
+     *
+     * @param slot the home slot
+     * @param count the number of keys to find
+     * @return list of keys with the given home slot
+     */
+    private static List<Long> keysWithSlot(final int slot, final int count) {
+        List<Long> keys = new ArrayList<>();
+        for (long key = -1000; keys.size() < count; key++) {
+            if ((LongObjectHashMap.hash(key) & SMALL_MASK) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+
+    @Nested
+    @DisplayName("Test basic mapping.")
+    class MappingTests {
+
+        @Test
+        @DisplayName("new map is empty.")
+        void newMapEmpty() {
+            LongObjectHashMap<String> map = new LongObjectHashMap<>();
+            Assertions.assertTrue(map.isEmpty(), "new map is not empty.");
+            Assertions.assertNull(map.get(0L), "new map returned value for unmapped key.");
+        }
+
+        @Test
+        @DisplayName("put returns previous value and replaces mapping.")
+        void putReplaces() {
+            LongObjectHashMap<String> map = new LongObjectHashMap<>();
+            Assertions.assertNull(map.put(42L, "first"), "put of new key returned a previous value.");
+            Assertions.assertEquals("first", map.put(42L, "second"), "put did not return previous value.");
+            Assertions.assertEquals("second", map.get(42L), "put did not replace value.");
+            Assertions.assertEquals(1, map.size(), "replacing a value changed the size.");
+        }
+
+        @Test
+        @DisplayName("extreme and negative keys are mapped.")
+        void extremeKeys() {
+            LongObjectHashMap<String> map = new LongObjectHashMap<>();
+            map.put(Long.MIN_VALUE, "min");
+            map.put(Long.MAX_VALUE, "max");
+            map.put(0L, "zero");
+            map.put(-1L, "minus one");
+            Assertions.assertEquals("min", map.get(Long.MIN_VALUE));
+            Assertions.assertEquals("max", map.get(Long.MAX_VALUE));
+            Assertions.assertEquals("zero", map.get(0L));
+            Assertions.assertEquals("minus one", map.get(-1L));
+            Assertions.assertEquals(4, map.size());
+        }
+
+        @Test
+        @DisplayName("null value is rejected.")
+        void nullValueRejected() {
+            LongObjectHashMap<String> map = new LongObjectHashMap<>();
+            Assertions.assertThrows(NullPointerException.class, () -> map.put(1L, null),
+                    "null value was accepted.");
+        }
+
+        @Test
+        @DisplayName("remove with value removes only the mapped instance.")
+        void removeWithValue() {
+            LongObjectHashMap<String> map = new LongObjectHashMap<>();
+            String value = "value";
+            map.put(1L, value);
+            Assertions.assertFalse(map.remove(1L, new String("value")), "removed mapping of a different instance.");
+            Assertions.assertTrue(map.remove(1L, value), "did not remove mapping of the same instance.");
+            Assertions.assertTrue(map.isEmpty(), "map is not empty after remove.");
+        }
+
+        @Test
+        @DisplayName("clear removes all mappings.")
+        void clearRemovesAll() {
+            LongObjectHashMap<String> map = new LongObjectHashMap<>();
+            map.put(1L, "one");
+            map.put(2L, "two");
+            map.clear();
+            Assertions.assertTrue(map.isEmpty(), "map is not empty after clear.");
+            Assertions.assertNull(map.get(1L), "value found after clear.");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test colliding keys.")
+    class CollisionTests {
+
+        @Test
+        @DisplayName("colliding keys are all mapped.")
+        void collidingKeysMapped() {
+            LongObjectHashMap<Long> map = new LongObjectHashMap<>(SMALL_SIZE);
+            List<Long> keys = keysWithSlot(3, SMALL_SIZE);
+            for (long key : keys) {
+                map.put(key, key);
+            }
+            for (long key : keys) {
+                Assertions.assertEquals(key, map.get(key), "colliding key " + key + " not found.");
+            }
+        }
+
+        @Test
+        @DisplayName("removing first colliding key keeps later keys reachable.")
+        void removeFirstCollidingKey() {
+            LongObjectHashMap<Long> map = new LongObjectHashMap<>(SMALL_SIZE);
+            List<Long> keys = keysWithSlot(3, 3);
+            for (long key : keys) {
+                map.put(key, key);
+            }
+            Assertions.assertEquals(keys.get(0), map.remove(keys.get(0)), "remove did not return value.");
+            Assertions.assertNull(map.get(keys.get(0)), "removed key still mapped.");
+            Assertions.assertEquals(keys.get(1), map.get(keys.get(1)), "second colliding key lost after remove.");
+            Assertions.assertEquals(keys.get(2), map.get(keys.get(2)), "third colliding key lost after remove.");
+            Assertions.assertEquals(2, map.size(), "size not updated after remove.");
+        }
+
+        @Test
+        @DisplayName("probe sequences wrap around the end of the table.")
+        void wraparound() {
+            LongObjectHashMap<Long> map = new LongObjectHashMap<>(SMALL_SIZE);
+
+            // keys homed in last slot occupy the last slot and wrap to the first slots
+            List<Long> lastSlotKeys = keysWithSlot(SMALL_MASK, 3);
+            for (long key : lastSlotKeys) {
+                map.put(key, key);
+            }
+
+            // a key homed in first slot is displaced by the wrapped keys
+            long firstSlotKey = keysWithSlot(0, 1).get(0);
+            map.put(firstSlotKey, firstSlotKey);
+
+            for (long key : lastSlotKeys) {
+                Assertions.assertEquals(key, map.get(key), "wrapped key " + key + " not found.");
+            }
+            Assertions.assertEquals(firstSlotKey, map.get(firstSlotKey), "displaced key not found.");
+
+            // removing a key in the last slot must move wrapped keys back across the end of the table
+            map.remove(lastSlotKeys.get(0));
+            Assertions.assertEquals(lastSlotKeys.get(1), map.get(lastSlotKeys.get(1)), "wrapped key lost after remove.");
+            Assertions.assertEquals(lastSlotKeys.get(2), map.get(lastSlotKeys.get(2)), "wrapped key lost after remove.");
+            Assertions.assertEquals(firstSlotKey, map.get(firstSlotKey), "displaced key lost after remove.");
+
+            // removing a wrapped key must keep the displaced key reachable
+            map.remove(lastSlotKeys.get(1));
+            Assertions.assertEquals(lastSlotKeys.get(2), map.get(lastSlotKeys.get(2)), "wrapped key lost after remove.");
+            Assertions.assertEquals(firstSlotKey, map.get(firstSlotKey), "displaced key lost after remove.");
+            Assertions.assertEquals(2, map.size(), "size not updated after removes.");
+        }
+
+    }
+
+
+    @Nested
+    @DisplayName("Test resize.")
+    class ResizeTests {
+
+        @Test
+        @DisplayName("all mappings survive resizes.")
+        void mappingsSurviveResize() {
+            LongObjectHashMap<Long> map = new LongObjectHashMap<>(SMALL_SIZE);
+            for (long key = -500; key < 500; key++) {
+                map.put(key * 31, key);
+            }
+            Assertions.assertEquals(1000, map.size(), "size incorrect after resizes.");
+            for (long key = -500; key < 500; key++) {
+                Assertions.assertEquals(key, map.get(key * 31), "key " + key * 31 + " lost after resize.");
+            }
+        }
+
+        @Test
+        @DisplayName("removes after resize keep remaining mappings.")
+        void removeAfterResize() {
+            LongObjectHashMap<Long> map = new LongObjectHashMap<>(SMALL_SIZE);
+            for (long key = 0; key < 1000; key++) {
+                map.put(key, key);
+            }
+            for (long key = 0; key < 1000; key += 2) {
+                Assertions.assertEquals(key, map.remove(key), "remove did not return value.");
+            }
+            Assertions.assertEquals(500, map.size(), "size incorrect after removes.");
+            for (long key = 0; key < 1000; key++) {
+                if (key % 2 == 0) {
+                    Assertions.assertNull(map.get(key), "removed key " + key + " still mapped.");
+                }
+                else {
+                    Assertions.assertEquals(key, map.get(key), "key " + key + " lost after removes.");
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("forEachValue visits every value once.")
+        void forEachValueVisitsAll() {
+            LongObjectHashMap<Long> map = new LongObjectHashMap<>();
+            for (long key = 0; key < 100; key++) {
+                map.put(key, key);
+            }
+            List<Long> values = new ArrayList<>();
+            map.forEachValue(values::add);
+            Assertions.assertEquals(100, values.size(), "forEachValue did not visit every value.");
+            Assertions.assertEquals(100, values.stream().distinct().count(), "forEachValue visited a value twice.");
+        }
+
+    }
+
+}